@@ -0,0 +1,14 @@
+package com.qvinh.apartment.features.accounts.application.event;
+
+import java.util.Objects;
+
+/**
+ * Published inside the writing transaction after a user's sale contact (full name, phone) or the display
+ * name of a user with a sale contact was changed.
+ */
+public record SaleInfoChangedEvent(Long userId) {
+
+	public SaleInfoChangedEvent {
+		Objects.requireNonNull(userId, "userId must not be null");
+	}
+}
@@ -1,6 +1,7 @@
 package com.qvinh.apartment.features.accounts.application.impl;
 
 import com.qvinh.apartment.features.accounts.application.IAccountService;
+import com.qvinh.apartment.features.accounts.application.event.SaleInfoChangedEvent;
 import com.qvinh.apartment.features.accounts.domain.PropertySaleInfo;
 import com.qvinh.apartment.features.accounts.domain.Role;
 import com.qvinh.apartment.features.accounts.domain.User;
@@ -20,6 +21,7 @@ import com.qvinh.apartment.shared.error.ErrorCode;
 import com.qvinh.apartment.shared.exception.ConflictException;
 import com.qvinh.apartment.shared.exception.AppException;
 import com.qvinh.apartment.shared.exception.ResourceNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -39,17 +41,19 @@ public class AccountService implements IAccountService {
 	private final UserMapper userMapper;
 	private final PropertySaleInfoMapper saleInfoMapper;
 	private final PasswordEncoder passwordEncoder;
+	private final ApplicationEventPublisher eventPublisher;
 
 	public AccountService(UserRepository userRepository, RoleRepository roleRepository,
 	                      PropertySaleInfoRepository saleInfoRepository,
 	                      UserMapper userMapper, PropertySaleInfoMapper saleInfoMapper,
-	                      PasswordEncoder passwordEncoder) {
+	                      PasswordEncoder passwordEncoder, ApplicationEventPublisher eventPublisher) {
 		this.userRepository = userRepository;
 		this.roleRepository = roleRepository;
 		this.saleInfoRepository = saleInfoRepository;
 		this.userMapper = userMapper;
 		this.saleInfoMapper = saleInfoMapper;
 		this.passwordEncoder = passwordEncoder;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Transactional
@@ -115,6 +119,10 @@ public class AccountService implements IAccountService {
 		userMapper.updateEntityFromReq(req, u);
 		User updated = userRepository.save(Objects.requireNonNull(u, "user must not be null"));
 		maybeUpdateSaleInfo(updated, req);
+		if (req.getDisplayName() != null && !hasSaleInfoUpdate(req)) {
+			// property listings show the display name next to the sale contact
+			saleInfoRepository.findByUserId(id).ifPresent(info -> eventPublisher.publishEvent(new SaleInfoChangedEvent(id)));
+		}
 
 		return userMapper.toRes(updated);
 	}
@@ -203,6 +211,7 @@ public class AccountService implements IAccountService {
 				existing.setPhone(req.getPhone());
 			}
 			saleInfoRepository.save(existing);
+			eventPublisher.publishEvent(new SaleInfoChangedEvent(userId));
 		}, () -> {
 			if (!canCreateSaleInfo(req)) return;
 			PropertySaleInfo info = new PropertySaleInfo();
@@ -220,6 +229,7 @@ public class AccountService implements IAccountService {
 			existing.setFullName(fullName);
 			existing.setPhone(phone);
 			saleInfoRepository.save(existing);
+			eventPublisher.publishEvent(new SaleInfoChangedEvent(userId));
 		}, () -> {
 			PropertySaleInfo info = new PropertySaleInfo();
 			info.setUser(user);
@@ -1,6 +1,7 @@
 package com.qvinh.apartment.features.accounts.application.impl;
 
 import com.qvinh.apartment.features.accounts.application.IUsersService;
+import com.qvinh.apartment.features.accounts.application.event.SaleInfoChangedEvent;
 import com.qvinh.apartment.features.accounts.domain.PropertySaleInfo;
 import com.qvinh.apartment.features.accounts.domain.User;
 import com.qvinh.apartment.features.accounts.constants.AccountsMessages;
@@ -14,6 +15,7 @@ import com.qvinh.apartment.features.accounts.mapper.UserMapper;
 import com.qvinh.apartment.features.accounts.persistence.PropertySaleInfoRepository;
 import com.qvinh.apartment.features.accounts.persistence.UserRepository;
 import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -33,14 +35,17 @@ public class UsersService implements IUsersService {
 	private final UserRepository userRepository;
 	private final PropertySaleInfoRepository saleInfoRepository;
 	private final UserMapper userMapper;
+	private final ApplicationEventPublisher eventPublisher;
 
 	private static final int AVATAR_MAX_SIZE = 200;
 	private static final List<String> ALLOWED_MIME = List.of("image/jpeg", "image/png", "image/webp");
 
-	public UsersService(UserRepository userRepository, PropertySaleInfoRepository saleInfoRepository, UserMapper userMapper) {
+	public UsersService(UserRepository userRepository, PropertySaleInfoRepository saleInfoRepository, UserMapper userMapper,
+	                    ApplicationEventPublisher eventPublisher) {
 		this.userRepository = userRepository;
 		this.saleInfoRepository = saleInfoRepository;
 		this.userMapper = userMapper;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Transactional
@@ -113,17 +118,22 @@ public class UsersService implements IUsersService {
 		userMapper.updateEntityFromSelf(req, user);
 		User updated = userRepository.save(Objects.requireNonNull(user, "user must not be null"));
 		String roleName = Objects.requireNonNull(updated.getRole()).getRoleName();
-		if (RoleNames.isEmployeeRole(roleName) && (req.getFullName() != null || req.getPhone() != null)) {
+		boolean contactUpdate = RoleNames.isEmployeeRole(roleName) && (req.getFullName() != null || req.getPhone() != null);
+		// property listings show the display name next to the sale contact
+		if (contactUpdate || req.getDisplayName() != null) {
 			Long userId = Objects.requireNonNull(updated.getId(), "user id must not be null");
 			saleInfoRepository.findByUserId(userId).ifPresent(existing -> {
-				PropertySaleInfo info = Objects.requireNonNull(existing, "existing sale info must not be null");
-				if (req.getFullName() != null && !req.getFullName().isBlank()) {
-					info.setFullName(req.getFullName());
+				if (contactUpdate) {
+					PropertySaleInfo info = Objects.requireNonNull(existing, "existing sale info must not be null");
+					if (req.getFullName() != null && !req.getFullName().isBlank()) {
+						info.setFullName(req.getFullName());
+					}
+					if (req.getPhone() != null && !req.getPhone().isBlank()) {
+						info.setPhone(req.getPhone());
+					}
+					saleInfoRepository.save(info);
 				}
-				if (req.getPhone() != null && !req.getPhone().isBlank()) {
-					info.setPhone(req.getPhone());
-				}
-				saleInfoRepository.save(info);
+				eventPublisher.publishEvent(new SaleInfoChangedEvent(userId));
 			});
 		}
 		return userMapper.toRes(updated);
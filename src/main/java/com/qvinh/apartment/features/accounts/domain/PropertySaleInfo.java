@@ -33,5 +33,20 @@ public class PropertySaleInfo {
 
 	@Column(name = "updated_at")
 	private LocalDateTime updatedAt;
-}
 
+	@PrePersist
+	void prePersist() {
+		LocalDateTime now = LocalDateTime.now();
+		if (createdAt == null) {
+			createdAt = now;
+		}
+		if (updatedAt == null) {
+			updatedAt = now;
+		}
+	}
+
+	@PreUpdate
+	void preUpdate() {
+		updatedAt = LocalDateTime.now();
+	}
+}
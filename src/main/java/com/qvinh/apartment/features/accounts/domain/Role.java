@@ -1,5 +1,6 @@
 package com.qvinh.apartment.features.accounts.domain;
 
+import com.qvinh.apartment.shared.constants.CacheRegions;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.LinkedHashSet;
@@ -7,11 +8,15 @@ import java.util.Set;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.REFERENCE_DATA)
 @Table(name = "role")
 public class Role {
 
@@ -51,5 +51,20 @@ public class User {
 
 	@OneToOne(mappedBy = "user", fetch = FetchType.LAZY, optional = true)
 	private PropertySaleInfo propertySaleInfo;
-}
 
+	@PrePersist
+	void prePersist() {
+		LocalDateTime now = LocalDateTime.now();
+		if (createdAt == null) {
+			createdAt = now;
+		}
+		if (updatedAt == null) {
+			updatedAt = now;
+		}
+	}
+
+	@PreUpdate
+	void preUpdate() {
+		updatedAt = LocalDateTime.now();
+	}
+}
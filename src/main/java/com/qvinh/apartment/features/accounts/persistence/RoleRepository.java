@@ -1,11 +1,19 @@
 package com.qvinh.apartment.features.accounts.persistence;
 
 import com.qvinh.apartment.features.accounts.domain.Role;
+import com.qvinh.apartment.shared.constants.CacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.lang.NonNull;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Integer> {
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_DATA_QUERIES)
+	})
 	@NonNull Optional<Role> findByRoleName(@NonNull String roleName);
 }
 
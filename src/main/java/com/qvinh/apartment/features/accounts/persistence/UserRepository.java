@@ -20,14 +20,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	@EntityGraph(attributePaths = {"role", "propertySaleInfo"})
 	@NonNull Optional<User> findByEmail(@NonNull String email);
 
+	// ilike on the bare columns keeps the trigram indexes usable
 	@EntityGraph(attributePaths = {"role", "propertySaleInfo"})
 	@Query("""
 		select u from User u
 		where u.role.roleName = :role
 		  and (:q is null
-		       or u.username like :q
-		       or u.email like :q
-		       or coalesce(u.displayName, '') like :q)
+		       or u.username ilike :q
+		       or u.email ilike :q
+		       or u.displayName ilike :q)
 		""")
 	Page<User> searchByRole(@Param("role") String role, @Param("q") String q, Pageable pageable);
 
@@ -36,9 +37,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 		select u from User u
 		where u.role.roleName in :roles
 		  and (:q is null
-		       or u.username like :q
-		       or u.email like :q
-		       or coalesce(u.displayName, '') like :q)
+		       or u.username ilike :q
+		       or u.email ilike :q
+		       or u.displayName ilike :q)
 		""")
 	Page<User> searchByRoles(@Param("roles") Collection<String> roles, @Param("q") String q, Pageable pageable);
 }
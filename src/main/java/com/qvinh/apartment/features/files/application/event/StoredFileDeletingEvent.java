@@ -0,0 +1,14 @@
+package com.qvinh.apartment.features.files.application.event;
+
+import java.util.Objects;
+
+/**
+ * Published inside the deleting transaction before a stored file and its blobs are removed, so rows that
+ * reference the file can be detached first and their owners can react.
+ */
+public record StoredFileDeletingEvent(Long fileId) {
+
+	public StoredFileDeletingEvent {
+		Objects.requireNonNull(fileId, "fileId must not be null");
+	}
+}
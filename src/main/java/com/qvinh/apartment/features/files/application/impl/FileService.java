@@ -1,6 +1,7 @@
 package com.qvinh.apartment.features.files.application.impl;
 
 import com.qvinh.apartment.features.files.application.IFileService;
+import com.qvinh.apartment.features.files.application.event.StoredFileDeletingEvent;
 import com.qvinh.apartment.features.files.constants.FilesMessages;
 import com.qvinh.apartment.features.files.domain.StoredFileMeta;
 import com.qvinh.apartment.features.files.domain.StoredFileVariant;
@@ -14,6 +15,7 @@ import com.qvinh.apartment.features.files.dto.FileMetaUpdateReq;
 import com.qvinh.apartment.shared.exception.AppException;
 import net.coobird.thumbnailator.Thumbnails;
 import org.apache.tika.Tika;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -71,11 +73,14 @@ public class FileService implements IFileService {
 	private final StoragePort storage;
 	private final StoredFileMetaRepository fileRepo;
 	private final StoredFileVariantRepository variantRepo;
+	private final ApplicationEventPublisher eventPublisher;
 
-	public FileService(StoragePort storage, StoredFileMetaRepository fileRepo, StoredFileVariantRepository variantRepo) {
+	public FileService(StoragePort storage, StoredFileMetaRepository fileRepo, StoredFileVariantRepository variantRepo,
+	                   ApplicationEventPublisher eventPublisher) {
 		this.storage = storage;
 		this.fileRepo = fileRepo;
 		this.variantRepo = variantRepo;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Transactional
@@ -155,6 +160,8 @@ public class FileService implements IFileService {
 		StoredFileMeta meta = fileRepo.findById(Objects.requireNonNull(fileId))
 			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.FILE_NOT_FOUND, FilesMessages.FILE_NOT_FOUND));
 		Long id = Objects.requireNonNull(meta.getFileId());
+		// before any blob goes, so a listener that fails leaves the file intact
+		eventPublisher.publishEvent(new StoredFileDeletingEvent(id));
 		// delete variants first
 		var variants = variantRepo.findByFile_FileId(id);
 		for (StoredFileVariant v : variants) {
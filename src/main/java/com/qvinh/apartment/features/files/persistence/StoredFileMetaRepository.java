@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface StoredFileMetaRepository extends JpaRepository<StoredFileMeta, Long> {
@@ -16,15 +18,19 @@ public interface StoredFileMetaRepository extends JpaRepository<StoredFileMeta,
 
 	@NonNull Optional<StoredFileMeta> findByStoredName(@NonNull String storedName);
 
+	@Query("select f.fileId from StoredFileMeta f where f.fileId in :fileIds")
+	List<Long> findExistingIds(@Param("fileIds") Collection<Long> fileIds);
+
+	// ilike on the bare columns so the trigram indexes apply; null title/tags simply do not match
 	@Query("""
 		select f from StoredFileMeta f
 		where (:accessLevel is null or f.accessLevel = :accessLevel)
 		  and (:mimeType is null or f.mimeType like :mimeType)
 		  and (
 		    :search is null
-		    or f.originalName like :search
-		    or coalesce(f.title, '') like :search
-		    or coalesce(f.tags, '') like :search
+		    or f.originalName ilike :search
+		    or f.title ilike :search
+		    or f.tags ilike :search
 		  )
 		""")
 	Page<StoredFileMeta> search(
@@ -1,19 +1,47 @@
 package com.qvinh.apartment.features.properties.api;
 
 import com.qvinh.apartment.shared.api.ApiResponse;
+import com.qvinh.apartment.shared.api.KeysetSlice;
+import com.qvinh.apartment.shared.api.ResourceVersion;
+import com.qvinh.apartment.shared.api.TotalKind;
+import com.qvinh.apartment.shared.datasource.PrimaryReads;
+import com.qvinh.apartment.features.properties.dto.property.PropertyBatchRes;
 import com.qvinh.apartment.features.properties.dto.property.PropertyCreateReq;
+import com.qvinh.apartment.features.properties.dto.property.PropertyDataFormat;
+import com.qvinh.apartment.features.properties.dto.property.PropertyDeleteRes;
+import com.qvinh.apartment.features.properties.dto.property.PropertyField;
 import com.qvinh.apartment.features.properties.dto.property.PropertyRes;
 import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
 import com.qvinh.apartment.features.properties.dto.property.PropertySelectRes;
 import com.qvinh.apartment.features.properties.dto.property.PropertyUpdateReq;
+import com.qvinh.apartment.features.properties.dto.property_card.PropertyCardRebuildRes;
+import com.qvinh.apartment.features.properties.dto.property_change.PropertyChangesRes;
+import com.qvinh.apartment.features.properties.dto.property_facet.PropertyFacetsRes;
+import com.qvinh.apartment.features.properties.dto.property_import.PropertyImportRes;
+import com.qvinh.apartment.features.properties.application.IPropertyCardService;
+import com.qvinh.apartment.features.properties.application.IPropertyChangeFeedService;
+import com.qvinh.apartment.features.properties.application.IPropertyImportService;
 import com.qvinh.apartment.features.properties.application.IPropertyService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping(PropertyController.BASE_PATH)
@@ -22,11 +50,24 @@ public class PropertyController {
 	public static final String BASE_PATH = "/api/properties";
 	public static final String BASE_PATH_ALL = BASE_PATH + "/**";
 	public static final String SEARCH_PATH = BASE_PATH + "/search";
+	public static final String FACETS_PATH = SEARCH_PATH + "/facets";
 
 	private final IPropertyService service;
+	private final IPropertyCardService cardService;
+	private final IPropertyImportService importService;
+	private final IPropertyChangeFeedService changeFeedService;
+	private final PropertyDetailResponseCache detailCache;
 
-	public PropertyController(IPropertyService service) {
+	public PropertyController(IPropertyService service,
+	                          IPropertyCardService cardService,
+	                          IPropertyImportService importService,
+	                          IPropertyChangeFeedService changeFeedService,
+	                          PropertyDetailResponseCache detailCache) {
 		this.service = service;
+		this.cardService = cardService;
+		this.importService = importService;
+		this.changeFeedService = changeFeedService;
+		this.detailCache = detailCache;
 	}
 
 	@PostMapping
@@ -35,10 +76,48 @@ public class PropertyController {
 		return ResponseEntity.ok(ApiResponse.ok("Create property successfully", res));
 	}
 
+	/**
+	 * Full properties for up to {@link IPropertyService#MAX_BATCH_IDS} ids ({@code ids=1,2,3}) in request
+	 * order, for screens that would otherwise call {@code GET /{id}} once per property.
+	 * {@code fields} works as on {@code GET /{id}}.
+	 */
+	@GetMapping("/batch")
+	public ResponseEntity<ApiResponse<PropertyBatchRes<?>>> getBatch(
+		@RequestParam List<Long> ids,
+		@RequestParam(required = false) String fields
+	) {
+		Set<PropertyField> selected = PropertyField.parse(fields);
+		PropertyBatchRes<PropertySelectRes> res = service.getFullBatch(ids, selected);
+		List<Object> properties = res.getProperties().stream().map(p -> PropertyField.select(p, selected)).toList();
+		return ResponseEntity.ok(ApiResponse.ok("Property batch", new PropertyBatchRes<>(properties, res.getMissingIds())));
+	}
+
+	/**
+	 * Conditional: the version is read first with one narrow query, so a matching If-None-Match or
+	 * If-Modified-Since is answered with 304 without loading the property. Otherwise the body comes
+	 * serialized from {@link PropertyDetailResponseCache} while the version is unchanged.
+	 * {@code fields=title,price,galleries} returns only those fields (and {@code propertyId}); relations
+	 * left out are not loaded. Such partial responses bypass the cache.
+	 */
 	@GetMapping("/{id}")
-	public ResponseEntity<ApiResponse<PropertySelectRes>> get(@PathVariable Long id) {
-		PropertySelectRes res = service.getFull(id);
-		return ResponseEntity.ok(ApiResponse.ok("Property detail", res));
+	public ResponseEntity<?> get(
+		@PathVariable Long id,
+		@RequestParam(required = false) String fields,
+		WebRequest request
+	) {
+		Set<PropertyField> selected = PropertyField.parse(fields);
+		ResourceVersion version = service.version(id);
+		if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+			return null;
+		}
+		if (!selected.containsAll(PropertyField.ALL)) {
+			Object res = PropertyField.select(service.getFull(id, selected), selected);
+			return ResponseEntity.ok(ApiResponse.ok("Property detail", res));
+		}
+		// rendered from the primary, which is never behind the replica the version may have come from
+		PropertyDetailResponseCache.Body body = detailCache.get(id, version.getTag(),
+			() -> ApiResponse.ok("Property detail", PrimaryReads.call(() -> service.getFull(id))));
+		return body.toResponse(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
 	}
 
 	@GetMapping
@@ -52,23 +131,120 @@ public class PropertyController {
 		return ResponseEntity.ok(ApiResponse.ok("Property list", res, meta));
 	}
 
+	/**
+	 * Offset paging by default. Passing {@code cursor} (empty for the first slice) switches to keyset paging:
+	 * {@code page} is ignored, no total is counted and {@code meta.nextCursor} points at the next slice.
+	 * {@code sort=relevance} ranks by full-text match of {@code q} (offset paging only).
+	 * {@code count=estimate} returns an approximate total, {@code count=none} skips it and only reports
+	 * {@code meta.hasNext}; {@code meta.totalKind} tells which one was returned.
+	 * {@code fields} selects fields of {@code mode=select} rows as on {@code GET /{id}}.
+	 */
 	@PostMapping("/search")
-	public ResponseEntity<ApiResponse<Page<?>>> search(
+	public ResponseEntity<ApiResponse<Slice<?>>> search(
 		@RequestBody PropertySearchReq req,
 		@RequestParam(defaultValue = "0") int page,
 		@RequestParam(defaultValue = "10") int size,
 		@RequestParam(required = false) String sort,
-		@RequestParam(defaultValue = "list") String mode
+		@RequestParam(defaultValue = "list") String mode,
+		@RequestParam(required = false) String cursor,
+		@RequestParam(required = false) String count,
+		@RequestParam(required = false) String fields
 	) {
 		Pageable pageable = buildPageable(page, size, sort);
-		if ("select".equalsIgnoreCase(mode)) {
-			Page<PropertySelectRes> res = service.searchFull(req, pageable);
-			var meta = new ApiResponse.Meta(page, size, res.getTotalElements());
-			return ResponseEntity.ok(ApiResponse.ok("Property search result (select)", (Page<?>) res, meta));
+		TotalKind totalKind = TotalKind.from(count);
+		boolean select = "select".equalsIgnoreCase(mode);
+		if (fields != null && !select) {
+			throw new IllegalArgumentException("fields requires mode=select");
 		}
-		Page<PropertyRes> res = service.search(req, pageable);
-		var meta = new ApiResponse.Meta(page, size, res.getTotalElements());
-		return ResponseEntity.ok(ApiResponse.ok("Property search result", (Page<?>) res, meta));
+		Set<PropertyField> selected = PropertyField.parse(fields);
+		if (cursor != null) {
+			Sort.Order order = pageable.getSort().iterator().next();
+			KeysetSlice<?> res = select
+				? service.searchFullAfter(req, order, cursor, size, selected).map(p -> PropertyField.select(p, selected))
+				: service.searchAfter(req, order, cursor, size);
+			var meta = ApiResponse.Meta.cursor(size, res.getNextCursor());
+			String message = select ? "Property search result (select)" : "Property search result";
+			return ResponseEntity.ok(ApiResponse.ok(message, (Slice<?>) res, meta));
+		}
+		if (select) {
+			Slice<Object> res = service.searchFull(req, pageable, totalKind, selected)
+				.map(p -> PropertyField.select(p, selected));
+			var meta = ApiResponse.Meta.paged(page, size, res, totalKind);
+			return ResponseEntity.ok(ApiResponse.ok("Property search result (select)", (Slice<?>) res, meta));
+		}
+		Slice<PropertyRes> res = service.search(req, pageable, totalKind);
+		var meta = ApiResponse.Meta.paged(page, size, res, totalKind);
+		return ResponseEntity.ok(ApiResponse.ok("Property search result", (Slice<?>) res, meta));
+	}
+
+	/**
+	 * Counts per type, area, rent/sale, price bucket and home-page detail value for the same filters as search.
+	 * {@code priceBounds} overrides the configured bucket boundaries.
+	 */
+	@PostMapping("/search/facets")
+	public ResponseEntity<ApiResponse<PropertyFacetsRes>> facets(
+		@RequestBody PropertySearchReq req,
+		@RequestParam(required = false) List<BigDecimal> priceBounds
+	) {
+		PropertyFacetsRes res = service.facets(req, priceBounds);
+		return ResponseEntity.ok(ApiResponse.ok("Property search facets", res));
+	}
+
+	/**
+	 * Every row matching the search filters, streamed as {@code format=ndjson} (default) or {@code csv}
+	 * in property id order; no paging, counting or sorting.
+	 */
+	@PostMapping("/search/export")
+	public ResponseEntity<StreamingResponseBody> export(
+		@RequestBody(required = false) PropertySearchReq req,
+		@RequestParam(required = false) String format
+	) {
+		PropertyDataFormat exportFormat = PropertyDataFormat.from(format);
+		StreamingResponseBody body = out -> service.export(req, exportFormat, out);
+		ContentDisposition disposition = ContentDisposition.attachment()
+			.filename("properties." + exportFormat.extension())
+			.build();
+		return ResponseEntity.ok()
+			.contentType(MediaType.parseMediaType(exportFormat.mediaType()))
+			.header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+			.body(body);
+	}
+
+	/**
+	 * Created, updated and deleted properties after the {@code since} token, oldest first, for incremental
+	 * sync; the response's {@code nextToken} resumes where this batch ended.
+	 */
+	@GetMapping("/changes")
+	public ResponseEntity<ApiResponse<PropertyChangesRes>> changes(
+		@RequestParam(required = false) String since,
+		@RequestParam(defaultValue = "100") int limit
+	) {
+		PropertyChangesRes res = changeFeedService.changes(since, limit);
+		return ResponseEntity.ok(ApiResponse.ok("Property changes", res));
+	}
+
+	/**
+	 * Creates properties from a {@code format=ndjson} (default) or {@code csv} body, one row per property in
+	 * the shape of the create request plus {@code details}; CSV carries details as {@code detail.<id>} columns.
+	 * Valid rows are imported even when others fail; failures are reported by row number.
+	 */
+	@PostMapping("/import")
+	public ResponseEntity<ApiResponse<PropertyImportRes>> importProperties(
+		InputStream body,
+		@RequestParam(required = false) String format
+	) throws IOException {
+		PropertyImportRes res = importService.importProperties(PropertyDataFormat.from(format), body);
+		return ResponseEntity.ok(ApiResponse.ok("Import properties finished", res));
+	}
+
+	/**
+	 * Backfills or repairs the list-row read model; safe to run while the application serves traffic.
+	 */
+	@PostMapping("/cards/rebuild")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<ApiResponse<PropertyCardRebuildRes>> rebuildCards() {
+		PropertyCardRebuildRes res = cardService.rebuild();
+		return ResponseEntity.ok(ApiResponse.ok("Rebuild property cards successfully", res));
 	}
 
 	@PutMapping("/{id}")
@@ -80,6 +256,20 @@ public class PropertyController {
 		return ResponseEntity.ok(ApiResponse.ok("Update property successfully", res));
 	}
 
+	/**
+	 * Deletes up to {@link IPropertyService#MAX_BATCH_IDS} properties ({@code ids=1,2,3}) with their details
+	 * and gallery rows. With {@code purgeFiles=true}, gallery files no other property uses are removed too,
+	 * blobs included, shortly after the request.
+	 */
+	@DeleteMapping
+	public ResponseEntity<ApiResponse<PropertyDeleteRes>> deleteAll(
+		@RequestParam List<Long> ids,
+		@RequestParam(defaultValue = "false") boolean purgeFiles
+	) {
+		PropertyDeleteRes res = service.deleteAll(ids, purgeFiles);
+		return ResponseEntity.ok(ApiResponse.ok("Delete properties successfully", res));
+	}
+
 	@DeleteMapping("/{id}")
 	public ResponseEntity<ApiResponse<Void>> delete(@PathVariable Long id) {
 		service.delete(id);
@@ -88,7 +278,9 @@ public class PropertyController {
 
 	private Pageable buildPageable(int page, int size, String sort) {
 		Sort sortObj;
-		if (sort != null && !sort.trim().isEmpty()) {
+		if (sort != null && IPropertyService.SORT_RELEVANCE.equalsIgnoreCase(sort.split(",")[0].trim())) {
+			sortObj = Sort.by(IPropertyService.SORT_RELEVANCE);
+		} else if (sort != null && !sort.trim().isEmpty()) {
 			String[] parts = sort.split(",");
 			if (parts.length == 2) {
 				String field = parts[0].trim();
@@ -1,6 +1,7 @@
 package com.qvinh.apartment.features.properties.api;
 
 import com.qvinh.apartment.shared.api.ApiResponse;
+import com.qvinh.apartment.shared.api.ResourceVersion;
 import com.qvinh.apartment.features.properties.dto.property_define_details.PropertyDefineDetailsCreateReq;
 import com.qvinh.apartment.features.properties.dto.property_define_details.PropertyDefineDetailsRes;
 import com.qvinh.apartment.features.properties.dto.property_define_details.PropertyDefineDetailsUpdateReq;
@@ -11,6 +12,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping(PropertyDefineDetailsController.BASE_PATH)
@@ -32,7 +34,11 @@ public class PropertyDefineDetailsController {
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<ApiResponse<PropertyDefineDetailsRes>> get(@PathVariable Integer id) {
+	public ResponseEntity<ApiResponse<PropertyDefineDetailsRes>> get(@PathVariable Integer id, WebRequest request) {
+		ResourceVersion version = service.version(id);
+		if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+			return null;
+		}
 		PropertyDefineDetailsRes res = service.get(id);
 		return ResponseEntity.ok(ApiResponse.ok("Property define details detail", res));
 	}
@@ -40,8 +46,13 @@ public class PropertyDefineDetailsController {
 	@GetMapping
 	public ResponseEntity<ApiResponse<Page<PropertyDefineDetailsRes>>> list(
 		@RequestParam(defaultValue = "0") int page,
-		@RequestParam(defaultValue = "10") int size
+		@RequestParam(defaultValue = "10") int size,
+		WebRequest request
 	) {
+		ResourceVersion version = service.listVersion();
+		if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+			return null;
+		}
 		Pageable pageable = PageRequest.of(page, size);
 		Page<PropertyDefineDetailsRes> res = service.list(pageable);
 		var meta = new ApiResponse.Meta(page, size, res.getTotalElements());
@@ -0,0 +1,126 @@
+package com.qvinh.apartment.features.properties.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qvinh.apartment.features.properties.application.event.PropertyChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized {@code GET /api/properties/{id}} bodies keyed by property id, gzip-compressed above a size
+ * threshold. Each entry carries the version tag it was rendered at and is only served while that tag is
+ * still current, so writes from other instances or to shared reference rows never serve stale bytes.
+ * Committed property writes also drop their entries right away to give the memory back.
+ */
+@Component
+class PropertyDetailResponseCache {
+
+	static final String CACHE_NAME = "properties.detail-response";
+
+	private static final String GZIP = "gzip";
+
+	/** Response body as stored; {@code gzipped} bodies are inflated for clients that do not accept gzip. */
+	record Body(byte[] bytes, boolean gzipped) {
+
+		ResponseEntity<byte[]> toResponse(String acceptEncoding) {
+			ResponseEntity.BodyBuilder res = ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			if (!gzipped) {
+				return res.body(bytes);
+			}
+			if (acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP)) {
+				return res.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(bytes);
+			}
+			try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+				return res.body(in.readAllBytes());
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+	}
+
+	private record Entry(String tag, Body body) {
+	}
+
+	private final boolean enabled;
+	private final int gzipMinBytes;
+	private final ObjectMapper objectMapper;
+	private final Cache<Long, Entry> cache;
+
+	PropertyDetailResponseCache(@Value("${app.properties.detail-cache.enabled:true}") boolean enabled,
+	                            @Value("${app.properties.detail-cache.max-size:64MB}") DataSize maxSize,
+	                            @Value("${app.properties.detail-cache.gzip-min-size:1KB}") DataSize gzipMinSize,
+	                            ObjectMapper objectMapper,
+	                            ObjectProvider<MeterRegistry> meterRegistry) {
+		this.enabled = enabled;
+		this.gzipMinBytes = (int) gzipMinSize.toBytes();
+		this.objectMapper = objectMapper;
+		this.cache = Caffeine.newBuilder()
+			.maximumWeight(maxSize.toBytes())
+			.weigher((Long id, Entry entry) -> entry.body().bytes().length)
+			.recordStats()
+			.build();
+		meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+	}
+
+	/**
+	 * The cached body of property {@code id} when it was rendered at {@code tag}, otherwise serializes
+	 * {@code render} and stores the result under {@code tag}. The tag must be read before rendering, so a
+	 * body is never stored under a tag newer than its data.
+	 */
+	Body get(long id, String tag, Supplier<?> render) {
+		if (!enabled) {
+			return encode(render.get());
+		}
+		Entry cached = cache.getIfPresent(id);
+		if (cached != null && cached.tag().equals(tag)) {
+			return cached.body();
+		}
+		Body body = encode(render.get());
+		cache.put(id, new Entry(tag, body));
+		return body;
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onPropertyChanged(PropertyChangedEvent event) {
+		cache.invalidateAll(event.propertyIds());
+	}
+
+	private Body encode(Object value) {
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(value);
+			if (json.length < gzipMinBytes) {
+				return new Body(json, false);
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+			try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+				gzip.write(json);
+			}
+			return new Body(out.toByteArray(), true);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Cannot serialize property detail", ex);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+}
@@ -2,8 +2,10 @@ package com.qvinh.apartment.features.properties.api;
 
 import com.qvinh.apartment.shared.api.ApiResponse;
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsCreateReq;
+import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsReplaceReq;
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsRes;
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsUpdateReq;
+import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsUpsertReq;
 import com.qvinh.apartment.features.properties.application.IPropertyDetailsService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -39,6 +41,24 @@ public class PropertyDetailsController {
 		return ResponseEntity.ok(ApiResponse.ok("Update property details successfully", res));
 	}
 
+	@PostMapping("/upsert")
+	public ResponseEntity<ApiResponse<List<PropertyDetailsRes>>> upsert(
+		@PathVariable Long propertyId,
+		@Valid @RequestBody PropertyDetailsUpsertReq req
+	) {
+		List<PropertyDetailsRes> res = service.upsert(propertyId, req);
+		return ResponseEntity.ok(ApiResponse.ok("Upsert property details successfully", res));
+	}
+
+	@PutMapping
+	public ResponseEntity<ApiResponse<List<PropertyDetailsRes>>> replace(
+		@PathVariable Long propertyId,
+		@Valid @RequestBody PropertyDetailsReplaceReq req
+	) {
+		List<PropertyDetailsRes> res = service.replace(propertyId, req);
+		return ResponseEntity.ok(ApiResponse.ok("Replace property details successfully", res));
+	}
+
 	@GetMapping
 	public ResponseEntity<ApiResponse<List<PropertyDetailsRes>>> list(
 		@PathVariable Long propertyId
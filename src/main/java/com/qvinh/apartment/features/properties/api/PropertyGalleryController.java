@@ -1,7 +1,10 @@
 package com.qvinh.apartment.features.properties.api;
 
 import com.qvinh.apartment.shared.api.ApiResponse;
+import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryBatchItemRes;
+import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryBatchReq;
 import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryCreateReq;
+import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryReorderReq;
 import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryRes;
 import com.qvinh.apartment.features.properties.application.IPropertyGalleryService;
 import jakarta.validation.Valid;
@@ -10,8 +13,10 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -35,6 +40,19 @@ public class PropertyGalleryController {
 		return ResponseEntity.ok(ApiResponse.ok("Add file into gallery successfully", res));
 	}
 
+	/**
+	 * Appends up to {@link IPropertyGalleryService#MAX_BATCH_FILES} files in request order. Missing files and
+	 * files already in the gallery are reported per id rather than failing the batch.
+	 */
+	@PostMapping("/batch")
+	public ResponseEntity<ApiResponse<List<PropertyGalleryBatchItemRes>>> addFilesIntoGallery(
+		@PathVariable Long propertyId,
+		@Valid @RequestBody PropertyGalleryBatchReq req
+	) {
+		List<PropertyGalleryBatchItemRes> res = service.addFilesIntoGallery(propertyId, req.getFileIds());
+		return ResponseEntity.ok(ApiResponse.ok("Add files into gallery successfully", res));
+	}
+
 	@GetMapping
 	public ResponseEntity<ApiResponse<List<PropertyGalleryRes>>> getFileByPropertiesId(
 		@PathVariable Long propertyId
@@ -43,6 +61,15 @@ public class PropertyGalleryController {
 		return ResponseEntity.ok(ApiResponse.ok("Property gallery files", res));
 	}
 
+	@PutMapping("/order")
+	public ResponseEntity<ApiResponse<List<PropertyGalleryRes>>> reorderGallery(
+		@PathVariable Long propertyId,
+		@Valid @RequestBody PropertyGalleryReorderReq req
+	) {
+		List<PropertyGalleryRes> res = service.reorderGallery(propertyId, req.getFileIds());
+		return ResponseEntity.ok(ApiResponse.ok("Reorder gallery successfully", res));
+	}
+
 	@DeleteMapping("/{fileId}")
 	public ResponseEntity<ApiResponse<Void>> deleteFileIntoGallery(
 		@PathVariable Long propertyId,
@@ -51,4 +78,14 @@ public class PropertyGalleryController {
 		service.deleteFileIntoGallery(propertyId, fileId);
 		return ResponseEntity.ok(ApiResponse.ok("Delete file from gallery successfully", null));
 	}
+
+	/** Removes the listed files ({@code fileIds=1,2,3}); ids not in the gallery are reported, not failed. */
+	@DeleteMapping("/batch")
+	public ResponseEntity<ApiResponse<List<PropertyGalleryBatchItemRes>>> deleteFilesFromGallery(
+		@PathVariable Long propertyId,
+		@RequestParam List<Long> fileIds
+	) {
+		List<PropertyGalleryBatchItemRes> res = service.deleteFilesFromGallery(propertyId, fileIds);
+		return ResponseEntity.ok(ApiResponse.ok("Delete files from gallery successfully", res));
+	}
 }
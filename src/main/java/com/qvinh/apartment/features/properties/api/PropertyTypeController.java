@@ -1,6 +1,7 @@
 package com.qvinh.apartment.features.properties.api;
 
 import com.qvinh.apartment.shared.api.ApiResponse;
+import com.qvinh.apartment.shared.api.ResourceVersion;
 import com.qvinh.apartment.features.properties.dto.property_type.PropertyTypeCreateReq;
 import com.qvinh.apartment.features.properties.dto.property_type.PropertyTypeRes;
 import com.qvinh.apartment.features.properties.dto.property_type.PropertyTypeUpdateReq;
@@ -11,6 +12,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping(PropertyTypeController.BASE_PATH)
@@ -32,7 +34,11 @@ public class PropertyTypeController {
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<ApiResponse<PropertyTypeRes>> get(@PathVariable Integer id) {
+	public ResponseEntity<ApiResponse<PropertyTypeRes>> get(@PathVariable Integer id, WebRequest request) {
+		ResourceVersion version = service.version(id);
+		if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+			return null;
+		}
 		PropertyTypeRes res = service.get(id);
 		return ResponseEntity.ok(ApiResponse.ok("Property type detail", res));
 	}
@@ -41,8 +47,13 @@ public class PropertyTypeController {
 	public ResponseEntity<ApiResponse<Page<PropertyTypeRes>>> list(
 		@RequestParam(defaultValue = "0") int page,
 		@RequestParam(defaultValue = "10") int size,
-		@RequestParam(required = false) String keyword
+		@RequestParam(required = false) String keyword,
+		WebRequest request
 	) {
+		ResourceVersion version = service.listVersion();
+		if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+			return null;
+		}
 		Pageable pageable = PageRequest.of(page, size);
 		Page<PropertyTypeRes> res;
 		String message;
@@ -0,0 +1,42 @@
+package com.qvinh.apartment.features.properties.api;
+
+import com.qvinh.apartment.features.properties.application.IReferenceDataService;
+import com.qvinh.apartment.shared.api.ApiResponse;
+import com.qvinh.apartment.shared.api.ResourceVersion;
+import com.qvinh.apartment.shared.datasource.PrimaryReads;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Types, areas and define details in one response, for clients that load all of them at start-up
+ * instead of paging through three list endpoints.
+ */
+@RestController
+@RequestMapping(ReferenceDataController.BASE_PATH)
+public class ReferenceDataController {
+
+	public static final String BASE_PATH = "/api/reference-data";
+
+	private final IReferenceDataService service;
+	private final ReferenceDataResponseCache cache;
+
+	public ReferenceDataController(IReferenceDataService service, ReferenceDataResponseCache cache) {
+		this.service = service;
+		this.cache = cache;
+	}
+
+	@GetMapping
+	public ResponseEntity<byte[]> get(WebRequest request) {
+		ResourceVersion version = service.version();
+		if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+			return null;
+		}
+		// rendered from the primary, which is never behind the replica the version may have come from
+		byte[] body = cache.get(version.getTag(), () -> ApiResponse.ok("Reference data", PrimaryReads.call(service::get)));
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+	}
+}
@@ -0,0 +1,54 @@
+package com.qvinh.apartment.features.properties.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * The serialized {@code GET /api/reference-data} body, kept for the version tag it was rendered at and
+ * rebuilt on the first request that sees a different tag.
+ */
+@Component
+class ReferenceDataResponseCache {
+
+	private record Snapshot(String tag, byte[] body) {
+	}
+
+	private final ObjectMapper objectMapper;
+	private volatile Snapshot snapshot;
+
+	ReferenceDataResponseCache(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * The body rendered at {@code tag}, rendering it first when the snapshot is older. As for property
+	 * details, the tag must be read before rendering.
+	 */
+	byte[] get(String tag, Supplier<?> render) {
+		Snapshot current = snapshot;
+		if (current != null && current.tag().equals(tag)) {
+			return current.body();
+		}
+		// one rebuild at a time; requests that waited find it done
+		synchronized (this) {
+			current = snapshot;
+			if (current != null && current.tag().equals(tag)) {
+				return current.body();
+			}
+			byte[] body = serialize(render.get());
+			snapshot = new Snapshot(tag, body);
+			return body;
+		}
+	}
+
+	private byte[] serialize(Object value) {
+		try {
+			return objectMapper.writeValueAsBytes(value);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Cannot serialize reference data", ex);
+		}
+	}
+}
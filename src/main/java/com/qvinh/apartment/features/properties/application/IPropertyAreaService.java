@@ -1,5 +1,6 @@
 package com.qvinh.apartment.features.properties.application;
 
+import com.qvinh.apartment.shared.api.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -10,7 +11,10 @@ import com.qvinh.apartment.features.properties.dto.property_area.PropertyAreaUpd
 public interface IPropertyAreaService {
 	PropertyAreaRes create(PropertyAreaCreateReq req);
 	PropertyAreaRes get(int id);
+	ResourceVersion version(int id);
 	Page<PropertyAreaRes> list(Pageable pageable);
+	/** Version shared by every page of the list, including searches. */
+	ResourceVersion listVersion();
 	PropertyAreaRes update(int id, PropertyAreaUpdateReq req);
 	void delete(int id);
 }
@@ -0,0 +1,8 @@
+package com.qvinh.apartment.features.properties.application;
+
+import com.qvinh.apartment.features.properties.dto.property_card.PropertyCardRebuildRes;
+
+public interface IPropertyCardService {
+	/** Rewrites missing or stale cards in short batches while the application keeps serving. */
+	PropertyCardRebuildRes rebuild();
+}
@@ -0,0 +1,14 @@
+package com.qvinh.apartment.features.properties.application;
+
+import com.qvinh.apartment.features.properties.dto.property_change.PropertyChangesRes;
+
+public interface IPropertyChangeFeedService {
+
+	int MAX_LIMIT = 1000;
+
+	/**
+	 * Up to {@code limit} changes after the {@code since} token (from the start when null), oldest first.
+	 * A property changed several times appears once, at its latest change.
+	 */
+	PropertyChangesRes changes(String since, int limit);
+}
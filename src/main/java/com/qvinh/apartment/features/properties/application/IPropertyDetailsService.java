@@ -1,8 +1,10 @@
 package com.qvinh.apartment.features.properties.application;
 
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsCreateReq;
+import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsReplaceReq;
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsRes;
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsUpdateReq;
+import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsUpsertReq;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -15,6 +17,14 @@ public interface IPropertyDetailsService {
 	@Transactional
 	List<PropertyDetailsRes> update(Long propertyId, PropertyDetailsUpdateReq req);
 
+	/** Inserts or overwrites the given details; details not listed are left as they are. */
+	@Transactional
+	List<PropertyDetailsRes> upsert(Long propertyId, PropertyDetailsUpsertReq req);
+
+	/** Makes the given details the property's complete detail set. */
+	@Transactional
+	List<PropertyDetailsRes> replace(Long propertyId, PropertyDetailsReplaceReq req);
+
 	@Transactional(readOnly = true)
 	List<PropertyDetailsRes> listByProperty(Long propertyId);
 
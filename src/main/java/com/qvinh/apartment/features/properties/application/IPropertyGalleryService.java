@@ -1,19 +1,33 @@
 package com.qvinh.apartment.features.properties.application;
 
+import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryBatchItemRes;
 import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryRes;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface IPropertyGalleryService {
+	/** Most distinct file ids one batch call accepts. */
+	int MAX_BATCH_FILES = 100;
 
 	@Transactional
 	PropertyGalleryRes addFileIntoGallery(Long propertyId, Long fileId);
 
+	/** Appends up to {@link #MAX_BATCH_FILES} files with a fixed number of statements, reporting each one. */
+	@Transactional
+	List<PropertyGalleryBatchItemRes> addFilesIntoGallery(Long propertyId, List<Long> fileIds);
+
 	@Transactional(readOnly = true)
 	List<PropertyGalleryRes> getFileByPropertiesId(Long propertyId);
 
+	/** Puts the gallery in the order of {@code fileIds}, which must name each of its files once; the first is the main image. */
+	@Transactional
+	List<PropertyGalleryRes> reorderGallery(Long propertyId, List<Long> fileIds);
+
 	@Transactional
 	void deleteFileIntoGallery(Long propertyId, Long fileId);
-}
 
+	/** Removes up to {@link #MAX_BATCH_FILES} files with a fixed number of statements, reporting each one. */
+	@Transactional
+	List<PropertyGalleryBatchItemRes> deleteFilesFromGallery(Long propertyId, List<Long> fileIds);
+}
@@ -0,0 +1,12 @@
+package com.qvinh.apartment.features.properties.application;
+
+import com.qvinh.apartment.features.properties.dto.property.PropertyDataFormat;
+import com.qvinh.apartment.features.properties.dto.property_import.PropertyImportRes;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IPropertyImportService {
+	/** Creates a property, with its details, per valid row; invalid rows are skipped and reported. */
+	PropertyImportRes importProperties(PropertyDataFormat format, InputStream in) throws IOException;
+}
@@ -1,20 +1,60 @@
 package com.qvinh.apartment.features.properties.application;
 
+import com.qvinh.apartment.features.properties.dto.property.PropertyBatchRes;
 import com.qvinh.apartment.features.properties.dto.property.PropertyCreateReq;
+import com.qvinh.apartment.features.properties.dto.property.PropertyDataFormat;
+import com.qvinh.apartment.features.properties.dto.property.PropertyDeleteRes;
+import com.qvinh.apartment.features.properties.dto.property.PropertyField;
 import com.qvinh.apartment.features.properties.dto.property.PropertyRes;
 import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
 import com.qvinh.apartment.features.properties.dto.property.PropertySelectRes;
 import com.qvinh.apartment.features.properties.dto.property.PropertyUpdateReq;
+import com.qvinh.apartment.features.properties.dto.property_facet.PropertyFacetsRes;
+import com.qvinh.apartment.shared.api.KeysetSlice;
+import com.qvinh.apartment.shared.api.ResourceVersion;
+import com.qvinh.apartment.shared.api.TotalKind;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
 
 public interface IPropertyService {
+	/** Sort key ranking search results by full-text match of {@code q}. */
+	String SORT_RELEVANCE = "relevance";
+	/** Most ids one {@link #getFullBatch} or {@link #deleteAll} call accepts. */
+	int MAX_BATCH_IDS = 100;
+
 	PropertyRes create(PropertyCreateReq req);
 	PropertyRes get(long id);
 	PropertySelectRes getFull(long id);
+	/** {@link #getFull(long)} with only {@code fields}; relations outside them are not fetched. */
+	PropertySelectRes getFull(long id, Set<PropertyField> fields);
+	/** Version of the {@link #getFull} view, without loading it. */
+	ResourceVersion version(long id);
+	/** {@link #getFull} for up to {@link #MAX_BATCH_IDS} distinct ids with a fixed number of queries. */
+	PropertyBatchRes<PropertySelectRes> getFullBatch(List<Long> ids, Set<PropertyField> fields);
 	Page<PropertyRes> list(Pageable pageable);
-	Page<PropertyRes> search(PropertySearchReq req, Pageable pageable);
-	Page<PropertySelectRes> searchFull(PropertySearchReq req, Pageable pageable);
+	/** A {@link Page} for {@code EXACT} and {@code ESTIMATE} totals, a bare {@link Slice} for {@code NONE}. */
+	Slice<PropertyRes> search(PropertySearchReq req, Pageable pageable, TotalKind count);
+	Slice<PropertySelectRes> searchFull(PropertySearchReq req, Pageable pageable, TotalKind count, Set<PropertyField> fields);
+	KeysetSlice<PropertyRes> searchAfter(PropertySearchReq req, Sort.Order order, String cursor, int size);
+	KeysetSlice<PropertySelectRes> searchFullAfter(PropertySearchReq req, Sort.Order order, String cursor, int size,
+	                                              Set<PropertyField> fields);
+	PropertyFacetsRes facets(PropertySearchReq req, List<BigDecimal> priceBounds);
+	/** Writes every list row matching {@code req} to {@code out}, in property id order, without paging. */
+	void export(PropertySearchReq req, PropertyDataFormat format, OutputStream out) throws IOException;
 	PropertyRes update(long id, PropertyUpdateReq req);
 	void delete(long id);
+	/**
+	 * Deletes up to {@link #MAX_BATCH_IDS} distinct properties with their details and gallery rows, in a
+	 * fixed number of statements. With {@code purgeFiles}, gallery files no remaining property uses are
+	 * queued for removal.
+	 */
+	PropertyDeleteRes deleteAll(List<Long> ids, boolean purgeFiles);
 }
@@ -3,13 +3,17 @@ package com.qvinh.apartment.features.properties.application;
 import com.qvinh.apartment.features.properties.dto.property_type.PropertyTypeCreateReq;
 import com.qvinh.apartment.features.properties.dto.property_type.PropertyTypeRes;
 import com.qvinh.apartment.features.properties.dto.property_type.PropertyTypeUpdateReq;
+import com.qvinh.apartment.shared.api.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface IPropertyTypeService {
 	PropertyTypeRes create(PropertyTypeCreateReq req);
 	PropertyTypeRes get(int id);
+	ResourceVersion version(int id);
 	Page<PropertyTypeRes> list(Pageable pageable);
+	/** Version shared by every page of the list, including searches. */
+	ResourceVersion listVersion();
 	Page<PropertyTypeRes> search(String keyword, Pageable pageable);
 	PropertyTypeRes update(int id, PropertyTypeUpdateReq req);
 	void delete(int id);
@@ -0,0 +1,10 @@
+package com.qvinh.apartment.features.properties.application;
+
+import com.qvinh.apartment.features.properties.dto.reference_data.ReferenceDataRes;
+import com.qvinh.apartment.shared.api.ResourceVersion;
+
+public interface IReferenceDataService {
+	/** Changes whenever a type, area or define detail is created, updated or deleted. */
+	ResourceVersion version();
+	ReferenceDataRes get();
+}
@@ -0,0 +1,47 @@
+package com.qvinh.apartment.features.properties.application.event;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Published inside the writing transaction after properties were created, updated or deleted,
+ * or after their details or gallery changed.
+ */
+public record PropertyChangedEvent(List<Long> propertyIds, Change change) {
+
+	public enum Change {
+		UPSERTED,
+		DELETED,
+		DETAILS,
+		GALLERY
+	}
+
+	public PropertyChangedEvent {
+		propertyIds = List.copyOf(Objects.requireNonNull(propertyIds, "propertyIds must not be null"));
+		Objects.requireNonNull(change, "change must not be null");
+	}
+
+	public static PropertyChangedEvent upserted(Long propertyId) {
+		return new PropertyChangedEvent(List.of(propertyId), Change.UPSERTED);
+	}
+
+	public static PropertyChangedEvent deleted(Long propertyId) {
+		return new PropertyChangedEvent(List.of(propertyId), Change.DELETED);
+	}
+
+	public static PropertyChangedEvent deleted(List<Long> propertyIds) {
+		return new PropertyChangedEvent(propertyIds, Change.DELETED);
+	}
+
+	public static PropertyChangedEvent detailsChanged(Long propertyId) {
+		return new PropertyChangedEvent(List.of(propertyId), Change.DETAILS);
+	}
+
+	public static PropertyChangedEvent galleryChanged(Long propertyId) {
+		return new PropertyChangedEvent(List.of(propertyId), Change.GALLERY);
+	}
+
+	public static PropertyChangedEvent galleryChanged(List<Long> propertyIds) {
+		return new PropertyChangedEvent(propertyIds, Change.GALLERY);
+	}
+}
@@ -0,0 +1,19 @@
+package com.qvinh.apartment.features.properties.application.event;
+
+import java.util.Objects;
+
+/**
+ * Published inside the writing transaction after reference data shared by many properties was changed.
+ */
+public record PropertyReferenceChangedEvent(Reference reference, Integer id) {
+
+	public enum Reference {
+		TYPE,
+		AREA
+	}
+
+	public PropertyReferenceChangedEvent {
+		Objects.requireNonNull(reference, "reference must not be null");
+		Objects.requireNonNull(id, "id must not be null");
+	}
+}
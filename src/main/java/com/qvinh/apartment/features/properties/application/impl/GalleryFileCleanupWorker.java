@@ -0,0 +1,100 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.qvinh.apartment.features.files.application.IFileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Removes the gallery files a property delete queued in {@code stored_file_cleanup}: blobs, variants and
+ * metadata, through {@link IFileService#delete}. Each file is claimed and removed in its own transaction,
+ * so instances running side by side skip each other's files. A file attached to a gallery again since it
+ * was queued is only dequeued; one that fails to delete is retried after {@code retry-delay}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.gallery.file-cleanup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class GalleryFileCleanupWorker {
+
+	private static final Logger log = LoggerFactory.getLogger(GalleryFileCleanupWorker.class);
+
+	private static final String CLAIM = """
+		SELECT c.file_id
+		FROM stored_file_cleanup c
+		WHERE c.queued_at <= LOCALTIMESTAMP
+		ORDER BY c.queued_at, c.file_id
+		LIMIT 1
+		FOR UPDATE OF c SKIP LOCKED
+		""";
+	private static final String LOCK_FILE = "SELECT file_id FROM stored_file WHERE file_id = ? FOR UPDATE";
+	private static final String REFERENCED = "SELECT EXISTS (SELECT 1 FROM property_gallery WHERE file_id = ?)";
+	private static final String DEQUEUE = "DELETE FROM stored_file_cleanup WHERE file_id = ?";
+	private static final String REQUEUE =
+		"UPDATE stored_file_cleanup SET queued_at = LOCALTIMESTAMP + make_interval(secs => ?) WHERE file_id = ?";
+
+	private final IFileService fileService;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate fileTransaction;
+	private final int batchSize;
+	private final Duration retryDelay;
+
+	public GalleryFileCleanupWorker(IFileService fileService,
+	                                JdbcTemplate jdbcTemplate,
+	                                PlatformTransactionManager transactionManager,
+	                                @Value("${app.gallery.file-cleanup.batch-size:100}") int batchSize,
+	                                @Value("${app.gallery.file-cleanup.retry-delay:10m}") Duration retryDelay) {
+		this.fileService = fileService;
+		this.jdbcTemplate = jdbcTemplate;
+		this.fileTransaction = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.retryDelay = retryDelay;
+	}
+
+	@Scheduled(fixedDelayString = "${app.gallery.file-cleanup.interval:PT1M}")
+	public void run() {
+		for (int i = 0; i < batchSize; i++) {
+			if (!cleanNext()) {
+				return;
+			}
+		}
+	}
+
+	/** Returns false once the queue has nothing left to claim. */
+	boolean cleanNext() {
+		Long[] claimed = new Long[1];
+		try {
+			return Boolean.TRUE.equals(fileTransaction.execute(status -> {
+				List<Long> ids = jdbcTemplate.queryForList(CLAIM, Long.class);
+				if (ids.isEmpty()) {
+					return false;
+				}
+				claimed[0] = ids.get(0);
+				// a gallery insert checks its foreign key under a key-share lock on the file row, so with the
+				// row locked a concurrent attach either waits for the delete or is seen by the check below
+				jdbcTemplate.queryForList(LOCK_FILE, Long.class, claimed[0]);
+				if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(REFERENCED, Boolean.class, claimed[0]))) {
+					jdbcTemplate.update(DEQUEUE, claimed[0]);
+				} else {
+					// the queue row goes with the file through its foreign key
+					fileService.delete(claimed[0]);
+				}
+				return true;
+			}));
+		} catch (RuntimeException ex) {
+			if (claimed[0] == null) {
+				throw ex;
+			}
+			log.warn("Could not remove queued gallery file {}; retrying in {}", claimed[0], retryDelay, ex);
+			jdbcTemplate.update(REQUEUE, retryDelay.toSeconds(), claimed[0]);
+			return true;
+		}
+	}
+}
@@ -1,15 +1,18 @@
 package com.qvinh.apartment.features.properties.application.impl;
 
 import com.qvinh.apartment.features.properties.application.IPropertyAreaService;
+import com.qvinh.apartment.features.properties.application.event.PropertyReferenceChangedEvent;
 import com.qvinh.apartment.features.properties.domain.PropertyArea;
 import com.qvinh.apartment.features.properties.dto.property_area.PropertyAreaCreateReq;
 import com.qvinh.apartment.features.properties.dto.property_area.PropertyAreaRes;
 import com.qvinh.apartment.features.properties.dto.property_area.PropertyAreaUpdateReq;
 import com.qvinh.apartment.features.properties.constants.PropertiesMessages;
+import com.qvinh.apartment.shared.api.ResourceVersion;
 import com.qvinh.apartment.shared.error.ErrorCode;
 import com.qvinh.apartment.shared.exception.ResourceNotFoundException;
 import com.qvinh.apartment.features.properties.mapper.PropertyAreaMapper;
 import com.qvinh.apartment.features.properties.persistence.PropertyAreaRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,10 +27,13 @@ public class PropertyAreaService implements IPropertyAreaService {
 
 	private final PropertyAreaRepository repository;
 	private final PropertyAreaMapper mapper;
+	private final ApplicationEventPublisher eventPublisher;
 
-	public PropertyAreaService(PropertyAreaRepository repository, PropertyAreaMapper mapper) {
+	public PropertyAreaService(PropertyAreaRepository repository, PropertyAreaMapper mapper,
+	                           ApplicationEventPublisher eventPublisher) {
 		this.repository = repository;
 		this.mapper = mapper;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Transactional
@@ -45,6 +51,17 @@ public class PropertyAreaService implements IPropertyAreaService {
 		return mapper.toRes(area);
 	}
 
+	@Transactional(readOnly = true)
+	public ResourceVersion version(int id) {
+		return repository.findVersionById(id)
+			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_AREA_NOT_FOUND, PropertiesMessages.PROPERTY_AREA_NOT_FOUND));
+	}
+
+	@Transactional(readOnly = true)
+	public ResourceVersion listVersion() {
+		return repository.findListVersion();
+	}
+
 	@Transactional(readOnly = true)
 	public Page<PropertyAreaRes> list(Pageable pageable) {
 		Objects.requireNonNull(pageable, "pageable must not be null");
@@ -57,6 +74,7 @@ public class PropertyAreaService implements IPropertyAreaService {
 			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_AREA_NOT_FOUND, PropertiesMessages.PROPERTY_AREA_NOT_FOUND));
 		mapper.updateEntityFromReq(req, area);
 		PropertyArea updated = repository.save(Objects.requireNonNull(area, AREA_NOT_NULL));
+		eventPublisher.publishEvent(new PropertyReferenceChangedEvent(PropertyReferenceChangedEvent.Reference.AREA, id));
 		return mapper.toRes(updated);
 	}
 
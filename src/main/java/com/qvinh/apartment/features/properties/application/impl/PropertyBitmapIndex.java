@@ -0,0 +1,442 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+import com.qvinh.apartment.features.properties.persistence.PropertyIndexRow;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Property columns public searches filter on, held in memory: a compressed bitmap per flag, type, area and
+ * sale user, and (key, id) arrays sorted by price and by creation time. Pages come out in the same order
+ * the database would produce, including the propertyId tie-breaker. Not thread-safe on its own.
+ */
+final class PropertyBitmapIndex {
+
+	record IdPage(List<Long> ids, long total, boolean hasNext) {
+	}
+
+	private static final String SORT_PROPERTY_ID = "propertyId";
+	private static final String SORT_PRICE = "price";
+	private static final String SORT_CREATED_AT = "createdAt";
+	// Postgres puts NULL last ascending and first descending, like the largest key
+	private static final long NULL_KEY = Long.MAX_VALUE;
+	// when fewer candidates than 1/64 of all rows remain, sorting them beats scanning a sorted array
+	private static final int SORT_CANDIDATES_DIVISOR = 64;
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final RoaringBitmap all = new RoaringBitmap();
+	private final RoaringBitmap publicIds = new RoaringBitmap();
+	private final RoaringBitmap forRentIds = new RoaringBitmap();
+	private final Map<Integer, RoaringBitmap> byType = new HashMap<>();
+	private final Map<Integer, RoaringBitmap> byArea = new HashMap<>();
+	private final Map<Long, RoaringBitmap> bySale = new HashMap<>();
+	private final SortedKeys byPrice = new SortedKeys();
+	private final SortedKeys byCreated = new SortedKeys();
+
+	// row values by id, to undo a row's entries on update or delete
+	private int[] typeOf = new int[INITIAL_CAPACITY];
+	private int[] areaOf = new int[INITIAL_CAPACITY];
+	private long[] saleOf = new long[INITIAL_CAPACITY];
+	private long[] priceOf = new long[INITIAL_CAPACITY];
+	private long[] createdOf = new long[INITIAL_CAPACITY];
+
+	/**
+	 * Requests the index answers completely; text, date and detail filters need the database.
+	 */
+	static boolean supports(PropertySearchReq req) {
+		return req == null || (isBlank(req.getQ())
+			&& isBlank(req.getTitle())
+			&& isBlank(req.getDescription())
+			&& req.getCreatedFrom() == null
+			&& req.getCreatedTo() == null
+			&& req.getUpdatedFrom() == null
+			&& req.getUpdatedTo() == null
+			&& (req.getDetails() == null || req.getDetails().isEmpty()));
+	}
+
+	/**
+	 * Ids are kept as unsigned 32-bit bitmap values; a larger id cannot be indexed.
+	 */
+	static boolean fits(long propertyId) {
+		return propertyId >= 0 && propertyId <= Integer.MAX_VALUE;
+	}
+
+	long size() {
+		return all.getLongCardinality();
+	}
+
+	void put(PropertyIndexRow row) {
+		int id = checkedId(row);
+		remove(id);
+		add(id, row);
+		byPrice.add(priceOf[id], id);
+		byCreated.add(createdOf[id], id);
+	}
+
+	/**
+	 * Adds a row during a full load: sorted keys are appended as they come and ordered once by
+	 * {@link #finishLoad}, instead of shifting the arrays on every row. Ids must not repeat.
+	 */
+	void load(PropertyIndexRow row) {
+		int id = checkedId(row);
+		if (all.contains(id)) {
+			throw new IllegalStateException("property loaded twice: " + id);
+		}
+		add(id, row);
+		byPrice.append(priceOf[id], id);
+		byCreated.append(createdOf[id], id);
+	}
+
+	/** Orders the keys appended by {@link #load}; call once after the last row, before any search. */
+	void finishLoad() {
+		byPrice.sort();
+		byCreated.sort();
+	}
+
+	private static int checkedId(PropertyIndexRow row) {
+		if (!fits(row.propertyId())) {
+			throw new IllegalArgumentException("propertyId does not fit the bitmap index: " + row.propertyId());
+		}
+		return (int) row.propertyId();
+	}
+
+	private void add(int id, PropertyIndexRow row) {
+		ensureCapacity(id);
+		all.add(id);
+		if (row.isPublic()) {
+			publicIds.add(id);
+		}
+		if (row.isForRent()) {
+			forRentIds.add(id);
+		}
+		byType.computeIfAbsent(row.typeId(), k -> new RoaringBitmap()).add(id);
+		byArea.computeIfAbsent(row.areaId(), k -> new RoaringBitmap()).add(id);
+		bySale.computeIfAbsent(row.saleUserId(), k -> new RoaringBitmap()).add(id);
+		typeOf[id] = row.typeId();
+		areaOf[id] = row.areaId();
+		saleOf[id] = row.saleUserId();
+		priceOf[id] = cents(row.price());
+		createdOf[id] = micros(row.createdAt());
+	}
+
+	void remove(long propertyId) {
+		if (!fits(propertyId) || !all.contains((int) propertyId)) {
+			return;
+		}
+		int id = (int) propertyId;
+		all.remove(id);
+		publicIds.remove(id);
+		forRentIds.remove(id);
+		removeFrom(byType, typeOf[id], id);
+		removeFrom(byArea, areaOf[id], id);
+		removeFrom(bySale, saleOf[id], id);
+		byPrice.remove(priceOf[id], id);
+		byCreated.remove(createdOf[id], id);
+	}
+
+	/**
+	 * The requested page of ids with the exact total, or empty when the sort is not one the index keeps.
+	 * Callers check {@link #supports} first.
+	 */
+	Optional<IdPage> find(PropertySearchReq req, Pageable pageable) {
+		List<Sort.Order> orders = pageable.getSort().toList();
+		if (orders.size() > 1) {
+			return Optional.empty();
+		}
+		Sort.Order order = orders.isEmpty() ? Sort.Order.asc(SORT_PROPERTY_ID) : orders.get(0);
+		String property = order.getProperty();
+		if (!SORT_PROPERTY_ID.equals(property) && !SORT_PRICE.equals(property) && !SORT_CREATED_AT.equals(property)) {
+			return Optional.empty();
+		}
+		SortedKeys keys = SORT_PRICE.equals(property) ? byPrice : SORT_CREATED_AT.equals(property) ? byCreated : null;
+
+		RoaringBitmap candidates;
+		try {
+			candidates = filter(req == null ? new PropertySearchReq() : req);
+		} catch (ArithmeticException ex) {
+			// a price bound beyond the long range of cents; let the database compare it
+			return Optional.empty();
+		}
+
+		long total = candidates.getLongCardinality();
+		long offset = pageable.getOffset();
+		int limit = pageable.getPageSize() + 1;
+		List<Long> ids = new ArrayList<>(Math.min(limit, (int) Math.min(total, Integer.MAX_VALUE)));
+		if (offset < total) {
+			if (keys == null) {
+				collectById(candidates, order.isAscending(), (int) offset, limit, ids);
+			} else if (total * SORT_CANDIDATES_DIVISOR < size()) {
+				collectSorted(candidates, keys == byPrice ? priceOf : createdOf, order.isAscending(), (int) offset, limit, ids);
+			} else {
+				keys.collect(candidates, order.isAscending(), (int) offset, limit, ids);
+			}
+		}
+		boolean hasNext = ids.size() > pageable.getPageSize();
+		return Optional.of(new IdPage(hasNext ? ids.subList(0, pageable.getPageSize()) : ids, total, hasNext));
+	}
+
+	private RoaringBitmap filter(PropertySearchReq req) {
+		RoaringBitmap candidates = all.clone();
+		if (req.getIsPublic() != null) {
+			flag(candidates, publicIds, req.getIsPublic());
+		}
+		if (req.getIsForRent() != null) {
+			flag(candidates, forRentIds, req.getIsForRent());
+		}
+		if (req.getTypeIds() != null && !req.getTypeIds().isEmpty()) {
+			candidates.and(union(byType, req.getTypeIds()));
+		}
+		if (req.getAreaIds() != null && !req.getAreaIds().isEmpty()) {
+			candidates.and(union(byArea, req.getAreaIds()));
+		}
+		if (req.getSaleUserIds() != null && !req.getSaleUserIds().isEmpty()) {
+			candidates.and(union(bySale, req.getSaleUserIds()));
+		}
+		if (req.getMinPrice() != null || req.getMaxPrice() != null) {
+			// stored prices have two decimals, so bounds round inwards to whole cents
+			long min = req.getMinPrice() == null ? Long.MIN_VALUE : toCents(req.getMinPrice(), RoundingMode.CEILING);
+			long max = req.getMaxPrice() == null ? Long.MAX_VALUE : toCents(req.getMaxPrice(), RoundingMode.FLOOR);
+			if (min > max) {
+				candidates.clear();
+			} else {
+				candidates.and(byPrice.idsBetween(min, max));
+			}
+		}
+		return candidates;
+	}
+
+	private static void flag(RoaringBitmap candidates, RoaringBitmap trueIds, boolean value) {
+		if (value) {
+			candidates.and(trueIds);
+		} else {
+			candidates.andNot(trueIds);
+		}
+	}
+
+	private static <K> RoaringBitmap union(Map<K, RoaringBitmap> bitmaps, Collection<K> keys) {
+		RoaringBitmap union = new RoaringBitmap();
+		for (K key : keys) {
+			RoaringBitmap bitmap = bitmaps.get(key);
+			if (bitmap != null) {
+				union.or(bitmap);
+			}
+		}
+		return union;
+	}
+
+	private static void collectById(RoaringBitmap candidates, boolean ascending, int offset, int limit, List<Long> out) {
+		int total = candidates.getCardinality();
+		for (int i = offset; i < total && out.size() < limit; i++) {
+			out.add((long) candidates.select(ascending ? i : total - 1 - i));
+		}
+	}
+
+	private static void collectSorted(RoaringBitmap candidates, long[] keyOf, boolean ascending, int offset, int limit,
+	                                  List<Long> out) {
+		Comparator<Integer> byKey = Comparator.comparingLong(id -> keyOf[id]);
+		Comparator<Integer> comparator = (ascending ? byKey : byKey.reversed()).thenComparingInt(id -> id);
+		Integer[] ids = Arrays.stream(candidates.toArray()).boxed().toArray(Integer[]::new);
+		Arrays.sort(ids, comparator);
+		for (int i = offset; i < ids.length && out.size() < limit; i++) {
+			out.add((long) ids[i]);
+		}
+	}
+
+	private static <K> void removeFrom(Map<K, RoaringBitmap> bitmaps, K key, int id) {
+		RoaringBitmap bitmap = bitmaps.get(key);
+		if (bitmap != null) {
+			bitmap.remove(id);
+			if (bitmap.isEmpty()) {
+				bitmaps.remove(key);
+			}
+		}
+	}
+
+	private void ensureCapacity(int id) {
+		if (id < typeOf.length) {
+			return;
+		}
+		int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max((long) id + 1, typeOf.length * 2L));
+		typeOf = Arrays.copyOf(typeOf, capacity);
+		areaOf = Arrays.copyOf(areaOf, capacity);
+		saleOf = Arrays.copyOf(saleOf, capacity);
+		priceOf = Arrays.copyOf(priceOf, capacity);
+		createdOf = Arrays.copyOf(createdOf, capacity);
+	}
+
+	private static long cents(BigDecimal price) {
+		return price == null ? NULL_KEY : toCents(price, RoundingMode.UNNECESSARY);
+	}
+
+	private static long toCents(BigDecimal value, RoundingMode rounding) {
+		return value.movePointRight(2).setScale(0, rounding).longValueExact();
+	}
+
+	private static long micros(LocalDateTime value) {
+		if (value == null) {
+			return NULL_KEY;
+		}
+		return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.trim().isEmpty();
+	}
+
+	/**
+	 * Parallel arrays ordered by (key, id), kept sorted on insert; a full load appends and sorts once.
+	 */
+	private static final class SortedKeys {
+
+		private long[] keys = new long[INITIAL_CAPACITY];
+		private int[] ids = new int[INITIAL_CAPACITY];
+		private int size;
+
+		void add(long key, int id) {
+			int at = search(key, id);
+			if (at >= 0) {
+				return;
+			}
+			at = -at - 1;
+			grow();
+			System.arraycopy(keys, at, keys, at + 1, size - at);
+			System.arraycopy(ids, at, ids, at + 1, size - at);
+			keys[at] = key;
+			ids[at] = id;
+			size++;
+		}
+
+		/** Adds at the end, out of order until {@link #sort}. */
+		void append(long key, int id) {
+			grow();
+			keys[size] = key;
+			ids[size] = id;
+			size++;
+		}
+
+		void sort() {
+			Integer[] order = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				order[i] = i;
+			}
+			long[] unsortedKeys = keys;
+			int[] unsortedIds = ids;
+			Arrays.sort(order, Comparator.<Integer>comparingLong(i -> unsortedKeys[i]).thenComparingInt(i -> unsortedIds[i]));
+			long[] sortedKeys = new long[keys.length];
+			int[] sortedIds = new int[ids.length];
+			for (int i = 0; i < size; i++) {
+				sortedKeys[i] = unsortedKeys[order[i]];
+				sortedIds[i] = unsortedIds[order[i]];
+			}
+			keys = sortedKeys;
+			ids = sortedIds;
+		}
+
+		private void grow() {
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, size * 2);
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+		}
+
+		void remove(long key, int id) {
+			int at = search(key, id);
+			if (at < 0) {
+				return;
+			}
+			System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+			System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+			size--;
+		}
+
+		RoaringBitmap idsBetween(long min, long max) {
+			int from = firstAtLeast(min);
+			int to = max == Long.MAX_VALUE ? size : firstAtLeast(max + 1);
+			RoaringBitmap bitmap = new RoaringBitmap();
+			if (from < to) {
+				bitmap.addN(ids, from, to - from);
+			}
+			return bitmap;
+		}
+
+		/**
+		 * Walks the keys in the requested direction; equal keys always come in ascending id order.
+		 */
+		void collect(RoaringBitmap filter, boolean ascending, int skip, int limit, List<Long> out) {
+			int[] remaining = {skip};
+			if (ascending) {
+				for (int i = 0; i < size && out.size() < limit; i++) {
+					accept(filter, ids[i], remaining, out);
+				}
+				return;
+			}
+			int end = size - 1;
+			while (end >= 0 && out.size() < limit) {
+				int start = end;
+				while (start > 0 && keys[start - 1] == keys[end]) {
+					start--;
+				}
+				for (int i = start; i <= end && out.size() < limit; i++) {
+					accept(filter, ids[i], remaining, out);
+				}
+				end = start - 1;
+			}
+		}
+
+		private static void accept(RoaringBitmap filter, int id, int[] remaining, List<Long> out) {
+			if (!filter.contains(id)) {
+				return;
+			}
+			if (remaining[0] > 0) {
+				remaining[0]--;
+			} else {
+				out.add((long) id);
+			}
+		}
+
+		private int firstAtLeast(long key) {
+			int low = 0;
+			int high = size;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (keys[mid] < key) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		private int search(long key, int id) {
+			int low = 0;
+			int high = size - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int cmp = keys[mid] != key ? Long.compare(keys[mid], key) : Integer.compare(ids[mid], id);
+				if (cmp < 0) {
+					low = mid + 1;
+				} else if (cmp > 0) {
+					high = mid - 1;
+				} else {
+					return mid;
+				}
+			}
+			return -(low + 1);
+		}
+	}
+}
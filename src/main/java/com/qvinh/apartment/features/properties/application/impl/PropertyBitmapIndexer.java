@@ -0,0 +1,154 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.qvinh.apartment.features.properties.application.event.PropertyChangedEvent;
+import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+import com.qvinh.apartment.features.properties.persistence.PropertyRepository;
+import com.qvinh.apartment.shared.datasource.PrimaryReads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Owns the optional {@link PropertyBitmapIndex}: built once the application is ready, then kept current
+ * from committed property writes of this instance. The build loads a fresh index without blocking
+ * writers and replays the properties they changed meanwhile. Writes from other instances are not seen, so enable it
+ * only where this instance is the only writer. Until it is built, or if building fails, searches use the database.
+ */
+@Component
+public class PropertyBitmapIndexer {
+
+	private static final Logger log = LoggerFactory.getLogger(PropertyBitmapIndexer.class);
+
+	private final boolean enabled;
+	private final PropertyRepository repository;
+	private final TransactionTemplate readTransaction;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	// guarded by lock
+	private PropertyBitmapIndex index = new PropertyBitmapIndex();
+	// ids written while a build loads, replayed once it is swapped in; null outside a build; guarded by lock
+	private Set<Long> writtenDuringBuild;
+	private volatile boolean ready;
+
+	public PropertyBitmapIndexer(@Value("${app.properties.search.bitmap-index.enabled:false}") boolean enabled,
+	                             PropertyRepository repository,
+	                             PlatformTransactionManager transactionManager) {
+		this.enabled = enabled;
+		this.repository = repository;
+		this.readTransaction = new TransactionTemplate(transactionManager);
+		this.readTransaction.setReadOnly(true);
+		// listeners run after the writer committed; its transaction can no longer be joined
+		this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void build() {
+		if (!enabled) {
+			return;
+		}
+		// set before the load reads anything, so every write the load may miss is buffered
+		lock.writeLock().lock();
+		try {
+			writtenDuringBuild = new LinkedHashSet<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+		try {
+			// loaded without the lock so writers only wait for the swap and the replay below
+			PropertyBitmapIndex fresh = new PropertyBitmapIndex();
+			PrimaryReads.run(() -> readTransaction.executeWithoutResult(status -> repository.forEachIndexRow(null, fresh::load)));
+			fresh.finishLoad();
+			lock.writeLock().lock();
+			try {
+				List<Long> written = List.copyOf(writtenDuringBuild);
+				writtenDuringBuild = null;
+				reindex(fresh, written);
+				index = fresh;
+				ready = true;
+				log.info("Property bitmap index built with {} rows, {} replayed", fresh.size(), written.size());
+			} finally {
+				lock.writeLock().unlock();
+			}
+		} catch (RuntimeException ex) {
+			lock.writeLock().lock();
+			try {
+				writtenDuringBuild = null;
+				ready = false;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			log.warn("Property bitmap index could not be built; searches use the database", ex);
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onPropertyChanged(PropertyChangedEvent event) {
+		if (!enabled || event.change() == PropertyChangedEvent.Change.DETAILS
+			|| event.change() == PropertyChangedEvent.Change.GALLERY) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			if (writtenDuringBuild != null) {
+				writtenDuringBuild.addAll(event.propertyIds());
+				return;
+			}
+			if (!ready) {
+				return;
+			}
+			reindex(index, event.propertyIds());
+		} catch (RuntimeException ex) {
+			// a partial update would answer wrongly; stop serving rather than drift
+			ready = false;
+			log.warn("Property bitmap index disabled after a failed update; searches use the database", ex);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void reindex(PropertyBitmapIndex target, List<Long> propertyIds) {
+		if (propertyIds.isEmpty()) {
+			return;
+		}
+		propertyIds.forEach(target::remove);
+		// from the primary: a replica may not have replayed the write yet
+		PrimaryReads.run(() -> readTransaction.executeWithoutResult(
+			status -> repository.forEachIndexRow(propertyIds, target::put)));
+	}
+
+	/**
+	 * A page of ids for requests the index answers completely, otherwise empty. Read-write transactions
+	 * always go to the database, which also sees their uncommitted rows.
+	 */
+	Optional<PropertyBitmapIndex.IdPage> find(PropertySearchReq req, Pageable pageable) {
+		if (!ready || !TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !PropertyBitmapIndex.supports(req)) {
+			return Optional.empty();
+		}
+		lock.readLock().lock();
+		try {
+			return ready ? index.find(req, pageable) : Optional.empty();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+}
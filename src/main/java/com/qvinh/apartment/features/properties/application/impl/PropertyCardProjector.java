@@ -0,0 +1,53 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.qvinh.apartment.features.accounts.application.event.SaleInfoChangedEvent;
+import com.qvinh.apartment.features.properties.application.event.PropertyChangedEvent;
+import com.qvinh.apartment.features.properties.application.event.PropertyReferenceChangedEvent;
+import com.qvinh.apartment.features.properties.persistence.PropertyCardRepository;
+import com.qvinh.apartment.features.properties.persistence.PropertyTombstoneRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@code property_card} in step with its sources, in the publisher's transaction like
+ * {@link PropertySearchIndexer}. Details are not part of the card; deletes cascade in the database and
+ * leave a tombstone for the change feed.
+ */
+@Component
+public class PropertyCardProjector {
+
+	private final PropertyCardRepository repository;
+	private final PropertyTombstoneRepository tombstoneRepository;
+
+	public PropertyCardProjector(PropertyCardRepository repository, PropertyTombstoneRepository tombstoneRepository) {
+		this.repository = repository;
+		this.tombstoneRepository = tombstoneRepository;
+	}
+
+	@EventListener
+	public void onPropertyChanged(PropertyChangedEvent event) {
+		if (event.propertyIds().isEmpty()) {
+			return;
+		}
+		switch (event.change()) {
+			case UPSERTED, GALLERY -> repository.refreshByPropertyIds(event.propertyIds());
+			case DELETED -> tombstoneRepository.insertAll(event.propertyIds().toArray(Long[]::new));
+			case DETAILS -> {
+				// not on the card
+			}
+		}
+	}
+
+	@EventListener
+	public void onReferenceChanged(PropertyReferenceChangedEvent event) {
+		switch (event.reference()) {
+			case TYPE -> repository.refreshByTypeId(event.id());
+			case AREA -> repository.refreshByAreaId(event.id());
+		}
+	}
+
+	@EventListener
+	public void onSaleInfoChanged(SaleInfoChangedEvent event) {
+		repository.refreshBySaleUserId(event.userId());
+	}
+}
@@ -0,0 +1,65 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.qvinh.apartment.features.properties.application.IPropertyCardService;
+import com.qvinh.apartment.features.properties.dto.property_card.PropertyCardRebuildRes;
+import com.qvinh.apartment.features.properties.persistence.PropertyCardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Not transactional itself: each batch commits on its own, so row locks are held briefly and the
+ * rebuild can run while the application serves reads and writes.
+ */
+@Service
+public class PropertyCardService implements IPropertyCardService {
+
+	private static final Logger log = LoggerFactory.getLogger(PropertyCardService.class);
+
+	private final PropertyCardRepository repository;
+	private final TransactionTemplate batchTransaction;
+	private final int batchSize;
+
+	public PropertyCardService(PropertyCardRepository repository,
+	                           PlatformTransactionManager transactionManager,
+	                           @Value("${app.properties.cards.rebuild-batch-size:500}") int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("app.properties.cards.rebuild-batch-size must be positive");
+		}
+		this.repository = repository;
+		this.batchTransaction = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public PropertyCardRebuildRes rebuild() {
+		long scanned = 0;
+		long written = 0;
+		Batch batch = new Batch(0, 0, 0L);
+		do {
+			long afterId = batch.lastId();
+			batch = batchTransaction.execute(status -> refreshAfter(afterId));
+			scanned += batch.scanned();
+			written += batch.written();
+		} while (batch.scanned() == batchSize);
+		log.info("Property cards rebuilt: {} scanned, {} written", scanned, written);
+		return new PropertyCardRebuildRes(scanned, written);
+	}
+
+	private Batch refreshAfter(long afterId) {
+		List<Long> ids = repository.findPropertyIdsAfter(afterId, batchSize);
+		if (ids.isEmpty()) {
+			return new Batch(0, 0, afterId);
+		}
+		repository.lockByPropertyIds(ids);
+		return new Batch(ids.size(), repository.refreshByPropertyIds(ids), ids.get(ids.size() - 1));
+	}
+
+	private record Batch(int scanned, int written, long lastId) {
+	}
+}
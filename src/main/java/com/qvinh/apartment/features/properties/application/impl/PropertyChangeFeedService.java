@@ -0,0 +1,105 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.qvinh.apartment.features.properties.application.IPropertyChangeFeedService;
+import com.qvinh.apartment.features.properties.dto.property.PropertyRes;
+import com.qvinh.apartment.features.properties.dto.property_change.PropertyChangeRes;
+import com.qvinh.apartment.features.properties.dto.property_change.PropertyChangeType;
+import com.qvinh.apartment.features.properties.dto.property_change.PropertyChangesRes;
+import com.qvinh.apartment.features.properties.persistence.PropertyCardRepository;
+import com.qvinh.apartment.features.properties.persistence.PropertyChangeRow;
+import com.qvinh.apartment.features.properties.persistence.PropertyRepository;
+import com.qvinh.apartment.features.properties.persistence.PropertyTombstoneRepository;
+import com.qvinh.apartment.shared.datasource.PrimaryReads;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Merges changed cards and tombstones into one feed ordered by their database-clock stamps. Entries
+ * are only served up to the watermark of {@link PropertyCardRepository#findChangeWatermark()}, so a
+ * transaction that commits late can never land behind a token already handed out. The feed always reads
+ * the primary: a replica cannot see the primary's transactions in flight, so its watermark would not hold.
+ */
+@Service
+public class PropertyChangeFeedService implements IPropertyChangeFeedService {
+
+	private static final Comparator<Entry> FEED_ORDER = Comparator
+		.comparing((Entry e) -> e.row().getChangedAt())
+		.thenComparing(e -> e.row().getPropertyId());
+
+	private final PropertyCardRepository cardRepository;
+	private final PropertyTombstoneRepository tombstoneRepository;
+	private final PropertyRepository propertyRepository;
+
+	public PropertyChangeFeedService(PropertyCardRepository cardRepository,
+	                                 PropertyTombstoneRepository tombstoneRepository,
+	                                 PropertyRepository propertyRepository) {
+		this.cardRepository = cardRepository;
+		this.tombstoneRepository = tombstoneRepository;
+		this.propertyRepository = propertyRepository;
+	}
+
+	private record Entry(PropertyChangeRow row, boolean deleted) {
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public PropertyChangesRes changes(String since, int limit) {
+		if (limit < 1 || limit > MAX_LIMIT) {
+			throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+		}
+		return PrimaryReads.call(() -> read(since, limit));
+	}
+
+	private PropertyChangesRes read(String since, int limit) {
+		boolean fromStart = since == null || since.isBlank();
+		PropertyChangeToken from = fromStart ? PropertyChangeToken.ORIGIN : PropertyChangeToken.decode(since);
+		LocalDateTime until = cardRepository.findChangeWatermark();
+
+		// one extra row per source tells whether more changes follow
+		List<Entry> entries = new ArrayList<>();
+		cardRepository.findChangedAfter(from.changedAt(), from.propertyId(), until, limit + 1)
+			.forEach(row -> entries.add(new Entry(row, false)));
+		tombstoneRepository.findDeletedAfter(from.changedAt(), from.propertyId(), until, limit + 1)
+			.forEach(row -> entries.add(new Entry(row, true)));
+		entries.sort(FEED_ORDER);
+		boolean hasMore = entries.size() > limit;
+		List<Entry> page = hasMore ? entries.subList(0, limit) : entries;
+
+		List<Long> cardIds = page.stream().filter(e -> !e.deleted()).map(e -> e.row().getPropertyId()).toList();
+		Map<Long, PropertyRes> payloads = propertyRepository.findAllResByIds(cardIds).stream()
+			.collect(Collectors.toMap(PropertyRes::getPropertyId, Function.identity()));
+
+		List<PropertyChangeRes> changes = new ArrayList<>(page.size());
+		for (Entry entry : page) {
+			PropertyChangeRow row = entry.row();
+			if (entry.deleted()) {
+				changes.add(new PropertyChangeRes(PropertyChangeType.DELETED, row.getPropertyId(), row.getChangedAt(), null));
+				continue;
+			}
+			PropertyRes payload = payloads.get(row.getPropertyId());
+			if (payload == null) {
+				// deleted since the first read; its tombstone comes later in the feed
+				continue;
+			}
+			// both sides are database-clock stamps, so a card first written after the token is a create
+			boolean created = fromStart || from.isBefore(row.getFirstChangedAt(), row.getPropertyId());
+			PropertyChangeType type = created ? PropertyChangeType.CREATED : PropertyChangeType.UPDATED;
+			changes.add(new PropertyChangeRes(type, row.getPropertyId(), row.getChangedAt(), payload));
+		}
+
+		PropertyChangeToken next = from;
+		if (!page.isEmpty()) {
+			PropertyChangeRow last = page.get(page.size() - 1).row();
+			next = new PropertyChangeToken(last.getChangedAt(), last.getPropertyId());
+		}
+		return new PropertyChangesRes(changes, next.encode(), hasMore);
+	}
+}
@@ -0,0 +1,42 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the change feed: the last change returned, ordered by {@code (changedAt, propertyId)}.
+ */
+record PropertyChangeToken(LocalDateTime changedAt, long propertyId) {
+
+	/** Before any change. */
+	static final PropertyChangeToken ORIGIN = new PropertyChangeToken(LocalDateTime.of(1, 1, 1, 0, 0), 0L);
+
+	private static final String SEPARATOR = "\n";
+	private static final String INVALID_TOKEN = "Invalid change token";
+
+	/** Whether this position comes strictly before {@code (changedAt, propertyId)}. */
+	boolean isBefore(LocalDateTime changedAt, long propertyId) {
+		int order = this.changedAt.compareTo(changedAt);
+		return order < 0 || (order == 0 && this.propertyId < propertyId);
+	}
+
+	String encode() {
+		String raw = changedAt + SEPARATOR + propertyId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static PropertyChangeToken decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = raw.split(SEPARATOR, 2);
+			if (parts.length != 2) {
+				throw new IllegalArgumentException(INVALID_TOKEN);
+			}
+			return new PropertyChangeToken(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+		} catch (IllegalArgumentException | DateTimeParseException ex) {
+			throw new IllegalArgumentException(INVALID_TOKEN, ex);
+		}
+	}
+}
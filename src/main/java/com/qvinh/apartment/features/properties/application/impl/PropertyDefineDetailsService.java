@@ -6,10 +6,12 @@ import com.qvinh.apartment.features.properties.dto.property_define_details.Prope
 import com.qvinh.apartment.features.properties.dto.property_define_details.PropertyDefineDetailsRes;
 import com.qvinh.apartment.features.properties.dto.property_define_details.PropertyDefineDetailsUpdateReq;
 import com.qvinh.apartment.features.properties.constants.PropertiesMessages;
+import com.qvinh.apartment.shared.api.ResourceVersion;
 import com.qvinh.apartment.shared.error.ErrorCode;
 import com.qvinh.apartment.shared.exception.ResourceNotFoundException;
 import com.qvinh.apartment.features.properties.mapper.PropertyDefineDetailsMapper;
 import com.qvinh.apartment.features.properties.persistence.PropertyDefineDetailsRepository;
+import com.qvinh.apartment.features.properties.persistence.PropertyDetailsRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,12 +24,15 @@ public class PropertyDefineDetailsService implements IPropertyDefineDetailsServi
 
 	private final PropertyDefineDetailsRepository repository;
 	private final PropertyDefineDetailsMapper mapper;
+	private final PropertyDetailsRepository detailsRepository;
 	private static final String ENTITY_NOT_NULL = "entity must not be null";
 	private static final String UPDATED_NOT_NULL = "updated must not be null";
 
-	public PropertyDefineDetailsService(PropertyDefineDetailsRepository repository, PropertyDefineDetailsMapper mapper) {
+	public PropertyDefineDetailsService(PropertyDefineDetailsRepository repository, PropertyDefineDetailsMapper mapper,
+	                                    PropertyDetailsRepository detailsRepository) {
 		this.repository = repository;
 		this.mapper = mapper;
+		this.detailsRepository = detailsRepository;
 	}
 
 	@Transactional
@@ -45,6 +50,17 @@ public class PropertyDefineDetailsService implements IPropertyDefineDetailsServi
 		return mapper.toRes(entity);
 	}
 
+	@Transactional(readOnly = true)
+	public ResourceVersion version(int id) {
+		return repository.findVersionById(id)
+			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_DEFINE_DETAIL_NOT_FOUND, PropertiesMessages.PROPERTY_DEFINE_DETAIL_NOT_FOUND));
+	}
+
+	@Transactional(readOnly = true)
+	public ResourceVersion listVersion() {
+		return repository.findListVersion();
+	}
+
 	@Transactional(readOnly = true)
 	public Page<PropertyDefineDetailsRes> list(Pageable pageable) {
 		Objects.requireNonNull(pageable, "pageable must not be null");
@@ -55,8 +71,13 @@ public class PropertyDefineDetailsService implements IPropertyDefineDetailsServi
 	public PropertyDefineDetailsRes update(int id, PropertyDefineDetailsUpdateReq req) {
 		PropertyDefineDetails entity = repository.findById(id)
 			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_DEFINE_DETAIL_NOT_FOUND, PropertiesMessages.PROPERTY_DEFINE_DETAIL_NOT_FOUND));
+		boolean wasNumber = Boolean.TRUE.equals(entity.getIsNumber());
 		mapper.updateEntityFromReq(req, entity);
 		PropertyDefineDetails updated = repository.save(Objects.requireNonNull(entity, ENTITY_NOT_NULL));
+		boolean isNumber = Boolean.TRUE.equals(updated.getIsNumber());
+		if (wasNumber != isNumber) {
+			detailsRepository.refreshNumericValues(updated.getDetailId(), isNumber);
+		}
 		return mapper.toRes(updated);
 	}
 
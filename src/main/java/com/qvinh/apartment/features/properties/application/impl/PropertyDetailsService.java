@@ -1,14 +1,17 @@
 package com.qvinh.apartment.features.properties.application.impl;
 
 import com.qvinh.apartment.features.properties.application.IPropertyDetailsService;
+import com.qvinh.apartment.features.properties.application.event.PropertyChangedEvent;
 import com.qvinh.apartment.features.properties.constants.PropertiesMessages;
 import com.qvinh.apartment.features.properties.domain.Property;
 import com.qvinh.apartment.features.properties.domain.PropertyDefineDetails;
 import com.qvinh.apartment.features.properties.domain.PropertyDetails;
-import com.qvinh.apartment.features.properties.domain.PropertyDetailsId;
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsCreateReq;
+import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsItemReq;
+import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsReplaceReq;
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsRes;
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsUpdateReq;
+import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsUpsertReq;
 import com.qvinh.apartment.shared.error.ErrorCode;
 import com.qvinh.apartment.shared.exception.BusinessException;
 import com.qvinh.apartment.shared.exception.ConflictException;
@@ -17,6 +20,7 @@ import com.qvinh.apartment.features.properties.mapper.PropertyDetailsMapper;
 import com.qvinh.apartment.features.properties.persistence.PropertyDefineDetailsRepository;
 import com.qvinh.apartment.features.properties.persistence.PropertyDetailsRepository;
 import com.qvinh.apartment.features.properties.persistence.PropertyRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,102 +35,79 @@ public class PropertyDetailsService implements IPropertyDetailsService {
 	private final PropertyDefineDetailsRepository defineRepository;
 	private final PropertyDetailsRepository repository;
 	private final PropertyDetailsMapper mapper;
+	private final ApplicationEventPublisher eventPublisher;
 
 	public PropertyDetailsService(PropertyRepository propertyRepository,
 	                              PropertyDefineDetailsRepository defineRepository,
 	                              PropertyDetailsRepository repository,
-	                              PropertyDetailsMapper mapper) {
+	                              PropertyDetailsMapper mapper,
+	                              ApplicationEventPublisher eventPublisher) {
 		this.propertyRepository = propertyRepository;
 		this.defineRepository = defineRepository;
 		this.repository = repository;
 		this.mapper = mapper;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Transactional
 	public List<PropertyDetailsRes> create(Long propertyId, PropertyDetailsCreateReq req) {
-		Property property = propertyRepository.findById(Objects.requireNonNull(propertyId))
-			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_NOT_FOUND, PropertiesMessages.PROPERTY_NOT_FOUND));
-
-		List<Integer> reqIds = Objects.requireNonNull(req.getItems()).stream()
-			.map(it -> Objects.requireNonNull(it.getDetailId()))
-			.distinct()
-			.toList();
+		requireProperty(propertyId);
+		List<PropertyDetailsItemReq> items = Objects.requireNonNull(req.getItems());
+		Map<Integer, PropertyDefineDetails> defById = loadDefines(items);
+		Columns columns = Columns.of(items, defById);
 
-		List<PropertyDefineDetails> defines = defineRepository.findAllById(Objects.requireNonNull(reqIds));
-		if (defines.size() != reqIds.size()) {
-			throw new ResourceNotFoundException(ErrorCode.PROPERTY_DEFINE_DETAIL_NOT_FOUND, PropertiesMessages.DEFINE_DETAILS_NOT_FOUND);
-		}
-
-		long existing = repository.countById_PropertyIdAndId_DetailIdIn(propertyId, reqIds);
-		if (existing > 0) {
+		int inserted = repository.insertAll(propertyId, columns.detailIds(), columns.values(), columns.numericValues());
+		if (inserted != items.size()) {
 			throw new ConflictException(ErrorCode.PROPERTY_DETAILS_CONFLICT, PropertiesMessages.PROPERTY_DETAILS_CONFLICT);
 		}
-
-		Map<Integer, PropertyDefineDetails> defById = defines.stream()
-			.collect(Collectors.toMap(PropertyDefineDetails::getDetailId, d -> d));
-
-		List<PropertyDetails> entities = new ArrayList<>();
-		req.getItems().forEach(it -> {
-			PropertyDefineDetails def = defById.get(it.getDetailId());
-			if (Boolean.TRUE.equals(Objects.requireNonNull(def).getIsNumber())) {
-				String v = it.getValue();
-				if (v != null && !v.isBlank()) {
-					try {
-						new BigDecimal(v.trim());
-					} catch (NumberFormatException nfe) {
-						throw new BusinessException("Value must be numeric for detailId " + it.getDetailId());
-					}
-				}
-			}
-			PropertyDetails e = new PropertyDetails();
-			e.setId(new PropertyDetailsId(it.getDetailId(), propertyId));
-			e.setProperty(property);
-			e.setDetail(def);
-			e.setValue(it.getValue());
-			entities.add(e);
-		});
-
-		List<PropertyDetails> saved = repository.saveAll(entities);
-		return saved.stream().map(mapper::toRes).toList();
+		eventPublisher.publishEvent(PropertyChangedEvent.detailsChanged(propertyId));
+		return toRes(propertyId, items, defById);
 	}
 
 	@Transactional
 	public List<PropertyDetailsRes> update(Long propertyId, PropertyDetailsUpdateReq req) {
-		Objects.requireNonNull(propertyRepository.findById(Objects.requireNonNull(propertyId))
-			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_NOT_FOUND, PropertiesMessages.PROPERTY_NOT_FOUND)));
+		requireProperty(propertyId);
+		List<PropertyDetailsItemReq> items = Objects.requireNonNull(req.getItems());
+		Map<Integer, PropertyDefineDetails> defById = new HashMap<>();
+		repository.findById_PropertyIdAndId_DetailIdIn(propertyId, detailIdsOf(items))
+			.forEach(pd -> defById.put(pd.getId().getDetailId(), pd.getDetail()));
+		if (defById.size() != items.size()) {
+			throw new ResourceNotFoundException(ErrorCode.PROPERTY_DETAIL_NOT_FOUND, PropertiesMessages.PROPERTY_DETAIL_NOT_FOUND);
+		}
+		Columns columns = Columns.of(items, defById);
 
-		List<Integer> reqIds = Objects.requireNonNull(req.getItems()).stream()
-			.map(it -> Objects.requireNonNull(it.getDetailId()))
-			.distinct()
-			.toList();
+		repository.upsertAll(propertyId, columns.detailIds(), columns.values(), columns.numericValues());
+		eventPublisher.publishEvent(PropertyChangedEvent.detailsChanged(propertyId));
+		return toRes(propertyId, items, defById);
+	}
 
-		// Verify all target details exist
-		Map<Integer, PropertyDetails> existingMap = new HashMap<>();
-		for (Integer detailId : reqIds) {
-			PropertyDetails pd = repository.findById_DetailIdAndId_PropertyId(detailId, propertyId)
-				.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_DETAIL_NOT_FOUND, PropertiesMessages.PROPERTY_DETAIL_NOT_FOUND));
-			existingMap.put(detailId, pd);
-		}
+	@Transactional
+	public List<PropertyDetailsRes> upsert(Long propertyId, PropertyDetailsUpsertReq req) {
+		return write(propertyId, Objects.requireNonNull(req.getItems()), false);
+	}
 
-		// Apply updates
-		req.getItems().forEach(it -> {
-			PropertyDetails pd = existingMap.get(it.getDetailId());
-			if (Boolean.TRUE.equals(Objects.requireNonNull(pd.getDetail()).getIsNumber())) {
-				String v = it.getValue();
-				if (v != null && !v.isBlank()) {
-					try {
-						new BigDecimal(v.trim());
-					} catch (NumberFormatException nfe) {
-						throw new BusinessException("Value must be numeric for detailId " + it.getDetailId());
-					}
-				}
-			}
-			pd.setValue(it.getValue());
-		});
+	@Transactional
+	public List<PropertyDetailsRes> replace(Long propertyId, PropertyDetailsReplaceReq req) {
+		return write(propertyId, Objects.requireNonNull(req.getItems()), true);
+	}
 
-		List<PropertyDetails> toUpdate = List.copyOf(existingMap.values());
-		List<PropertyDetails> updated = repository.saveAll(Objects.requireNonNull(toUpdate));
-		return updated.stream().map(mapper::toRes).toList();
+	/**
+	 * A constant number of statements for any item count: values are validated in memory, then written with
+	 * one upsert (and, when replacing, one delete of the details not listed).
+	 */
+	private List<PropertyDetailsRes> write(Long propertyId, List<PropertyDetailsItemReq> items, boolean replace) {
+		requireProperty(propertyId);
+		Map<Integer, PropertyDefineDetails> defById = loadDefines(items);
+		Columns columns = Columns.of(items, defById);
+
+		if (replace) {
+			repository.deleteAllExcept(propertyId, columns.detailIds());
+		}
+		if (!items.isEmpty()) {
+			repository.upsertAll(propertyId, columns.detailIds(), columns.values(), columns.numericValues());
+		}
+		eventPublisher.publishEvent(PropertyChangedEvent.detailsChanged(propertyId));
+		return toRes(propertyId, items, defById);
 	}
 
 	@Transactional(readOnly = true)
@@ -143,12 +124,75 @@ public class PropertyDetailsService implements IPropertyDetailsService {
 			Objects.requireNonNull(detailId), Objects.requireNonNull(propertyId)
 		).orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_DETAIL_NOT_FOUND, PropertiesMessages.PROPERTY_DETAIL_NOT_FOUND));
 		repository.delete(Objects.requireNonNull(entity));
+		eventPublisher.publishEvent(PropertyChangedEvent.detailsChanged(propertyId));
 	}
 
 	@Transactional
 	public void deleteAll(Long propertyId) {
-		Objects.requireNonNull(propertyRepository.findById(Objects.requireNonNull(propertyId))
-			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_NOT_FOUND, PropertiesMessages.PROPERTY_NOT_FOUND)));
+		requireProperty(propertyId);
 		repository.deleteById_PropertyId(propertyId);
+		eventPublisher.publishEvent(PropertyChangedEvent.detailsChanged(propertyId));
+	}
+
+	private void requireProperty(Long propertyId) {
+		if (!propertyRepository.existsById(Objects.requireNonNull(propertyId))) {
+			throw new ResourceNotFoundException(ErrorCode.PROPERTY_NOT_FOUND, PropertiesMessages.PROPERTY_NOT_FOUND);
+		}
+	}
+
+	private Map<Integer, PropertyDefineDetails> loadDefines(List<PropertyDetailsItemReq> items) {
+		List<Integer> reqIds = detailIdsOf(items);
+		if (reqIds.isEmpty()) {
+			return Map.of();
+		}
+		List<PropertyDefineDetails> defines = defineRepository.findAllById(reqIds);
+		if (defines.size() != reqIds.size()) {
+			throw new ResourceNotFoundException(ErrorCode.PROPERTY_DEFINE_DETAIL_NOT_FOUND, PropertiesMessages.DEFINE_DETAILS_NOT_FOUND);
+		}
+		return defines.stream().collect(Collectors.toMap(PropertyDefineDetails::getDetailId, d -> d));
+	}
+
+	// A detail listed twice would make the set-based write ambiguous
+	private static List<Integer> detailIdsOf(List<PropertyDetailsItemReq> items) {
+		Set<Integer> ids = new LinkedHashSet<>();
+		items.forEach(it -> {
+			if (!ids.add(Objects.requireNonNull(it.getDetailId()))) {
+				throw new BusinessException("Duplicate detailId " + it.getDetailId());
+			}
+		});
+		return List.copyOf(ids);
+	}
+
+	private List<PropertyDetailsRes> toRes(Long propertyId, List<PropertyDetailsItemReq> items,
+	                                       Map<Integer, PropertyDefineDetails> defById) {
+		return items.stream()
+			.map(it -> mapper.toRes(propertyId, defById.get(it.getDetailId()), it.getValue()))
+			.toList();
+	}
+
+	/** Items as parallel arrays, the shape the set-based statements take. */
+	private record Columns(Integer[] detailIds, String[] values, BigDecimal[] numericValues) {
+
+		static Columns of(List<PropertyDetailsItemReq> items, Map<Integer, PropertyDefineDetails> defById) {
+			Columns columns = new Columns(new Integer[items.size()], new String[items.size()], new BigDecimal[items.size()]);
+			for (int i = 0; i < items.size(); i++) {
+				PropertyDetailsItemReq it = items.get(i);
+				columns.detailIds[i] = it.getDetailId();
+				columns.values[i] = it.getValue();
+				columns.numericValues[i] = toNumericValue(Objects.requireNonNull(defById.get(it.getDetailId())), it.getDetailId(), it.getValue());
+			}
+			return columns;
+		}
+	}
+
+	private static BigDecimal toNumericValue(PropertyDefineDetails def, Integer detailId, String value) {
+		if (!Boolean.TRUE.equals(def.getIsNumber())) {
+			return null;
+		}
+		try {
+			return PropertyDetails.parseNumber(value);
+		} catch (NumberFormatException nfe) {
+			throw new BusinessException("Value must be numeric for detailId " + detailId);
+		}
 	}
 }
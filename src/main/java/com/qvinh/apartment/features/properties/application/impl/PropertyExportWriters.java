@@ -0,0 +1,47 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.qvinh.apartment.features.properties.dto.property.PropertyDataFormat;
+import com.qvinh.apartment.features.properties.dto.property.PropertyRes;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Row-by-row writers over a streaming generator. Nothing is flushed per row (the response buffer decides)
+ * and the target stream is left open for its owner.
+ */
+@Component
+class PropertyExportWriters {
+
+	private final ObjectWriter ndjson;
+	private final ObjectWriter csv;
+
+	PropertyExportWriters(ObjectMapper objectMapper) {
+		this.ndjson = objectMapper.writerFor(PropertyRes.class)
+			.withRootValueSeparator("\n")
+			.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+			.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		CsvMapper csvMapper = CsvMapper.builder()
+			.addModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+		this.csv = csvMapper.writer(csvMapper.schemaFor(PropertyRes.class).withHeader())
+			.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+			.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	SequenceWriter open(PropertyDataFormat format, OutputStream out) throws IOException {
+		return switch (format) {
+			case NDJSON -> ndjson.writeValues(out);
+			case CSV -> csv.writeValues(out);
+		};
+	}
+}
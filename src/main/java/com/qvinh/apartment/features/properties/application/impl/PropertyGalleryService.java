@@ -1,24 +1,38 @@
 package com.qvinh.apartment.features.properties.application.impl;
 
 import com.qvinh.apartment.features.properties.application.IPropertyGalleryService;
+import com.qvinh.apartment.features.properties.application.event.PropertyChangedEvent;
+import com.qvinh.apartment.features.files.application.event.StoredFileDeletingEvent;
 import com.qvinh.apartment.features.files.domain.StoredFileMeta;
 import com.qvinh.apartment.features.files.persistence.StoredFileMetaRepository;
 import com.qvinh.apartment.features.properties.domain.Property;
 import com.qvinh.apartment.features.properties.domain.PropertyGallery;
 import com.qvinh.apartment.features.properties.domain.PropertyGalleryId;
+import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryBatchItemRes;
+import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryBatchStatus;
 import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryRes;
 import com.qvinh.apartment.shared.error.ErrorCode;
 import com.qvinh.apartment.shared.exception.ConflictException;
 import com.qvinh.apartment.shared.exception.ResourceNotFoundException;
 import com.qvinh.apartment.features.properties.mapper.PropertyGalleryMapper;
+import com.qvinh.apartment.features.properties.persistence.PropertyGalleryPositionRow;
 import com.qvinh.apartment.features.properties.persistence.PropertyGalleryRepository;
 import com.qvinh.apartment.features.properties.persistence.PropertyRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class PropertyGalleryService implements IPropertyGalleryService {
@@ -27,15 +41,18 @@ public class PropertyGalleryService implements IPropertyGalleryService {
 	private final StoredFileMetaRepository storedFileMetaRepository;
 	private final PropertyGalleryRepository galleryRepository;
 	private final PropertyGalleryMapper mapper;
+	private final ApplicationEventPublisher eventPublisher;
 
 	public PropertyGalleryService(PropertyRepository propertyRepository,
 	                              StoredFileMetaRepository storedFileMetaRepository,
 	                              PropertyGalleryRepository galleryRepository,
-	                              PropertyGalleryMapper mapper) {
+	                              PropertyGalleryMapper mapper,
+	                              ApplicationEventPublisher eventPublisher) {
 		this.propertyRepository = propertyRepository;
 		this.storedFileMetaRepository = storedFileMetaRepository;
 		this.galleryRepository = galleryRepository;
 		this.mapper = mapper;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Transactional
@@ -54,19 +71,79 @@ public class PropertyGalleryService implements IPropertyGalleryService {
 		entity.setId(id);
 		entity.setProperty(property);
 		entity.setFile(file);
+		Integer last = galleryRepository.findMaxPosition(propertyId);
+		entity.setPosition(last == null ? 0 : last + 1);
 		LocalDateTime now = LocalDateTime.now();
 		entity.setCreatedAt(now);
 		entity.setUpdatedAt(now);
 
 		PropertyGallery saved = galleryRepository.save(entity);
+		eventPublisher.publishEvent(PropertyChangedEvent.galleryChanged(propertyId));
 		return mapper.toRes(saved);
 	}
 
+	@Transactional
+	public List<PropertyGalleryBatchItemRes> addFilesIntoGallery(Long propertyId, List<Long> fileIds) {
+		List<Long> distinct = distinctFileIds(fileIds);
+		if (!propertyRepository.existsById(Objects.requireNonNull(propertyId))) {
+			throw new ResourceNotFoundException(ErrorCode.PROPERTY_NOT_FOUND, "Property not found");
+		}
+		Set<Long> existing = new HashSet<>(storedFileMetaRepository.findExistingIds(distinct));
+		Set<Long> inGallery = new HashSet<>(galleryRepository.findFileIdsIn(propertyId, distinct));
+		List<Long> toAdd = distinct.stream().filter(id -> existing.contains(id) && !inGallery.contains(id)).toList();
+
+		// a file is ADDED only if this insert wrote it; one a concurrent request got in first is already there
+		Map<Long, Integer> added = new HashMap<>();
+		if (!toAdd.isEmpty()) {
+			Integer last = galleryRepository.findMaxPosition(propertyId);
+			int firstPosition = last == null ? 0 : last + 1;
+			Long[] ids = toAdd.toArray(Long[]::new);
+			for (PropertyGalleryPositionRow row : galleryRepository.insertAll(propertyId, ids, firstPosition)) {
+				added.put(row.getFileId(), row.getPosition());
+			}
+			if (!added.isEmpty()) {
+				eventPublisher.publishEvent(PropertyChangedEvent.galleryChanged(propertyId));
+			}
+		}
+
+		List<PropertyGalleryBatchItemRes> results = new ArrayList<>(distinct.size());
+		for (Long fileId : distinct) {
+			if (!existing.contains(fileId)) {
+				results.add(new PropertyGalleryBatchItemRes(fileId, PropertyGalleryBatchStatus.FILE_NOT_FOUND, null));
+			} else if (added.containsKey(fileId)) {
+				results.add(new PropertyGalleryBatchItemRes(fileId, PropertyGalleryBatchStatus.ADDED, added.get(fileId)));
+			} else {
+				results.add(new PropertyGalleryBatchItemRes(fileId, PropertyGalleryBatchStatus.ALREADY_IN_GALLERY, null));
+			}
+		}
+		return results;
+	}
+
 	@Transactional(readOnly = true)
 	public List<PropertyGalleryRes> getFileByPropertiesId(Long propertyId) {
 		Objects.requireNonNull(propertyRepository.findById(Objects.requireNonNull(propertyId))
 			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_NOT_FOUND, "Property not found")));
-		return galleryRepository.findByProperty_PropertyId(propertyId)
+		return galleryRepository.findByProperty_PropertyIdOrderByPositionAscId_FileIdAsc(propertyId)
+			.stream()
+			.map(mapper::toRes)
+			.toList();
+	}
+
+	@Transactional
+	public List<PropertyGalleryRes> reorderGallery(Long propertyId, List<Long> fileIds) {
+		propertyRepository.findById(Objects.requireNonNull(propertyId))
+			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_NOT_FOUND, "Property not found"));
+		Set<Long> current = galleryRepository.findByProperty_PropertyId(propertyId).stream()
+			.map(g -> g.getId().getFileId())
+			.collect(Collectors.toSet());
+		if (fileIds.size() != current.size() || !current.equals(new HashSet<>(fileIds))) {
+			throw new IllegalArgumentException("fileIds must list every gallery file exactly once");
+		}
+
+		if (galleryRepository.reorder(propertyId, fileIds.toArray(Long[]::new)) > 0) {
+			eventPublisher.publishEvent(PropertyChangedEvent.galleryChanged(propertyId));
+		}
+		return galleryRepository.findByProperty_PropertyIdOrderByPositionAscId_FileIdAsc(propertyId)
 			.stream()
 			.map(mapper::toRes)
 			.toList();
@@ -81,5 +158,51 @@ public class PropertyGalleryService implements IPropertyGalleryService {
 		PropertyGallery entity = galleryRepository.findById(id)
 			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_GALLERY_NOT_FOUND, "Property gallery not found"));
 		galleryRepository.delete(Objects.requireNonNull(entity));
+		eventPublisher.publishEvent(PropertyChangedEvent.galleryChanged(propertyId));
+	}
+
+	@Transactional
+	public List<PropertyGalleryBatchItemRes> deleteFilesFromGallery(Long propertyId, List<Long> fileIds) {
+		List<Long> distinct = distinctFileIds(fileIds);
+		if (!propertyRepository.existsById(Objects.requireNonNull(propertyId))) {
+			throw new ResourceNotFoundException(ErrorCode.PROPERTY_NOT_FOUND, "Property not found");
+		}
+		Set<Long> inGallery = new HashSet<>(galleryRepository.findFileIdsIn(propertyId, distinct));
+		if (!inGallery.isEmpty()) {
+			galleryRepository.deleteFiles(propertyId, inGallery.toArray(Long[]::new));
+			eventPublisher.publishEvent(PropertyChangedEvent.galleryChanged(propertyId));
+		}
+		return distinct.stream()
+			.map(fileId -> new PropertyGalleryBatchItemRes(fileId, inGallery.contains(fileId)
+				? PropertyGalleryBatchStatus.REMOVED
+				: PropertyGalleryBatchStatus.NOT_IN_GALLERY, null))
+			.toList();
+	}
+
+	/**
+	 * Takes a file that is about to be deleted out of every gallery itself, instead of leaving it to the
+	 * cascading foreign key, so the affected properties publish a gallery change: their cards, caches and
+	 * change feed entries then drop the image.
+	 */
+	@EventListener
+	public void onStoredFileDeleting(StoredFileDeletingEvent event) {
+		List<Long> propertyIds = galleryRepository.findPropertyIdsByFileId(event.fileId());
+		if (propertyIds.isEmpty()) {
+			return;
+		}
+		galleryRepository.deleteByFileId(event.fileId());
+		eventPublisher.publishEvent(PropertyChangedEvent.galleryChanged(propertyIds));
+	}
+
+	private static List<Long> distinctFileIds(List<Long> fileIds) {
+		Objects.requireNonNull(fileIds, "fileIds must not be null");
+		if (fileIds.stream().anyMatch(Objects::isNull)) {
+			throw new IllegalArgumentException("fileIds must not contain null");
+		}
+		List<Long> distinct = List.copyOf(new LinkedHashSet<>(fileIds));
+		if (distinct.isEmpty() || distinct.size() > MAX_BATCH_FILES) {
+			throw new IllegalArgumentException("fileIds must contain between 1 and " + MAX_BATCH_FILES + " distinct ids");
+		}
+		return distinct;
 	}
 }
@@ -0,0 +1,120 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.qvinh.apartment.features.properties.dto.property.PropertyDataFormat;
+import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsItemReq;
+import com.qvinh.apartment.features.properties.dto.property_import.PropertyImportRowReq;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Parses an import body one row at a time, so a row that does not parse is reported on its own instead of
+ * failing the whole body.
+ */
+@Component
+class PropertyImportReader {
+
+	private static final String DETAIL_COLUMN_PREFIX = "detail.";
+
+	/** Either {@code req} or {@code error} is set. */
+	record Row(long number, PropertyImportRowReq req, String error) {
+	}
+
+	private final ObjectMapper objectMapper;
+	private final ObjectReader csvReader;
+
+	PropertyImportReader(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+		this.csvReader = new CsvMapper().readerFor(Map.class).with(CsvSchema.emptySchema().withHeader());
+	}
+
+	void read(PropertyDataFormat format, InputStream in, Consumer<Row> action) throws IOException {
+		switch (format) {
+			case NDJSON -> readNdjson(in, action);
+			case CSV -> readCsv(in, action);
+		}
+	}
+
+	private void readNdjson(InputStream in, Consumer<Row> action) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		long number = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			number++;
+			if (line.isBlank()) {
+				continue;
+			}
+			try {
+				action.accept(new Row(number, objectMapper.readValue(line, PropertyImportRowReq.class), null));
+			} catch (JsonProcessingException ex) {
+				action.accept(new Row(number, null, "Invalid JSON: " + ex.getOriginalMessage()));
+			}
+		}
+	}
+
+	private void readCsv(InputStream in, Consumer<Row> action) throws IOException {
+		long number = 0;
+		try (MappingIterator<Map<String, String>> records = csvReader.readValues(in)) {
+			while (true) {
+				Map<String, String> record;
+				try {
+					if (!records.hasNextValue()) {
+						return;
+					}
+					record = records.nextValue();
+				} catch (IOException | RuntimeException ex) {
+					// the parser cannot resynchronize after a malformed record; the rest of the body is dropped
+					action.accept(new Row(number + 1, null, "Invalid CSV, import stopped: " + ex.getMessage()));
+					return;
+				}
+				number++;
+				action.accept(toRow(number, record));
+			}
+		}
+	}
+
+	private Row toRow(long number, Map<String, String> record) {
+		Map<String, String> fields = new HashMap<>();
+		List<PropertyDetailsItemReq> details = new ArrayList<>();
+		for (Map.Entry<String, String> column : record.entrySet()) {
+			String value = column.getValue() == null || column.getValue().isBlank() ? null : column.getValue();
+			if (!column.getKey().startsWith(DETAIL_COLUMN_PREFIX)) {
+				fields.put(column.getKey(), value);
+				continue;
+			}
+			if (value == null) {
+				continue;
+			}
+			PropertyDetailsItemReq item = new PropertyDetailsItemReq();
+			try {
+				item.setDetailId(Integer.valueOf(column.getKey().substring(DETAIL_COLUMN_PREFIX.length())));
+			} catch (NumberFormatException ex) {
+				return new Row(number, null, "Invalid detail column: " + column.getKey());
+			}
+			item.setValue(value);
+			details.add(item);
+		}
+		try {
+			PropertyImportRowReq req = objectMapper.convertValue(fields, PropertyImportRowReq.class);
+			req.setDetails(details);
+			return new Row(number, req, null);
+		} catch (IllegalArgumentException ex) {
+			return new Row(number, null, "Invalid value: " + ex.getMessage());
+		}
+	}
+}
@@ -0,0 +1,256 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.qvinh.apartment.features.accounts.domain.PropertySaleInfo;
+import com.qvinh.apartment.features.accounts.persistence.PropertySaleInfoRepository;
+import com.qvinh.apartment.features.properties.application.IPropertyImportService;
+import com.qvinh.apartment.features.properties.application.event.PropertyChangedEvent;
+import com.qvinh.apartment.features.properties.domain.PropertyArea;
+import com.qvinh.apartment.features.properties.domain.PropertyDefineDetails;
+import com.qvinh.apartment.features.properties.domain.PropertyDetails;
+import com.qvinh.apartment.features.properties.domain.PropertyType;
+import com.qvinh.apartment.features.properties.dto.property.PropertyDataFormat;
+import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsItemReq;
+import com.qvinh.apartment.features.properties.dto.property_import.PropertyImportErrorRes;
+import com.qvinh.apartment.features.properties.dto.property_import.PropertyImportRes;
+import com.qvinh.apartment.features.properties.dto.property_import.PropertyImportRowReq;
+import com.qvinh.apartment.features.properties.persistence.PropertyAreaRepository;
+import com.qvinh.apartment.features.properties.persistence.PropertyDefineDetailsRepository;
+import com.qvinh.apartment.features.properties.persistence.PropertyTypeRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Rows are imported in batches, each in its own transaction: references are resolved with one query per
+ * kind, ids come from the property sequence in one round trip, and rows are written with JDBC batches.
+ * A batch the database rejects is rolled back and reported row by row; earlier batches stay imported.
+ */
+@Service
+public class PropertyImportService implements IPropertyImportService {
+
+	private static final int MAX_REPORTED_ERRORS = 1000;
+
+	private static final String NEXT_IDS =
+		"SELECT nextval(pg_get_serial_sequence('property', 'property_id')) FROM generate_series(1, ?)";
+	private static final String INSERT_PROPERTY = "INSERT INTO property (property_id, title, price, description,"
+		+ " type_id, sale_id, area_id, is_public, is_for_rent, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_DETAIL = "INSERT INTO property_details (detail_id, property_id, value,"
+		+ " numeric_value, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+	private final PropertyImportReader reader;
+	private final Validator validator;
+	private final PropertyTypeRepository typeRepository;
+	private final PropertyAreaRepository areaRepository;
+	private final PropertySaleInfoRepository saleInfoRepository;
+	private final PropertyDefineDetailsRepository defineRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate batchTransaction;
+	private final int batchSize;
+
+	public PropertyImportService(PropertyImportReader reader,
+	                             Validator validator,
+	                             PropertyTypeRepository typeRepository,
+	                             PropertyAreaRepository areaRepository,
+	                             PropertySaleInfoRepository saleInfoRepository,
+	                             PropertyDefineDetailsRepository defineRepository,
+	                             JdbcTemplate jdbcTemplate,
+	                             ApplicationEventPublisher eventPublisher,
+	                             PlatformTransactionManager transactionManager,
+	                             @Value("${app.properties.import.batch-size:1000}") int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("app.properties.import.batch-size must be positive");
+		}
+		this.reader = reader;
+		this.validator = validator;
+		this.typeRepository = typeRepository;
+		this.areaRepository = areaRepository;
+		this.saleInfoRepository = saleInfoRepository;
+		this.defineRepository = defineRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.eventPublisher = eventPublisher;
+		this.batchTransaction = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public PropertyImportRes importProperties(PropertyDataFormat format, InputStream in) throws IOException {
+		Objects.requireNonNull(format, "format must not be null");
+		Objects.requireNonNull(in, "in must not be null");
+		PropertyImportRes res = new PropertyImportRes();
+		List<PropertyImportReader.Row> batch = new ArrayList<>(batchSize);
+		reader.read(format, in, row -> {
+			if (row.error() != null) {
+				reject(res, List.of(new PropertyImportErrorRes(row.number(), row.error())));
+				return;
+			}
+			batch.add(row);
+			if (batch.size() == batchSize) {
+				importBatch(batch, res);
+				batch.clear();
+			}
+		});
+		if (!batch.isEmpty()) {
+			importBatch(batch, res);
+		}
+		return res;
+	}
+
+	private void importBatch(List<PropertyImportReader.Row> rows, PropertyImportRes res) {
+		List<PropertyImportErrorRes> rejected = new ArrayList<>();
+		List<PropertyImportReader.Row> accepted = new ArrayList<>();
+		try {
+			batchTransaction.executeWithoutResult(status -> insertBatch(rows, accepted, rejected));
+			res.setImported(res.getImported() + accepted.size());
+		} catch (DataAccessException ex) {
+			String message = "Not imported, batch rejected by the database: "
+				+ NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+			accepted.forEach(row -> rejected.add(new PropertyImportErrorRes(row.number(), message)));
+		}
+		rejected.sort(Comparator.comparingLong(PropertyImportErrorRes::getRow));
+		reject(res, rejected);
+	}
+
+	private void insertBatch(List<PropertyImportReader.Row> rows, List<PropertyImportReader.Row> accepted,
+	                         List<PropertyImportErrorRes> rejected) {
+		References references = loadReferences(rows);
+		for (PropertyImportReader.Row row : rows) {
+			String error = validate(row.req(), references);
+			if (error == null) {
+				accepted.add(row);
+			} else {
+				rejected.add(new PropertyImportErrorRes(row.number(), error));
+			}
+		}
+		if (accepted.isEmpty()) {
+			return;
+		}
+
+		List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS, Long.class, accepted.size());
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		List<Object[]> properties = new ArrayList<>(accepted.size());
+		List<Object[]> details = new ArrayList<>();
+		for (int i = 0; i < accepted.size(); i++) {
+			PropertyImportRowReq req = accepted.get(i).req();
+			Long id = ids.get(i);
+			properties.add(new Object[] {id, req.getTitle(), req.getPrice(), req.getDescription(), req.getTypeId(),
+				req.getSaleUserId(), req.getAreaId(), req.getIsPublic(), req.getIsForRent(), now, now});
+			for (PropertyDetailsItemReq item : detailsOf(req)) {
+				BigDecimal numericValue = references.numericDetailIds().contains(item.getDetailId())
+					? PropertyDetails.parseNumber(item.getValue())
+					: null;
+				details.add(new Object[] {item.getDetailId(), id, item.getValue(), numericValue, now, now});
+			}
+		}
+		jdbcTemplate.batchUpdate(INSERT_PROPERTY, properties);
+		if (!details.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_DETAIL, details);
+		}
+		eventPublisher.publishEvent(new PropertyChangedEvent(ids, PropertyChangedEvent.Change.UPSERTED));
+	}
+
+	private record References(Set<Integer> typeIds, Set<Integer> areaIds, Set<Long> saleUserIds,
+	                          Set<Integer> detailIds, Set<Integer> numericDetailIds) {
+	}
+
+	private References loadReferences(List<PropertyImportReader.Row> rows) {
+		Set<Integer> typeIds = new HashSet<>();
+		Set<Integer> areaIds = new HashSet<>();
+		Set<Long> saleUserIds = new HashSet<>();
+		Set<Integer> detailIds = new HashSet<>();
+		for (PropertyImportReader.Row row : rows) {
+			PropertyImportRowReq req = row.req();
+			addIfPresent(typeIds, req.getTypeId());
+			addIfPresent(areaIds, req.getAreaId());
+			addIfPresent(saleUserIds, req.getSaleUserId());
+			detailsOf(req).forEach(item -> addIfPresent(detailIds, item.getDetailId()));
+		}
+		Map<Integer, Boolean> defines = defineRepository.findAllById(detailIds).stream()
+			.collect(Collectors.toMap(PropertyDefineDetails::getDetailId, d -> Boolean.TRUE.equals(d.getIsNumber())));
+		return new References(
+			typeRepository.findAllById(typeIds).stream().map(PropertyType::getTypeId).collect(Collectors.toSet()),
+			areaRepository.findAllById(areaIds).stream().map(PropertyArea::getAreaId).collect(Collectors.toSet()),
+			saleInfoRepository.findAllById(saleUserIds).stream().map(PropertySaleInfo::getUserId).collect(Collectors.toSet()),
+			defines.keySet(),
+			defines.entrySet().stream().filter(Map.Entry::getValue).map(Map.Entry::getKey).collect(Collectors.toSet()));
+	}
+
+	/**
+	 * The first problem of the row, or null. Checks the same constraints as creating a property and its
+	 * details one by one.
+	 */
+	private String validate(PropertyImportRowReq req, References references) {
+		Set<ConstraintViolation<PropertyImportRowReq>> violations = validator.validate(req);
+		if (!violations.isEmpty()) {
+			return violations.stream()
+				.map(v -> v.getPropertyPath() + " " + v.getMessage())
+				.sorted()
+				.collect(Collectors.joining("; "));
+		}
+		if (!references.typeIds().contains(req.getTypeId())) {
+			return "Property type " + req.getTypeId() + " not found";
+		}
+		if (!references.areaIds().contains(req.getAreaId())) {
+			return "Property area " + req.getAreaId() + " not found";
+		}
+		if (!references.saleUserIds().contains(req.getSaleUserId())) {
+			return "Sale info of user " + req.getSaleUserId() + " not found";
+		}
+		Set<Integer> seen = new HashSet<>();
+		for (PropertyDetailsItemReq item : detailsOf(req)) {
+			if (!references.detailIds().contains(item.getDetailId())) {
+				return "Detail definition " + item.getDetailId() + " not found";
+			}
+			if (!seen.add(item.getDetailId())) {
+				return "Detail " + item.getDetailId() + " is given more than once";
+			}
+			if (references.numericDetailIds().contains(item.getDetailId())) {
+				try {
+					PropertyDetails.parseNumber(item.getValue());
+				} catch (NumberFormatException ex) {
+					return "Value must be numeric for detailId " + item.getDetailId();
+				}
+			}
+		}
+		return null;
+	}
+
+	private static List<PropertyDetailsItemReq> detailsOf(PropertyImportRowReq req) {
+		return req.getDetails() == null ? List.of() : req.getDetails();
+	}
+
+	private static <T> void addIfPresent(Set<T> ids, T id) {
+		if (id != null) {
+			ids.add(id);
+		}
+	}
+
+	private static void reject(PropertyImportRes res, List<PropertyImportErrorRes> errors) {
+		res.setFailed(res.getFailed() + errors.size());
+		int room = MAX_REPORTED_ERRORS - res.getErrors().size();
+		if (room > 0) {
+			res.getErrors().addAll(errors.subList(0, Math.min(room, errors.size())));
+		}
+	}
+}
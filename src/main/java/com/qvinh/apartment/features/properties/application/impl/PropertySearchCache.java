@@ -0,0 +1,113 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qvinh.apartment.features.accounts.application.event.SaleInfoChangedEvent;
+import com.qvinh.apartment.features.properties.application.event.PropertyChangedEvent;
+import com.qvinh.apartment.features.properties.application.event.PropertyReferenceChangedEvent;
+import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+import com.qvinh.apartment.shared.api.TotalKind;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Id pages of offset searches, keyed by the normalized request, page and sort. Rows are hydrated fresh on
+ * every hit, so only membership, order and totals are cached. Any committed property write drops every
+ * entry; entries also expire after the staleness bound, which covers writes made by other instances.
+ */
+@Component
+class PropertySearchCache {
+
+	static final String CACHE_NAME = "properties.search";
+
+	record Key(PropertySearchKey filter, int page, int size, String sort, TotalKind count) {
+	}
+
+	/** {@code total} is null when the page was read without a count. */
+	record Entry(List<Long> ids, Long total, boolean hasNext) {
+	}
+
+	private final boolean enabled;
+	private final Cache<Key, Entry> cache;
+	// bumped by every invalidation so a page read before a write is not stored after it
+	private final AtomicLong generation = new AtomicLong();
+
+	PropertySearchCache(@Value("${app.properties.search.cache.enabled:true}") boolean enabled,
+	                    @Value("${app.properties.search.cache.max-entries:1000}") long maxEntries,
+	                    @Value("${app.properties.search.cache.max-staleness:60s}") Duration maxStaleness,
+	                    ObjectProvider<MeterRegistry> meterRegistry) {
+		this.enabled = enabled;
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(maxEntries)
+			.expireAfterWrite(maxStaleness)
+			.recordStats()
+			.build();
+		meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+	}
+
+	/**
+	 * Serves the page from cached ids through {@code byIds}, or runs {@code loader} and remembers its ids.
+	 * Only read-only transactions use the cache: a read-write one may see its own uncommitted writes.
+	 */
+	<T> Slice<T> get(PropertySearchReq req, Pageable pageable, TotalKind count, Supplier<Slice<T>> loader,
+	                 Function<T, Long> idOf, Function<List<Long>, List<T>> byIds) {
+		if (!enabled || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return loader.get();
+		}
+		Key key = new Key(PropertySearchKey.of(req), pageable.getPageNumber(), pageable.getPageSize(),
+			pageable.getSort().toString(), count);
+		Entry cached = cache.getIfPresent(key);
+		if (cached != null) {
+			List<T> content = byIds.apply(cached.ids());
+			return cached.total() == null
+				? new SliceImpl<>(content, pageable, cached.hasNext())
+				: new PageImpl<>(content, pageable, cached.total());
+		}
+
+		long readAt = generation.get();
+		Slice<T> loaded = loader.get();
+		Long total = loaded instanceof Page<?> page ? Long.valueOf(page.getTotalElements()) : null;
+		cache.put(key, new Entry(loaded.getContent().stream().map(idOf).toList(), total, loaded.hasNext()));
+		if (generation.get() != readAt) {
+			cache.invalidate(key);
+		}
+		return loaded;
+	}
+
+	void invalidateAll() {
+		generation.incrementAndGet();
+		cache.invalidateAll();
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onPropertyChanged(PropertyChangedEvent event) {
+		invalidateAll();
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onReferenceChanged(PropertyReferenceChangedEvent event) {
+		invalidateAll();
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onSaleInfoChanged(SaleInfoChangedEvent event) {
+		invalidateAll();
+	}
+}
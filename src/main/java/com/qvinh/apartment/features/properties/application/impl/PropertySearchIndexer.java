@@ -0,0 +1,42 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.qvinh.apartment.features.accounts.application.event.SaleInfoChangedEvent;
+import com.qvinh.apartment.features.properties.application.event.PropertyChangedEvent;
+import com.qvinh.apartment.features.properties.application.event.PropertyReferenceChangedEvent;
+import com.qvinh.apartment.features.properties.persistence.PropertySearchDocumentRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@code property_search_document} in step with its sources. Runs synchronously in the publisher's
+ * transaction so a search right after a write already sees it. Deletes cascade in the database.
+ */
+@Component
+public class PropertySearchIndexer {
+
+	private final PropertySearchDocumentRepository repository;
+
+	public PropertySearchIndexer(PropertySearchDocumentRepository repository) {
+		this.repository = repository;
+	}
+
+	@EventListener
+	public void onPropertyChanged(PropertyChangedEvent event) {
+		if (event.change() == PropertyChangedEvent.Change.UPSERTED && !event.propertyIds().isEmpty()) {
+			repository.refreshByPropertyIds(event.propertyIds());
+		}
+	}
+
+	@EventListener
+	public void onReferenceChanged(PropertyReferenceChangedEvent event) {
+		switch (event.reference()) {
+			case TYPE -> repository.refreshByTypeId(event.id());
+			case AREA -> repository.refreshByAreaId(event.id());
+		}
+	}
+
+	@EventListener
+	public void onSaleInfoChanged(SaleInfoChangedEvent event) {
+		repository.refreshBySaleUserId(event.userId());
+	}
+}
@@ -0,0 +1,98 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.qvinh.apartment.features.properties.dto.property.PropertyDetailFilterReq;
+import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Normalized form of a {@link PropertySearchReq}: requests that select the same rows compare equal
+ * (text trimmed and lower-cased, id lists sorted and de-duplicated, numbers without trailing zeros).
+ */
+record PropertySearchKey(
+	String q,
+	String title,
+	String description,
+	List<Integer> typeIds,
+	List<Integer> areaIds,
+	List<Long> saleUserIds,
+	Boolean isPublic,
+	Boolean isForRent,
+	BigDecimal minPrice,
+	BigDecimal maxPrice,
+	LocalDateTime createdFrom,
+	LocalDateTime createdTo,
+	LocalDateTime updatedFrom,
+	LocalDateTime updatedTo,
+	List<Detail> details
+) {
+
+	record Detail(Integer detailId, BigDecimal number, BigDecimal minNumber, BigDecimal maxNumber, String text) {
+	}
+
+	private static final Comparator<Detail> DETAIL_ORDER = Comparator
+		.comparing(Detail::detailId, Comparator.nullsFirst(Comparator.naturalOrder()))
+		.thenComparing(Detail::toString);
+
+	static final PropertySearchKey UNFILTERED = of(null);
+
+	static PropertySearchKey of(PropertySearchReq req) {
+		if (req == null) {
+			req = new PropertySearchReq();
+		}
+		List<Detail> details = req.getDetails() == null ? List.of() : req.getDetails().stream()
+			.filter(Objects::nonNull)
+			.map(PropertySearchKey::detail)
+			.distinct()
+			.sorted(DETAIL_ORDER)
+			.toList();
+		return new PropertySearchKey(
+			text(req.getQ()),
+			text(req.getTitle()),
+			text(req.getDescription()),
+			ids(req.getTypeIds()),
+			ids(req.getAreaIds()),
+			ids(req.getSaleUserIds()),
+			req.getIsPublic(),
+			req.getIsForRent(),
+			number(req.getMinPrice()),
+			number(req.getMaxPrice()),
+			req.getCreatedFrom(),
+			req.getCreatedTo(),
+			req.getUpdatedFrom(),
+			req.getUpdatedTo(),
+			details);
+	}
+
+	boolean isUnfiltered() {
+		return equals(UNFILTERED);
+	}
+
+	private static Detail detail(PropertyDetailFilterReq detail) {
+		// a number filter wins over text, as in the specification
+		boolean numeric = detail.getNumber() != null || detail.getMinNumber() != null || detail.getMaxNumber() != null;
+		return new Detail(
+			detail.getDetailId(),
+			number(detail.getNumber()),
+			detail.getNumber() == null ? number(detail.getMinNumber()) : null,
+			detail.getNumber() == null ? number(detail.getMaxNumber()) : null,
+			numeric ? null : text(detail.getText()));
+	}
+
+	private static String text(String value) {
+		return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static <T extends Comparable<T>> List<T> ids(List<T> values) {
+		return values == null ? List.of() : values.stream().filter(Objects::nonNull).distinct().sorted().toList();
+	}
+
+	private static BigDecimal number(BigDecimal value) {
+		return value == null ? null : value.stripTrailingZeros();
+	}
+}
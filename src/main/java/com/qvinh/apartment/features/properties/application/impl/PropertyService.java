@@ -1,51 +1,121 @@
 package com.qvinh.apartment.features.properties.application.impl;
 
 import com.qvinh.apartment.features.properties.application.IPropertyService;
+import com.qvinh.apartment.features.properties.application.event.PropertyChangedEvent;
 import com.qvinh.apartment.features.accounts.domain.PropertySaleInfo;
 import com.qvinh.apartment.features.accounts.persistence.PropertySaleInfoRepository;
 import com.qvinh.apartment.features.properties.constants.PropertiesMessages;
 import com.qvinh.apartment.features.properties.domain.Property;
 import com.qvinh.apartment.features.properties.domain.PropertyArea;
 import com.qvinh.apartment.features.properties.domain.PropertyType;
+import com.qvinh.apartment.features.properties.dto.property.PropertyBatchRes;
 import com.qvinh.apartment.features.properties.dto.property.PropertyCreateReq;
+import com.qvinh.apartment.features.properties.dto.property.PropertyDataFormat;
+import com.qvinh.apartment.features.properties.dto.property.PropertyDeleteRes;
+import com.qvinh.apartment.features.properties.dto.property.PropertyField;
 import com.qvinh.apartment.features.properties.dto.property.PropertyRes;
 import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
 import com.qvinh.apartment.features.properties.dto.property.PropertySelectRes;
 import com.qvinh.apartment.features.properties.dto.property.PropertyUpdateReq;
+import com.qvinh.apartment.features.properties.dto.property_facet.PropertyDetailFacetRes;
+import com.qvinh.apartment.features.properties.dto.property_facet.PropertyFacetValueRes;
+import com.qvinh.apartment.features.properties.dto.property_facet.PropertyFacetsRes;
+import com.qvinh.apartment.features.properties.dto.property_facet.PropertyPriceFacetRes;
 import com.qvinh.apartment.shared.error.ErrorCode;
 import com.qvinh.apartment.shared.exception.ResourceNotFoundException;
 import com.qvinh.apartment.features.properties.mapper.PropertyMapper;
 import com.qvinh.apartment.features.properties.persistence.PropertyAreaRepository;
+import com.qvinh.apartment.features.properties.persistence.PropertyDetailsRepository;
+import com.qvinh.apartment.features.properties.persistence.PropertyFacetCounts;
+import com.qvinh.apartment.features.properties.persistence.PropertyGalleryRepository;
 import com.qvinh.apartment.features.properties.persistence.PropertyRepository;
 import com.qvinh.apartment.features.properties.persistence.PropertySpecifications;
+import com.qvinh.apartment.features.properties.persistence.PropertyKeyset;
 import com.qvinh.apartment.features.properties.persistence.PropertyTypeRepository;
+import com.qvinh.apartment.shared.api.KeysetSlice;
+import com.qvinh.apartment.shared.api.ResourceVersion;
+import com.qvinh.apartment.shared.api.TotalKind;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class PropertyService implements IPropertyService {
 
 	private static final String PAGEABLE_NOT_NULL = "pageable must not be null";
+	private static final String ORDER_NOT_NULL = "order must not be null";
+	private static final String COUNT_NOT_NULL = "count must not be null";
+	private static final String FIELDS_NOT_NULL = "fields must not be null";
+	private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "createdAt");
+	private static final int MAX_PRICE_BOUNDS = 50;
+	private static final String PRICE_BOUNDS_PROPERTY =
+		"${app.properties.facets.price-bounds:1000000000,2000000000,3000000000,5000000000,10000000000}";
 
 	private final PropertyRepository repository;
 	private final PropertyMapper mapper;
 	private final PropertyTypeRepository typeRepository;
 	private final PropertySaleInfoRepository saleInfoRepository;
 	private final PropertyAreaRepository areaRepository;
+	private final PropertyDetailsRepository detailsRepository;
+	private final PropertyGalleryRepository galleryRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final PropertyTotalEstimator totalEstimator;
+	private final PropertySearchCache searchCache;
+	private final PropertyBitmapIndexer bitmapIndexer;
+	private final PropertyExportWriters exportWriters;
+	private final List<BigDecimal> defaultPriceBounds;
 
 	public PropertyService(PropertyRepository repository, PropertyMapper mapper,
 	                       PropertyTypeRepository typeRepository,
 	                       PropertySaleInfoRepository saleInfoRepository,
-	                       PropertyAreaRepository areaRepository) {
+	                       PropertyAreaRepository areaRepository,
+	                       PropertyDetailsRepository detailsRepository,
+	                       PropertyGalleryRepository galleryRepository,
+	                       ApplicationEventPublisher eventPublisher,
+	                       PropertyTotalEstimator totalEstimator,
+	                       PropertySearchCache searchCache,
+	                       PropertyBitmapIndexer bitmapIndexer,
+	                       PropertyExportWriters exportWriters,
+	                       @Value(PRICE_BOUNDS_PROPERTY) BigDecimal[] defaultPriceBounds) {
 		this.repository = repository;
 		this.mapper = mapper;
 		this.typeRepository = typeRepository;
 		this.saleInfoRepository = saleInfoRepository;
 		this.areaRepository = areaRepository;
+		this.detailsRepository = detailsRepository;
+		this.galleryRepository = galleryRepository;
+		this.eventPublisher = eventPublisher;
+		this.totalEstimator = totalEstimator;
+		this.searchCache = searchCache;
+		this.bitmapIndexer = bitmapIndexer;
+		this.exportWriters = exportWriters;
+		this.defaultPriceBounds = normalizePriceBounds(Arrays.asList(defaultPriceBounds));
 	}
 
 	@Transactional
@@ -60,8 +130,9 @@ public class PropertyService implements IPropertyService {
 		entity.setType(type);
 		entity.setSaleInfo(sale);
 		entity.setArea(area);
-		Property saved = repository.save(entity);
-		return mapper.toRes(Objects.requireNonNull(saved, "saved must not be null"));
+		Property saved = Objects.requireNonNull(repository.save(entity), "saved must not be null");
+		eventPublisher.publishEvent(PropertyChangedEvent.upserted(saved.getPropertyId()));
+		return mapper.toRes(saved);
 	}
 
 	@Transactional(readOnly = true)
@@ -73,31 +144,226 @@ public class PropertyService implements IPropertyService {
 
 	@Transactional(readOnly = true)
 	public PropertySelectRes getFull(long id) {
-		Property entity = repository.findByIdWithRelations(id);
+		return getFull(id, PropertyField.ALL);
+	}
+
+	@Transactional(readOnly = true)
+	public PropertySelectRes getFull(long id, Set<PropertyField> fields) {
+		Objects.requireNonNull(fields, FIELDS_NOT_NULL);
+		Property entity = repository.findByIdWithRelations(id, fields);
 		if (entity == null) {
 			throw new ResourceNotFoundException(ErrorCode.PROPERTY_NOT_FOUND, PropertiesMessages.PROPERTY_NOT_FOUND);
 		}
-		return mapper.toSelectRes(entity);
+		return mapper.toSelectRes(entity, fields);
+	}
+
+	@Transactional(readOnly = true)
+	public PropertyBatchRes<PropertySelectRes> getFullBatch(List<Long> ids, Set<PropertyField> fields) {
+		Objects.requireNonNull(fields, FIELDS_NOT_NULL);
+		List<Long> distinct = distinctBatchIds(ids);
+		List<PropertySelectRes> found = findSelectRes(distinct, fields);
+		Set<Long> foundIds = found.stream().map(PropertySelectRes::getPropertyId).collect(Collectors.toSet());
+		List<Long> missing = distinct.stream().filter(id -> !foundIds.contains(id)).toList();
+		return new PropertyBatchRes<>(found, missing);
+	}
+
+	@Transactional(readOnly = true)
+	public ResourceVersion version(long id) {
+		return repository.findVersionById(id)
+			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_NOT_FOUND, PropertiesMessages.PROPERTY_NOT_FOUND));
 	}
 
 	@Transactional(readOnly = true)
 	public Page<PropertyRes> list(Pageable pageable) {
 		Objects.requireNonNull(pageable, PAGEABLE_NOT_NULL);
-		return repository.findAll(pageable).map(mapper::toRes);
+		return repository.findAllRes(null, pageable);
 	}
 
 	@Transactional(readOnly = true)
-	public Page<PropertyRes> search(PropertySearchReq req, Pageable pageable) {
+	public Slice<PropertyRes> search(PropertySearchReq req, Pageable pageable, TotalKind count) {
 		Objects.requireNonNull(pageable, PAGEABLE_NOT_NULL);
-		var spec = PropertySpecifications.bySearchReq(req);
-		return repository.findAll(spec, pageable).map(mapper::toRes);
+		Objects.requireNonNull(count, COUNT_NOT_NULL);
+		SearchQuery search = toSearchQuery(req, pageable);
+		return searchCache.get(req, pageable, count, () -> loadRes(req, search, count),
+			PropertyRes::getPropertyId, repository::findAllResByIds);
 	}
 
 	@Transactional(readOnly = true)
-	public Page<PropertySelectRes> searchFull(PropertySearchReq req, Pageable pageable) {
+	public Slice<PropertySelectRes> searchFull(PropertySearchReq req, Pageable pageable, TotalKind count,
+	                                           Set<PropertyField> fields) {
 		Objects.requireNonNull(pageable, PAGEABLE_NOT_NULL);
+		Objects.requireNonNull(count, COUNT_NOT_NULL);
+		Objects.requireNonNull(fields, FIELDS_NOT_NULL);
+		SearchQuery search = toSearchQuery(req, pageable);
+		return searchCache.get(req, pageable, count, () -> loadSelectRes(req, search, count, fields),
+			PropertySelectRes::getPropertyId, ids -> findSelectRes(ids, fields));
+	}
+
+	private Slice<PropertyRes> loadRes(PropertySearchReq req, SearchQuery search, TotalKind count) {
+		Optional<PropertyBitmapIndex.IdPage> indexed = bitmapIndexer.find(req, search.pageable());
+		if (indexed.isPresent()) {
+			return fromIndex(indexed.get(), repository.findAllResByIds(indexed.get().ids()), search.pageable(), count);
+		}
+		if (count == TotalKind.EXACT) {
+			return repository.findAllRes(search.spec(), search.pageable());
+		}
+		Slice<PropertyRes> slice = repository.findSliceRes(search.spec(), search.pageable());
+		return count == TotalKind.ESTIMATE ? withEstimatedTotal(req, slice) : slice;
+	}
+
+	private Slice<PropertySelectRes> loadSelectRes(PropertySearchReq req, SearchQuery search, TotalKind count,
+	                                               Set<PropertyField> fields) {
+		Optional<PropertyBitmapIndex.IdPage> indexed = bitmapIndexer.find(req, search.pageable());
+		if (indexed.isPresent()) {
+			return fromIndex(indexed.get(), findSelectRes(indexed.get().ids(), fields), search.pageable(), count);
+		}
+		if (count == TotalKind.EXACT) {
+			return repository.findAllWithRelations(search.spec(), search.pageable(), fields)
+				.map(entity -> mapper.toSelectRes(entity, fields));
+		}
+		Slice<PropertySelectRes> slice = repository.findSliceWithRelations(search.spec(), search.pageable(), fields)
+			.map(entity -> mapper.toSelectRes(entity, fields));
+		return count == TotalKind.ESTIMATE ? withEstimatedTotal(req, slice) : slice;
+	}
+
+	private List<PropertySelectRes> findSelectRes(List<Long> ids, Set<PropertyField> fields) {
+		return repository.findAllByIdsWithRelations(ids, fields).stream()
+			.map(entity -> mapper.toSelectRes(entity, fields))
+			.toList();
+	}
+
+	// the index counts exactly for free, so only count=none drops the total
+	private static <T> Slice<T> fromIndex(PropertyBitmapIndex.IdPage page, List<T> content, Pageable pageable, TotalKind count) {
+		return count == TotalKind.NONE
+			? new SliceImpl<>(content, pageable, page.hasNext())
+			: new PageImpl<>(content, pageable, page.total());
+	}
+
+	/**
+	 * The estimate may lag behind the rows actually read; it is raised so the page stays consistent with them.
+	 */
+	private <T> Page<T> withEstimatedTotal(PropertySearchReq req, Slice<T> slice) {
+		long seen = slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+		long total = Math.max(totalEstimator.estimate(req), seen);
+		return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+	}
+
+	private record SearchQuery(Specification<Property> spec, Pageable pageable) {
+	}
+
+	/**
+	 * Relevance is not a column: the ordering moves into the specification and the pageable goes unsorted.
+	 * Without a keyword there is nothing to rank, so the default ordering applies.
+	 */
+	private static SearchQuery toSearchQuery(PropertySearchReq req, Pageable pageable) {
 		var spec = PropertySpecifications.bySearchReq(req);
-		return repository.findAllWithRelations(spec, pageable).map(mapper::toSelectRes);
+		if (pageable.getSort().getOrderFor(SORT_RELEVANCE) == null) {
+			return new SearchQuery(spec, pageable);
+		}
+		String keyword = req == null ? null : req.getQ();
+		if (keyword == null || keyword.isBlank()) {
+			return new SearchQuery(spec, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_SORT));
+		}
+		return new SearchQuery(spec.and(PropertySpecifications.orderByRelevance(keyword)),
+			PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+	}
+
+	@Transactional(readOnly = true)
+	public KeysetSlice<PropertyRes> searchAfter(PropertySearchReq req, Sort.Order order, String cursor, int size) {
+		KeysetSlice<Long> ids = findIdsAfter(req, order, cursor, size);
+		return new KeysetSlice<>(repository.findAllResByIds(ids.getContent()), ids.getPageable(), ids.getNextCursor());
+	}
+
+	@Transactional(readOnly = true)
+	public KeysetSlice<PropertySelectRes> searchFullAfter(PropertySearchReq req, Sort.Order order, String cursor, int size,
+	                                                      Set<PropertyField> fields) {
+		Objects.requireNonNull(fields, FIELDS_NOT_NULL);
+		KeysetSlice<Long> ids = findIdsAfter(req, order, cursor, size);
+		return new KeysetSlice<>(findSelectRes(ids.getContent(), fields), ids.getPageable(), ids.getNextCursor());
+	}
+
+	/**
+	 * A failed write, typically the client going away, ends the row stream and with it the query.
+	 */
+	@Transactional(readOnly = true)
+	public void export(PropertySearchReq req, PropertyDataFormat format, OutputStream out) throws IOException {
+		Objects.requireNonNull(format, "format must not be null");
+		Objects.requireNonNull(out, "out must not be null");
+		try (SequenceWriter writer = exportWriters.open(format, out)) {
+			repository.forEachRes(req, row -> {
+				try {
+					writer.write(row);
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			});
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public PropertyFacetsRes facets(PropertySearchReq req, List<BigDecimal> priceBounds) {
+		List<BigDecimal> bounds = priceBounds == null || priceBounds.isEmpty()
+			? defaultPriceBounds
+			: normalizePriceBounds(priceBounds);
+		PropertyFacetCounts counts = repository.countFacets(req, bounds);
+
+		PropertyFacetsRes res = new PropertyFacetsRes();
+		res.setTotal(counts.total());
+		res.setTypes(toFacetValues(counts.types()));
+		res.setAreas(toFacetValues(counts.areas()));
+		res.setForRent(toFacetValues(counts.forRent()));
+		res.setPrices(toPriceFacets(bounds, counts.priceBuckets()));
+		res.setDetails(counts.details().entrySet().stream()
+			.sorted(Map.Entry.comparingByKey())
+			.map(e -> new PropertyDetailFacetRes(e.getKey(), toFacetValues(e.getValue())))
+			.toList());
+		return res;
+	}
+
+	private static List<BigDecimal> normalizePriceBounds(List<BigDecimal> bounds) {
+		List<BigDecimal> sorted = bounds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+		if (sorted.isEmpty() || sorted.size() > MAX_PRICE_BOUNDS) {
+			throw new IllegalArgumentException("priceBounds must contain between 1 and " + MAX_PRICE_BOUNDS + " values");
+		}
+		return sorted;
+	}
+
+	// most frequent first
+	private static <T> List<PropertyFacetValueRes<T>> toFacetValues(Map<T, Long> counts) {
+		return counts.entrySet().stream()
+			.sorted(Map.Entry.<T, Long>comparingByValue(Comparator.reverseOrder()))
+			.map(e -> new PropertyFacetValueRes<>(e.getKey(), e.getValue()))
+			.toList();
+	}
+
+	// width_bucket index i covers [bounds[i-1], bounds[i]); every bucket is listed, empty ones with 0
+	private static List<PropertyPriceFacetRes> toPriceFacets(List<BigDecimal> bounds, Map<Integer, Long> buckets) {
+		List<PropertyPriceFacetRes> prices = new ArrayList<>();
+		for (int i = 0; i <= bounds.size(); i++) {
+			BigDecimal from = i == 0 ? null : bounds.get(i - 1);
+			BigDecimal to = i == bounds.size() ? null : bounds.get(i);
+			prices.add(new PropertyPriceFacetRes(from, to, buckets.getOrDefault(i, 0L)));
+		}
+		return prices;
+	}
+
+	private KeysetSlice<Long> findIdsAfter(PropertySearchReq req, Sort.Order order, String cursor, int size) {
+		Objects.requireNonNull(order, ORDER_NOT_NULL);
+		if (SORT_RELEVANCE.equals(order.getProperty())) {
+			throw new IllegalArgumentException("Sort by relevance is not supported in cursor mode");
+		}
+		if (size < 1) {
+			throw new IllegalArgumentException("Page size must not be less than one");
+		}
+		PropertyKeyset.Cursor after = null;
+		if (cursor != null && !cursor.isBlank()) {
+			after = PropertyKeyset.decode(cursor.trim());
+			PropertyKeyset.checkMatches(after, order);
+		}
+		var spec = PropertySpecifications.bySearchReq(req);
+		return repository.findIdsAfter(spec, order, after, size);
 	}
 
 	@Transactional
@@ -115,13 +381,49 @@ public class PropertyService implements IPropertyService {
 		entity.setSaleInfo(sale);
 		entity.setArea(area);
 		Property updated = repository.save(entity);
+		eventPublisher.publishEvent(PropertyChangedEvent.upserted(updated.getPropertyId()));
 		return mapper.toRes(updated);
 	}
 
 	@Transactional
 	public void delete(long id) {
-		Property entity = repository.findById(id)
-			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_NOT_FOUND, PropertiesMessages.PROPERTY_NOT_FOUND));
-		repository.delete(Objects.requireNonNull(entity, "property must not be null"));
+		if (deleteAll(List.of(id), false).getDeletedIds().isEmpty()) {
+			throw new ResourceNotFoundException(ErrorCode.PROPERTY_NOT_FOUND, PropertiesMessages.PROPERTY_NOT_FOUND);
+		}
+	}
+
+	@Transactional
+	public PropertyDeleteRes deleteAll(List<Long> ids, boolean purgeFiles) {
+		List<Long> distinct = distinctBatchIds(ids);
+		Set<Long> locked = new HashSet<>(repository.lockExistingIds(distinct.toArray(Long[]::new)));
+		List<Long> deleted = distinct.stream().filter(locked::contains).toList();
+		List<Long> missing = distinct.stream().filter(id -> !locked.contains(id)).toList();
+		if (deleted.isEmpty()) {
+			return new PropertyDeleteRes(deleted, missing, 0);
+		}
+
+		Long[] targets = deleted.toArray(Long[]::new);
+		detailsRepository.deleteByPropertyIds(targets);
+		int queuedFiles = 0;
+		if (purgeFiles) {
+			queuedFiles = galleryRepository.deleteByPropertyIdsQueuingFiles(targets);
+		} else {
+			galleryRepository.deleteByPropertyIds(targets);
+		}
+		repository.deleteByIds(targets);
+		eventPublisher.publishEvent(PropertyChangedEvent.deleted(deleted));
+		return new PropertyDeleteRes(deleted, missing, queuedFiles);
+	}
+
+	private static List<Long> distinctBatchIds(List<Long> ids) {
+		Objects.requireNonNull(ids, "ids must not be null");
+		if (ids.stream().anyMatch(Objects::isNull)) {
+			throw new IllegalArgumentException("ids must not contain null");
+		}
+		List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+		if (distinct.isEmpty() || distinct.size() > MAX_BATCH_IDS) {
+			throw new IllegalArgumentException("ids must contain between 1 and " + MAX_BATCH_IDS + " distinct ids");
+		}
+		return distinct;
 	}
 }
@@ -0,0 +1,43 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+import com.qvinh.apartment.features.properties.persistence.PropertyRepository;
+import com.qvinh.apartment.features.properties.persistence.PropertySpecifications;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Totals for {@code count=estimate}. An unfiltered search takes the planner's row count of the table;
+ * a filtered one reuses an exact count made for the same normalized filter within the TTL.
+ */
+@Component
+class PropertyTotalEstimator {
+
+	private final PropertyRepository repository;
+	private final Cache<PropertySearchKey, Long> counts;
+
+	PropertyTotalEstimator(PropertyRepository repository,
+	                       @Value("${app.properties.search.count-cache-ttl:30s}") Duration ttl,
+	                       @Value("${app.properties.search.count-cache-size:10000}") long maxSize) {
+		this.repository = repository;
+		this.counts = Caffeine.newBuilder()
+			.expireAfterWrite(ttl)
+			.maximumSize(maxSize)
+			.build();
+	}
+
+	long estimate(PropertySearchReq req) {
+		PropertySearchKey key = PropertySearchKey.of(req);
+		if (key.isUnfiltered()) {
+			Long rows = repository.estimateRowCount();
+			if (rows != null && rows >= 0) {
+				return rows;
+			}
+		}
+		return counts.get(key, k -> repository.count(PropertySpecifications.bySearchReq(req)));
+	}
+}
@@ -1,15 +1,18 @@
 package com.qvinh.apartment.features.properties.application.impl;
 
 import com.qvinh.apartment.features.properties.application.IPropertyTypeService;
+import com.qvinh.apartment.features.properties.application.event.PropertyReferenceChangedEvent;
 import com.qvinh.apartment.features.properties.domain.PropertyType;
 import com.qvinh.apartment.features.properties.dto.property_type.PropertyTypeCreateReq;
 import com.qvinh.apartment.features.properties.dto.property_type.PropertyTypeRes;
 import com.qvinh.apartment.features.properties.dto.property_type.PropertyTypeUpdateReq;
 import com.qvinh.apartment.features.properties.constants.PropertiesMessages;
+import com.qvinh.apartment.shared.api.ResourceVersion;
 import com.qvinh.apartment.shared.error.ErrorCode;
 import com.qvinh.apartment.shared.exception.ResourceNotFoundException;
 import com.qvinh.apartment.features.properties.mapper.PropertyTypeMapper;
 import com.qvinh.apartment.features.properties.persistence.PropertyTypeRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,10 +27,13 @@ public class PropertyTypeService implements IPropertyTypeService {
 
 	private final PropertyTypeRepository repository;
 	private final PropertyTypeMapper mapper;
+	private final ApplicationEventPublisher eventPublisher;
 
-	public PropertyTypeService(PropertyTypeRepository repository, PropertyTypeMapper mapper) {
+	public PropertyTypeService(PropertyTypeRepository repository, PropertyTypeMapper mapper,
+	                           ApplicationEventPublisher eventPublisher) {
 		this.repository = repository;
 		this.mapper = mapper;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Transactional
@@ -45,6 +51,17 @@ public class PropertyTypeService implements IPropertyTypeService {
 		return mapper.toRes(type);
 	}
 
+	@Transactional(readOnly = true)
+	public ResourceVersion version(int id) {
+		return repository.findVersionById(id)
+			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_TYPE_NOT_FOUND, PropertiesMessages.PROPERTY_TYPE_NOT_FOUND));
+	}
+
+	@Transactional(readOnly = true)
+	public ResourceVersion listVersion() {
+		return repository.findListVersion();
+	}
+
 	@Transactional(readOnly = true)
 	public Page<PropertyTypeRes> list(Pageable pageable) {
 		Objects.requireNonNull(pageable, "pageable must not be null");
@@ -67,6 +84,7 @@ public class PropertyTypeService implements IPropertyTypeService {
 			.orElseThrow(() -> new ResourceNotFoundException(ErrorCode.PROPERTY_TYPE_NOT_FOUND, PropertiesMessages.PROPERTY_TYPE_NOT_FOUND));
 		mapper.updateEntityFromReq(req, type);
 		PropertyType updated = repository.save(Objects.requireNonNull(type, TYPE_NOT_NULL));
+		eventPublisher.publishEvent(new PropertyReferenceChangedEvent(PropertyReferenceChangedEvent.Reference.TYPE, id));
 		return mapper.toRes(updated);
 	}
 
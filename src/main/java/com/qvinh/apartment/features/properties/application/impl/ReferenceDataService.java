@@ -0,0 +1,84 @@
+package com.qvinh.apartment.features.properties.application.impl;
+
+import com.qvinh.apartment.features.properties.application.IReferenceDataService;
+import com.qvinh.apartment.features.properties.dto.reference_data.ReferenceDataRes;
+import com.qvinh.apartment.features.properties.mapper.PropertyAreaMapper;
+import com.qvinh.apartment.features.properties.mapper.PropertyDefineDetailsMapper;
+import com.qvinh.apartment.features.properties.mapper.PropertyTypeMapper;
+import com.qvinh.apartment.features.properties.persistence.PropertyAreaRepository;
+import com.qvinh.apartment.features.properties.persistence.PropertyDefineDetailsRepository;
+import com.qvinh.apartment.features.properties.persistence.PropertyTypeRepository;
+import com.qvinh.apartment.shared.api.ResourceVersion;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Service
+public class ReferenceDataService implements IReferenceDataService {
+
+	private final PropertyTypeRepository typeRepository;
+	private final PropertyAreaRepository areaRepository;
+	private final PropertyDefineDetailsRepository defineRepository;
+	private final PropertyTypeMapper typeMapper;
+	private final PropertyAreaMapper areaMapper;
+	private final PropertyDefineDetailsMapper defineMapper;
+
+	public ReferenceDataService(PropertyTypeRepository typeRepository,
+	                            PropertyAreaRepository areaRepository,
+	                            PropertyDefineDetailsRepository defineRepository,
+	                            PropertyTypeMapper typeMapper,
+	                            PropertyAreaMapper areaMapper,
+	                            PropertyDefineDetailsMapper defineMapper) {
+		this.typeRepository = typeRepository;
+		this.areaRepository = areaRepository;
+		this.defineRepository = defineRepository;
+		this.typeMapper = typeMapper;
+		this.areaMapper = areaMapper;
+		this.defineMapper = defineMapper;
+	}
+
+	private record CombinedVersion(String tag, LocalDateTime lastModified) implements ResourceVersion {
+
+		@Override
+		public String getTag() {
+			return tag;
+		}
+
+		@Override
+		public LocalDateTime getLastModified() {
+			return lastModified;
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public ResourceVersion version() {
+		// the list versions already change on every create, update and delete of their table
+		ResourceVersion types = typeRepository.findListVersion();
+		ResourceVersion areas = areaRepository.findListVersion();
+		ResourceVersion defines = defineRepository.findListVersion();
+		String tag = DigestUtils.md5DigestAsHex(String.join("|", types.getTag(), areas.getTag(), defines.getTag())
+			.getBytes(StandardCharsets.UTF_8));
+		LocalDateTime lastModified = Stream.of(types, areas, defines)
+			.map(ResourceVersion::getLastModified)
+			.filter(Objects::nonNull)
+			.max(LocalDateTime::compareTo)
+			.orElse(null);
+		return new CombinedVersion(tag, lastModified);
+	}
+
+	@Transactional(readOnly = true)
+	public ReferenceDataRes get() {
+		return new ReferenceDataRes(
+			version().getTag(),
+			typeRepository.findAll(Sort.by("typeId")).stream().map(typeMapper::toRes).toList(),
+			areaRepository.findAll(Sort.by("areaId")).stream().map(areaMapper::toRes).toList(),
+			defineRepository.findAll(Sort.by("detailId")).stream().map(defineMapper::toRes).toList()
+		);
+	}
+}
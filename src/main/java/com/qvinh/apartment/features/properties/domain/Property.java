@@ -1,6 +1,7 @@
 package com.qvinh.apartment.features.properties.domain;
 
 import com.qvinh.apartment.features.accounts.domain.PropertySaleInfo;
+import com.qvinh.apartment.features.files.domain.StoredFileMeta;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -55,7 +56,13 @@ public class Property {
 	@Column(name = "updated_at")
 	private LocalDateTime updatedAt;
 
+	// first gallery file, kept by triggers on property_gallery (V16__gallery_position_main_file.sql)
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "main_file_id", insertable = false, updatable = false)
+	private StoredFileMeta mainFile;
+
 	@OneToMany(mappedBy = "property", fetch = FetchType.LAZY)
+	@OrderBy("position asc, id.fileId asc")
 	private Set<PropertyGallery> galleries = new LinkedHashSet<>();
 
 	@OneToMany(mappedBy = "property", fetch = FetchType.LAZY)
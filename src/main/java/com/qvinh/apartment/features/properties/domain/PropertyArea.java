@@ -1,15 +1,20 @@
 package com.qvinh.apartment.features.properties.domain;
 
+import com.qvinh.apartment.shared.constants.CacheRegions;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.REFERENCE_DATA)
 @Table(name = "property_area")
 public class PropertyArea {
 
@@ -29,5 +34,20 @@ public class PropertyArea {
 
 	@Column(name = "updated_at")
 	private LocalDateTime updatedAt;
-}
 
+	@PrePersist
+	void prePersist() {
+		LocalDateTime now = LocalDateTime.now();
+		if (createdAt == null) {
+			createdAt = now;
+		}
+		if (updatedAt == null) {
+			updatedAt = now;
+		}
+	}
+
+	@PreUpdate
+	void preUpdate() {
+		updatedAt = LocalDateTime.now();
+	}
+}
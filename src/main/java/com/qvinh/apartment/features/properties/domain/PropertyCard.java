@@ -0,0 +1,78 @@
+package com.qvinh.apartment.features.properties.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The list row of a property, denormalized from {@code property_card_source}. Written only in SQL by
+ * {@code PropertyCardRepository}; mapped so list queries can read it instead of joining the sources.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "property_card")
+public class PropertyCard {
+
+	@Id
+	@Column(name = "property_id")
+	private Long propertyId;
+
+	@Column(name = "title", nullable = false, length = 255)
+	private String title;
+
+	@Column(name = "price", nullable = false, precision = 15, scale = 2)
+	private BigDecimal price;
+
+	@Column(name = "description", columnDefinition = "text")
+	private String description;
+
+	@Column(name = "type_id", nullable = false)
+	private Integer typeId;
+
+	@Column(name = "type_name", nullable = false, length = 255)
+	private String typeName;
+
+	@Column(name = "sale_user_id", nullable = false)
+	private Long saleUserId;
+
+	@Column(name = "sale_display_name", length = 255)
+	private String saleDisplayName;
+
+	@Column(name = "sale_phone", nullable = false, length = 50)
+	private String salePhone;
+
+	@Column(name = "area_id", nullable = false)
+	private Integer areaId;
+
+	@Column(name = "area_name", nullable = false, length = 255)
+	private String areaName;
+
+	@Column(name = "is_public", nullable = false)
+	private Boolean isPublic;
+
+	@Column(name = "is_for_rent", nullable = false)
+	private Boolean isForRent;
+
+	@Column(name = "created_at")
+	private LocalDateTime createdAt;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+
+	@Column(name = "main_image_relative_path", columnDefinition = "text")
+	private String mainImageRelativePath;
+
+	// database clock at the last write that changed the card; the change feed walks it
+	@Column(name = "changed_at", nullable = false)
+	private LocalDateTime changedAt;
+
+	// database clock at the card's first insert, left alone by later writes
+	@Column(name = "first_changed_at", nullable = false)
+	private LocalDateTime firstChangedAt;
+}
@@ -1,6 +1,7 @@
 package com.qvinh.apartment.features.properties.domain;
 
 import jakarta.persistence.*;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -29,10 +30,36 @@ public class PropertyDetails {
 	@Column(name = "value", columnDefinition = "text")
 	private String value;
 
+	// Typed copy of value for numeric details, used by range filters
+	@Column(name = "numeric_value")
+	private BigDecimal numericValue;
+
 	@Column(name = "created_at")
 	private LocalDateTime createdAt;
 
 	@Column(name = "updated_at")
 	private LocalDateTime updatedAt;
-}
 
+	@PrePersist
+	@PreUpdate
+	void syncNumericValue() {
+		numericValue = null;
+		if (detail != null && Boolean.TRUE.equals(detail.getIsNumber())) {
+			try {
+				numericValue = parseNumber(value);
+			} catch (NumberFormatException ignored) {
+				// services reject non-numeric values; anything else is simply not range-searchable
+			}
+		}
+	}
+
+	/**
+	 * Parses a numeric detail value; blank values yield null.
+	 */
+	public static BigDecimal parseNumber(String value) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		return new BigDecimal(value.trim());
+	}
+}
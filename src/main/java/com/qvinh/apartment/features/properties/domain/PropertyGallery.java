@@ -27,6 +27,10 @@ public class PropertyGallery {
 	@JoinColumn(name = "file_id", nullable = false)
 	private StoredFileMeta file;
 
+	// 0-based place in the gallery; the lowest is the main image
+	@Column(name = "position", nullable = false)
+	private Integer position = 0;
+
 	@Column(name = "created_at")
 	private LocalDateTime createdAt;
 
@@ -0,0 +1,25 @@
+package com.qvinh.apartment.features.properties.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Unaccented, weighted tsvector per property. Maintained in SQL from {@code property_search_source};
+ * mapped only so criteria queries can match and rank against it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "property_search_document")
+public class PropertySearchDocument {
+
+	@Id
+	@Column(name = "property_id")
+	private Long propertyId;
+
+	@Column(name = "document", columnDefinition = "tsvector", insertable = false, updatable = false)
+	private String document;
+}
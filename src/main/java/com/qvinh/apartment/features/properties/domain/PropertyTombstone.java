@@ -0,0 +1,26 @@
+package com.qvinh.apartment.features.properties.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a deleted property for the change feed. Written only in SQL by {@code PropertyTombstoneRepository}.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "property_tombstone")
+public class PropertyTombstone {
+
+	@Id
+	@Column(name = "property_id")
+	private Long propertyId;
+
+	@Column(name = "deleted_at", nullable = false)
+	private LocalDateTime deletedAt;
+}
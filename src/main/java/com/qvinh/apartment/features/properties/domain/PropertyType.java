@@ -1,15 +1,20 @@
 package com.qvinh.apartment.features.properties.domain;
 
+import com.qvinh.apartment.shared.constants.CacheRegions;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.REFERENCE_DATA)
 @Table(name = "property_type")
 public class PropertyType {
 
@@ -26,5 +31,20 @@ public class PropertyType {
 
 	@Column(name = "updated_at")
 	private LocalDateTime updatedAt;
-}
 
+	@PrePersist
+	void prePersist() {
+		LocalDateTime now = LocalDateTime.now();
+		if (createdAt == null) {
+			createdAt = now;
+		}
+		if (updatedAt == null) {
+			updatedAt = now;
+		}
+	}
+
+	@PreUpdate
+	void preUpdate() {
+		updatedAt = LocalDateTime.now();
+	}
+}
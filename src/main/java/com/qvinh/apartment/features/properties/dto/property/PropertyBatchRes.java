@@ -0,0 +1,22 @@
+package com.qvinh.apartment.features.properties.dto.property;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * {@code properties} follow the requested id order; ids that match no property are listed in
+ * {@code missingIds}, also in request order. {@code T} is {@link PropertySelectRes}, or a map of the
+ * selected fields when only some were requested.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyBatchRes<T> {
+
+	private List<T> properties;
+	private List<Long> missingIds;
+}
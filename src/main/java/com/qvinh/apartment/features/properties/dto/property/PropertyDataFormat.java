@@ -0,0 +1,39 @@
+package com.qvinh.apartment.features.properties.dto.property;
+
+import java.util.Locale;
+
+/**
+ * Wire format of streamed property exports and imports.
+ */
+public enum PropertyDataFormat {
+	/** One JSON object per line. */
+	NDJSON("application/x-ndjson"),
+	/** A header row, then one row per property. */
+	CSV("text/csv");
+
+	private final String mediaType;
+
+	PropertyDataFormat(String mediaType) {
+		this.mediaType = mediaType;
+	}
+
+	public String mediaType() {
+		return mediaType;
+	}
+
+	public String extension() {
+		return name().toLowerCase(Locale.ROOT);
+	}
+
+	public static PropertyDataFormat from(String value) {
+		if (value == null || value.isBlank()) {
+			return NDJSON;
+		}
+		for (PropertyDataFormat format : values()) {
+			if (format.extension().equalsIgnoreCase(value.trim())) {
+				return format;
+			}
+		}
+		throw new IllegalArgumentException("format must be one of ndjson, csv");
+	}
+}
@@ -0,0 +1,22 @@
+package com.qvinh.apartment.features.properties.dto.property;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * {@code deletedIds} and {@code missingIds} follow the request order. {@code queuedFiles} counts gallery
+ * files queued for removal; it is 0 unless files were purged.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyDeleteRes {
+
+	private List<Long> deletedIds;
+	private List<Long> missingIds;
+	private int queuedFiles;
+}
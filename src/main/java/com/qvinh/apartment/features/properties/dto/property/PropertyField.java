@@ -0,0 +1,82 @@
+package com.qvinh.apartment.features.properties.dto.property;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Top-level fields of {@link PropertySelectRes} that {@code fields=} can select. Relations left out are
+ * neither fetched nor mapped; {@code propertyId} is always included.
+ */
+public enum PropertyField {
+	PROPERTY_ID("propertyId", PropertySelectRes::getPropertyId),
+	TITLE("title", PropertySelectRes::getTitle),
+	PRICE("price", PropertySelectRes::getPrice),
+	DESCRIPTION("description", PropertySelectRes::getDescription),
+	IS_PUBLIC("isPublic", PropertySelectRes::getIsPublic),
+	IS_FOR_RENT("isForRent", PropertySelectRes::getIsForRent),
+	CREATED_AT("createdAt", PropertySelectRes::getCreatedAt),
+	UPDATED_AT("updatedAt", PropertySelectRes::getUpdatedAt),
+	TYPE("type", PropertySelectRes::getType),
+	AREA("area", PropertySelectRes::getArea),
+	SALE_INFO("saleInfo", PropertySelectRes::getSaleInfo),
+	GALLERIES("galleries", PropertySelectRes::getGalleries),
+	DETAILS("details", PropertySelectRes::getDetails);
+
+	public static final Set<PropertyField> ALL = Collections.unmodifiableSet(EnumSet.allOf(PropertyField.class));
+
+	private final String fieldName;
+	private final Function<PropertySelectRes, Object> getter;
+
+	PropertyField(String fieldName, Function<PropertySelectRes, Object> getter) {
+		this.fieldName = fieldName;
+		this.getter = getter;
+	}
+
+	public String fieldName() {
+		return fieldName;
+	}
+
+	/**
+	 * Comma-separated field names as they appear in the response; blank selects all of them.
+	 */
+	public static Set<PropertyField> parse(String fields) {
+		if (fields == null || fields.isBlank()) {
+			return ALL;
+		}
+		EnumSet<PropertyField> selected = EnumSet.of(PROPERTY_ID);
+		for (String name : fields.split(",")) {
+			String trimmed = name.trim();
+			if (!trimmed.isEmpty()) {
+				selected.add(from(trimmed));
+			}
+		}
+		return Collections.unmodifiableSet(selected);
+	}
+
+	/**
+	 * {@code res} itself when every field is selected, otherwise only the selected fields in response order.
+	 */
+	public static Object select(PropertySelectRes res, Set<PropertyField> fields) {
+		if (fields.containsAll(ALL)) {
+			return res;
+		}
+		Map<String, Object> selected = new LinkedHashMap<>();
+		for (PropertyField field : EnumSet.copyOf(fields)) {
+			selected.put(field.fieldName, field.getter.apply(res));
+		}
+		return selected;
+	}
+
+	private static PropertyField from(String fieldName) {
+		for (PropertyField field : values()) {
+			if (field.fieldName.equals(fieldName)) {
+				return field;
+			}
+		}
+		throw new IllegalArgumentException("Unknown property field: " + fieldName);
+	}
+}
@@ -0,0 +1,18 @@
+package com.qvinh.apartment.features.properties.dto.property_card;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * {@code scanned} properties were checked; {@code written} cards were missing or stale and were rewritten.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyCardRebuildRes {
+	private long scanned;
+	private long written;
+}
@@ -0,0 +1,23 @@
+package com.qvinh.apartment.features.properties.dto.property_change;
+
+import com.qvinh.apartment.features.properties.dto.property.PropertyRes;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * {@code property} is the current list row, null for deletes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyChangeRes {
+
+	private PropertyChangeType type;
+	private Long propertyId;
+	private LocalDateTime changedAt;
+	private PropertyRes property;
+}
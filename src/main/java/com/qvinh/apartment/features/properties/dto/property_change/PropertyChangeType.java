@@ -0,0 +1,8 @@
+package com.qvinh.apartment.features.properties.dto.property_change;
+
+public enum PropertyChangeType {
+	/** Created after the token's position; always the case for a sync without token. */
+	CREATED,
+	UPDATED,
+	DELETED
+}
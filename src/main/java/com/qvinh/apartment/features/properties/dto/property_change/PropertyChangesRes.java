@@ -0,0 +1,22 @@
+package com.qvinh.apartment.features.properties.dto.property_change;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * {@code nextToken} is always set: pass it as {@code since} to continue, right away while {@code hasMore},
+ * otherwise on the next sync.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyChangesRes {
+
+	private List<PropertyChangeRes> changes;
+	private String nextToken;
+	private boolean hasMore;
+}
@@ -0,0 +1,19 @@
+package com.qvinh.apartment.features.properties.dto.property_details;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** The complete detail set of a property; details not listed are removed, an empty list removes all. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PropertyDetailsReplaceReq {
+
+	@NotNull(message = "items is required")
+	@Valid
+	private List<PropertyDetailsItemReq> items;
+}
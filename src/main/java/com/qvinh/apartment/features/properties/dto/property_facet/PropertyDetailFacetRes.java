@@ -0,0 +1,16 @@
+package com.qvinh.apartment.features.properties.dto.property_facet;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyDetailFacetRes {
+	private Integer detailId;
+	private List<PropertyFacetValueRes<String>> values;
+}
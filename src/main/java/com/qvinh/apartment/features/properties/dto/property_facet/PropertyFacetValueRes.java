@@ -0,0 +1,15 @@
+package com.qvinh.apartment.features.properties.dto.property_facet;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyFacetValueRes<T> {
+	private T value;
+	private long count;
+}
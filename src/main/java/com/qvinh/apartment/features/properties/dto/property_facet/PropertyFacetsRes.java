@@ -0,0 +1,21 @@
+package com.qvinh.apartment.features.properties.dto.property_facet;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Counts per facet value. {@code total} applies every filter; each facet ignores its own dimension's filter.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PropertyFacetsRes {
+	private long total;
+	private List<PropertyFacetValueRes<Integer>> types;
+	private List<PropertyFacetValueRes<Integer>> areas;
+	private List<PropertyFacetValueRes<Boolean>> forRent;
+	private List<PropertyPriceFacetRes> prices;
+	private List<PropertyDetailFacetRes> details;
+}
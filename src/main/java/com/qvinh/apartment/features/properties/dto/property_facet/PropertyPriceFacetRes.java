@@ -0,0 +1,20 @@
+package com.qvinh.apartment.features.properties.dto.property_facet;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Price range {@code [from, to)}; {@code from} is null for the lowest bucket and {@code to} for the highest.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyPriceFacetRes {
+	private BigDecimal from;
+	private BigDecimal to;
+	private long count;
+}
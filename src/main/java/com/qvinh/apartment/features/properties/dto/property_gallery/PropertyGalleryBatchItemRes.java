@@ -0,0 +1,21 @@
+package com.qvinh.apartment.features.properties.dto.property_gallery;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome for one distinct file id of a batch, in request order. {@code position} is set for files the
+ * batch added.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyGalleryBatchItemRes {
+
+	private Long fileId;
+	private PropertyGalleryBatchStatus status;
+	private Integer position;
+}
@@ -0,0 +1,19 @@
+package com.qvinh.apartment.features.properties.dto.property_gallery;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class PropertyGalleryBatchReq {
+
+	// appended in this order
+	@NotEmpty
+	private List<@NotNull Long> fileIds;
+}
@@ -0,0 +1,9 @@
+package com.qvinh.apartment.features.properties.dto.property_gallery;
+
+public enum PropertyGalleryBatchStatus {
+	ADDED,
+	ALREADY_IN_GALLERY,
+	FILE_NOT_FOUND,
+	REMOVED,
+	NOT_IN_GALLERY
+}
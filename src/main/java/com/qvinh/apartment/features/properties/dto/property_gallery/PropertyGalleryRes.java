@@ -12,5 +12,6 @@ public class PropertyGalleryRes {
 	private Long propertyId;
 	private Long fileId;
 	private String filePath;
+	private Integer position;
 }
 
@@ -0,0 +1,18 @@
+package com.qvinh.apartment.features.properties.dto.property_import;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * {@code row} is 1-based over data rows: the NDJSON line, or the CSV record after the header.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyImportErrorRes {
+	private long row;
+	private String message;
+}
@@ -0,0 +1,20 @@
+package com.qvinh.apartment.features.properties.dto.property_import;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Rows are imported or rejected one by one. {@code errors} lists the first rejected rows only; {@code failed}
+ * counts all of them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PropertyImportRes {
+	private long imported;
+	private long failed;
+	private List<PropertyImportErrorRes> errors = new ArrayList<>();
+}
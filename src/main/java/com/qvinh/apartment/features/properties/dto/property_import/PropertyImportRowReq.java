@@ -0,0 +1,20 @@
+package com.qvinh.apartment.features.properties.dto.property_import;
+
+import com.qvinh.apartment.features.properties.dto.property.PropertyCreateReq;
+import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsItemReq;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One imported property with its details. In CSV, details are columns named {@code detail.<detailId>}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class PropertyImportRowReq extends PropertyCreateReq {
+	@Valid
+	private List<PropertyDetailsItemReq> details;
+}
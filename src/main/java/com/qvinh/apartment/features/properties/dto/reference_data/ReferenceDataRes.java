@@ -0,0 +1,26 @@
+package com.qvinh.apartment.features.properties.dto.reference_data;
+
+import com.qvinh.apartment.features.properties.dto.property_area.PropertyAreaRes;
+import com.qvinh.apartment.features.properties.dto.property_define_details.PropertyDefineDetailsRes;
+import com.qvinh.apartment.features.properties.dto.property_type.PropertyTypeRes;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Every type, area and define detail in id order. {@code version} is the ETag value of the response, for
+ * clients that keep the data across restarts and revalidate with {@code If-None-Match}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceDataRes {
+
+	private String version;
+	private List<PropertyTypeRes> types;
+	private List<PropertyAreaRes> areas;
+	private List<PropertyDefineDetailsRes> defineDetails;
+}
@@ -1,6 +1,7 @@
 package com.qvinh.apartment.features.properties.mapper;
 
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsRes;
+import com.qvinh.apartment.features.properties.domain.PropertyDefineDetails;
 import com.qvinh.apartment.features.properties.domain.PropertyDetails;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -22,5 +23,14 @@ public interface PropertyDetailsMapper {
 	@Mapping(target = "showInHomePage", source = "detail.showInHomePage")
 	@Mapping(target = "value", source = "value")
 	PropertyDetailsRes toRes(PropertyDetails entity);
+
+	@Mapping(target = "propertyId", source = "propertyId")
+	@Mapping(target = "detailId", source = "detail.detailId")
+	@Mapping(target = "detailName", source = "detail.detailName")
+	@Mapping(target = "isNumber", source = "detail.isNumber")
+	@Mapping(target = "unit", source = "detail.unit")
+	@Mapping(target = "showInHomePage", source = "detail.showInHomePage")
+	@Mapping(target = "value", source = "value")
+	PropertyDetailsRes toRes(Long propertyId, PropertyDefineDetails detail, String value);
 }
 
@@ -24,6 +24,7 @@ public interface PropertyMapper {
 	@Mapping(target = "area", ignore = true)
 	@Mapping(target = "createdAt", ignore = true)
 	@Mapping(target = "updatedAt", ignore = true)
+	@Mapping(target = "mainFile", ignore = true)
 	@Mapping(target = "galleries", ignore = true)
 	@Mapping(target = "details", ignore = true)
 	Property toEntity(PropertyCreateReq req);
@@ -35,6 +36,7 @@ public interface PropertyMapper {
 	@Mapping(target = "area", ignore = true)
 	@Mapping(target = "createdAt", ignore = true)
 	@Mapping(target = "updatedAt", ignore = true)
+	@Mapping(target = "mainFile", ignore = true)
 	@Mapping(target = "galleries", ignore = true)
 	@Mapping(target = "details", ignore = true)
 	void updateEntityFromReq(PropertyUpdateReq req, @MappingTarget Property entity);
@@ -50,13 +52,8 @@ public interface PropertyMapper {
 	PropertyRes toRes(Property entity);
 
 	default String extractMainImagePath(Property entity) {
-		if (entity.getGalleries() == null || entity.getGalleries().isEmpty()) {
-			return null;
-		}
-		return entity.getGalleries().stream()
-			.findFirst()
-			.map(g -> g.getFile() != null ? g.getFile().getRelativePath() : null)
-			.orElse(null);
+		StoredFileMeta mainFile = entity.getMainFile();
+		return mainFile != null ? mainFile.getRelativePath() : null;
 	}
 
 	@Mapping(target = "type", expression = "java(toTypeInfo(entity))")
@@ -66,6 +63,31 @@ public interface PropertyMapper {
 	@Mapping(target = "details", expression = "java(toDetailResList(entity.getDetails()))")
 	PropertySelectRes toSelectRes(Property entity);
 
+	/**
+	 * {@link #toSelectRes(Property)} restricted to {@code fields}: relations outside them are left null and
+	 * never touched, so they need not be fetched.
+	 */
+	default PropertySelectRes toSelectRes(Property entity, Set<PropertyField> fields) {
+		if (fields.containsAll(PropertyField.ALL)) {
+			return toSelectRes(entity);
+		}
+		PropertySelectRes res = new PropertySelectRes();
+		res.setPropertyId(entity.getPropertyId());
+		res.setTitle(entity.getTitle());
+		res.setPrice(entity.getPrice());
+		res.setDescription(entity.getDescription());
+		res.setIsPublic(entity.getIsPublic());
+		res.setIsForRent(entity.getIsForRent());
+		res.setCreatedAt(entity.getCreatedAt());
+		res.setUpdatedAt(entity.getUpdatedAt());
+		if (fields.contains(PropertyField.TYPE)) res.setType(toTypeInfo(entity));
+		if (fields.contains(PropertyField.AREA)) res.setArea(toAreaInfo(entity));
+		if (fields.contains(PropertyField.SALE_INFO)) res.setSaleInfo(toSaleInfoRes(entity));
+		if (fields.contains(PropertyField.GALLERIES)) res.setGalleries(toGalleryResList(entity.getGalleries()));
+		if (fields.contains(PropertyField.DETAILS)) res.setDetails(toDetailResList(entity.getDetails()));
+		return res;
+	}
+
 	default PropertyTypeInfo toTypeInfo(Property entity) {
 		if (entity.getType() == null) return null;
 		return new PropertyTypeInfo(entity.getType().getTypeId(), entity.getType().getTypeName());
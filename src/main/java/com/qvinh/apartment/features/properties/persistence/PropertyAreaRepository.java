@@ -1,12 +1,32 @@
 package com.qvinh.apartment.features.properties.persistence;
 
 import com.qvinh.apartment.features.properties.domain.PropertyArea;
+import com.qvinh.apartment.shared.api.ResourceVersion;
+import com.qvinh.apartment.shared.constants.CacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import java.util.Optional;
 
 public interface PropertyAreaRepository extends JpaRepository<PropertyArea, Integer> {
     boolean existsByAreaName(@NonNull String areaName);
     boolean existsByAreaLink(@NonNull String areaLink);
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_DATA_QUERIES)
+    })
     @NonNull Optional<PropertyArea> findByAreaLink(@NonNull String areaLink);
+
+    /** Version of every list page: row count plus newest stamp, so creates, edits and deletes all change it. */
+    @Query(value = "SELECT md5(concat_ws('|', count(*), max(updated_at))) AS \"tag\", max(updated_at) AS \"lastModified\""
+        + " FROM property_area", nativeQuery = true)
+    ResourceVersion findListVersion();
+
+    @Query(value = "SELECT md5(concat_ws('|', area_id, updated_at)) AS \"tag\", updated_at AS \"lastModified\""
+        + " FROM property_area WHERE area_id = :id", nativeQuery = true)
+    Optional<ResourceVersion> findVersionById(@Param("id") Integer id);
 }
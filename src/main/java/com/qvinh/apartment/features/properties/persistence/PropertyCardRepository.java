@@ -0,0 +1,104 @@
+package com.qvinh.apartment.features.properties.persistence;
+
+import com.qvinh.apartment.features.properties.domain.PropertyCard;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rewrites cards from the {@code property_card_source} view. Like the search documents, nothing is cleared
+ * from the persistence context: callers are mid-transaction and only the card table is written.
+ * Unchanged cards are left alone, so a rebuild over current rows writes nothing and {@code changed_at}
+ * only moves when the content does.
+ */
+public interface PropertyCardRepository extends JpaRepository<PropertyCard, Long> {
+
+	// the stamp fills changed_at and first_changed_at; the update below never touches first_changed_at
+	String REFRESH = "INSERT INTO property_card SELECT s.*, c.now, c.now"
+		+ " FROM property_card_source s CROSS JOIN (SELECT CAST(clock_timestamp() AS TIMESTAMP) AS now) c WHERE ";
+	String ON_CONFLICT = " ON CONFLICT (property_id) DO UPDATE SET"
+		+ " title = EXCLUDED.title, price = EXCLUDED.price, description = EXCLUDED.description,"
+		+ " type_id = EXCLUDED.type_id, type_name = EXCLUDED.type_name,"
+		+ " sale_user_id = EXCLUDED.sale_user_id, sale_display_name = EXCLUDED.sale_display_name, sale_phone = EXCLUDED.sale_phone,"
+		+ " area_id = EXCLUDED.area_id, area_name = EXCLUDED.area_name,"
+		+ " is_public = EXCLUDED.is_public, is_for_rent = EXCLUDED.is_for_rent,"
+		+ " created_at = EXCLUDED.created_at, updated_at = EXCLUDED.updated_at,"
+		+ " main_image_relative_path = EXCLUDED.main_image_relative_path, changed_at = EXCLUDED.changed_at"
+		+ " WHERE (property_card.title, property_card.price, property_card.description,"
+		+ " property_card.type_id, property_card.type_name,"
+		+ " property_card.sale_user_id, property_card.sale_display_name, property_card.sale_phone,"
+		+ " property_card.area_id, property_card.area_name, property_card.is_public, property_card.is_for_rent,"
+		+ " property_card.created_at, property_card.updated_at, property_card.main_image_relative_path)"
+		+ " IS DISTINCT FROM (EXCLUDED.title, EXCLUDED.price, EXCLUDED.description,"
+		+ " EXCLUDED.type_id, EXCLUDED.type_name,"
+		+ " EXCLUDED.sale_user_id, EXCLUDED.sale_display_name, EXCLUDED.sale_phone,"
+		+ " EXCLUDED.area_id, EXCLUDED.area_name, EXCLUDED.is_public, EXCLUDED.is_for_rent,"
+		+ " EXCLUDED.created_at, EXCLUDED.updated_at, EXCLUDED.main_image_relative_path)";
+
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_card"))
+	@Query(value = REFRESH + "property_id IN (:propertyIds)" + ON_CONFLICT, nativeQuery = true)
+	int refreshByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
+
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_card"))
+	@Query(value = REFRESH + "type_id = :typeId" + ON_CONFLICT, nativeQuery = true)
+	int refreshByTypeId(@Param("typeId") Integer typeId);
+
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_card"))
+	@Query(value = REFRESH + "area_id = :areaId" + ON_CONFLICT, nativeQuery = true)
+	int refreshByAreaId(@Param("areaId") Integer areaId);
+
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_card"))
+	@Query(value = REFRESH + "sale_user_id = :saleUserId" + ON_CONFLICT, nativeQuery = true)
+	int refreshBySaleUserId(@Param("saleUserId") Long saleUserId);
+
+	/** Cards changed strictly after {@code (changedAt, propertyId)} and before {@code until}, in feed order. */
+	@Query(value = """
+		SELECT property_id AS "propertyId", changed_at AS "changedAt", first_changed_at AS "firstChangedAt"
+		FROM property_card
+		WHERE (changed_at, property_id) > (:changedAt, :propertyId) AND changed_at < :until
+		ORDER BY changed_at, property_id
+		LIMIT :limit
+		""", nativeQuery = true)
+	List<PropertyChangeRow> findChangedAfter(@Param("changedAt") LocalDateTime changedAt,
+	                                         @Param("propertyId") long propertyId,
+	                                         @Param("until") LocalDateTime until,
+	                                         @Param("limit") int limit);
+
+	/**
+	 * Start of the oldest open transaction that has written anything, or now. Cards are stamped with the
+	 * database clock while their transaction is open, so every card stamped before this is committed and
+	 * visible; later ones may still be in flight. Only sessions of the current role are visible without
+	 * {@code pg_read_all_stats}.
+	 */
+	@Query(value = """
+		SELECT CAST(LEAST(clock_timestamp(), min(xact_start)) AS TIMESTAMP)
+		FROM pg_stat_activity
+		WHERE datname = current_database() AND backend_xid IS NOT NULL
+		""", nativeQuery = true)
+	LocalDateTime findChangeWatermark();
+
+	/** The next batch of property ids for a rebuild, walking the primary key. */
+	@Query(value = "SELECT property_id FROM property WHERE property_id > :afterId ORDER BY property_id LIMIT :limit",
+		nativeQuery = true)
+	List<Long> findPropertyIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+	/**
+	 * Locks existing cards until the caller commits. A refresh issued afterwards reads every write that
+	 * committed before the lock, and writers that come later wait and then apply their own change on top.
+	 */
+	@Query(value = "SELECT property_id FROM property_card WHERE property_id IN (:propertyIds) ORDER BY property_id FOR UPDATE",
+		nativeQuery = true)
+	List<Long> lockByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
+}
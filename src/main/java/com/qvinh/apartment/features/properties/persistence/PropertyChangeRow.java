@@ -0,0 +1,16 @@
+package com.qvinh.apartment.features.properties.persistence;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the change feed: a changed card or a tombstone. {@code firstChangedAt}, the database
+ * clock at the card's first insert, is null for tombstones.
+ */
+public interface PropertyChangeRow {
+
+	Long getPropertyId();
+
+	LocalDateTime getChangedAt();
+
+	LocalDateTime getFirstChangedAt();
+}
@@ -1,10 +1,23 @@
 package com.qvinh.apartment.features.properties.persistence;
 
 import com.qvinh.apartment.features.properties.domain.PropertyDefineDetails;
+import com.qvinh.apartment.shared.api.ResourceVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.util.Optional;
+
 public interface PropertyDefineDetailsRepository extends JpaRepository<PropertyDefineDetails, Integer> {
 	boolean existsByDetailName(@NonNull String detailName);
-}
 
+	/** Version of every list page: row count plus newest stamp, so creates, edits and deletes all change it. */
+	@Query(value = "SELECT md5(concat_ws('|', count(*), max(updated_at))) AS \"tag\", max(updated_at) AS \"lastModified\""
+		+ " FROM property_define_details", nativeQuery = true)
+	ResourceVersion findListVersion();
+
+	@Query(value = "SELECT md5(concat_ws('|', detail_id, updated_at)) AS \"tag\", updated_at AS \"lastModified\""
+		+ " FROM property_define_details WHERE detail_id = :id", nativeQuery = true)
+	Optional<ResourceVersion> findVersionById(@Param("id") Integer id);
+}
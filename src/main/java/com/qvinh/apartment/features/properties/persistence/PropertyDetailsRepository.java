@@ -2,8 +2,16 @@ package com.qvinh.apartment.features.properties.persistence;
 
 import com.qvinh.apartment.features.properties.domain.PropertyDetails;
 import com.qvinh.apartment.features.properties.domain.PropertyDetailsId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -14,10 +22,70 @@ public interface PropertyDetailsRepository extends JpaRepository<PropertyDetails
 
 	Optional<PropertyDetails> findById_DetailIdAndId_PropertyId(Integer detailId, Long propertyId);
 
-	long countById_PropertyIdAndId_DetailIdIn(Long propertyId, Collection<Integer> detailIds);
+	@EntityGraph(attributePaths = "detail")
+	List<PropertyDetails> findById_PropertyIdAndId_DetailIdIn(Long propertyId, Collection<Integer> detailIds);
 
 	void deleteById_DetailIdAndId_PropertyId(Integer detailId, Long propertyId);
 
 	void deleteById_PropertyId(Long propertyId);
+
+	// Returns how many items were inserted; an item whose row already exists is skipped
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_details"))
+	@Query(value = """
+		INSERT INTO property_details (detail_id, property_id, value, numeric_value, created_at, updated_at)
+		SELECT item.detail_id, :propertyId, item.value, item.numeric_value, LOCALTIMESTAMP, LOCALTIMESTAMP
+		FROM unnest(CAST(:detailIds AS INTEGER[]), CAST(:values AS TEXT[]), CAST(:numericValues AS NUMERIC[]))
+			AS item(detail_id, value, numeric_value)
+		ON CONFLICT (detail_id, property_id) DO NOTHING
+		""", nativeQuery = true)
+	int insertAll(@Param("propertyId") Long propertyId,
+	              @Param("detailIds") Integer[] detailIds,
+	              @Param("values") String[] values,
+	              @Param("numericValues") BigDecimal[] numericValues);
+
+	// One statement for any number of items; rows whose value is unchanged keep their updated_at
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_details"))
+	@Query(value = """
+		INSERT INTO property_details (detail_id, property_id, value, numeric_value, created_at, updated_at)
+		SELECT item.detail_id, :propertyId, item.value, item.numeric_value, LOCALTIMESTAMP, LOCALTIMESTAMP
+		FROM unnest(CAST(:detailIds AS INTEGER[]), CAST(:values AS TEXT[]), CAST(:numericValues AS NUMERIC[]))
+			AS item(detail_id, value, numeric_value)
+		ON CONFLICT (detail_id, property_id) DO UPDATE
+		SET value = EXCLUDED.value, numeric_value = EXCLUDED.numeric_value, updated_at = EXCLUDED.updated_at
+		WHERE (property_details.value, property_details.numeric_value)
+			IS DISTINCT FROM (EXCLUDED.value, EXCLUDED.numeric_value)
+		""", nativeQuery = true)
+	int upsertAll(@Param("propertyId") Long propertyId,
+	              @Param("detailIds") Integer[] detailIds,
+	              @Param("values") String[] values,
+	              @Param("numericValues") BigDecimal[] numericValues);
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_details"))
+	@Query(value = """
+		DELETE FROM property_details
+		WHERE property_id = :propertyId AND detail_id <> ALL (CAST(:keptDetailIds AS INTEGER[]))
+		""", nativeQuery = true)
+	int deleteAllExcept(@Param("propertyId") Long propertyId, @Param("keptDetailIds") Integer[] keptDetailIds);
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_details"))
+	@Query(value = "DELETE FROM property_details WHERE property_id = ANY (CAST(:propertyIds AS BIGINT[]))", nativeQuery = true)
+	int deleteByPropertyIds(@Param("propertyIds") Long[] propertyIds);
+
+	// Recomputes numeric_value after a define detail switches between text and number
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_details"))
+	@Query(value = """
+		UPDATE property_details
+		SET numeric_value = CASE
+			WHEN :isNumber AND value ~ '^\\s*[-+]?([0-9]+(\\.[0-9]*)?|\\.[0-9]+)([eE][-+]?[0-9]+)?\\s*$'
+			THEN CAST(TRIM(value) AS NUMERIC)
+		END
+		WHERE detail_id = :detailId
+		""", nativeQuery = true)
+	int refreshNumericValues(@Param("detailId") Integer detailId, @Param("isNumber") boolean isNumber);
 }
 
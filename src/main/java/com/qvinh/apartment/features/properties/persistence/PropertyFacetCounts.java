@@ -0,0 +1,18 @@
+package com.qvinh.apartment.features.properties.persistence;
+
+import java.util.Map;
+
+/**
+ * Raw facet counts. Each dimension is counted without its own filter; {@code priceBuckets} is keyed by
+ * {@code width_bucket} index (0 below the first bound, n at or above the last); {@code details} maps
+ * detail id to value counts.
+ */
+public record PropertyFacetCounts(
+	long total,
+	Map<Integer, Long> types,
+	Map<Integer, Long> areas,
+	Map<Boolean, Long> forRent,
+	Map<Integer, Long> priceBuckets,
+	Map<Integer, Map<String, Long>> details
+) {
+}
@@ -0,0 +1,11 @@
+package com.qvinh.apartment.features.properties.persistence;
+
+/**
+ * A gallery row as written by {@link PropertyGalleryRepository#insertAll}.
+ */
+public interface PropertyGalleryPositionRow {
+
+	Long getFileId();
+
+	Integer getPosition();
+}
@@ -2,13 +2,99 @@ package com.qvinh.apartment.features.properties.persistence;
 
 import com.qvinh.apartment.features.properties.domain.PropertyGallery;
 import com.qvinh.apartment.features.properties.domain.PropertyGalleryId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface PropertyGalleryRepository extends JpaRepository<PropertyGallery, PropertyGalleryId> {
 
 	List<PropertyGallery> findByProperty_PropertyId(Long propertyId);
-}
 
+	List<PropertyGallery> findByProperty_PropertyIdOrderByPositionAscId_FileIdAsc(Long propertyId);
+
+	@Query("select g.id.fileId from PropertyGallery g where g.id.propertyId = :propertyId and g.id.fileId in :fileIds")
+	List<Long> findFileIdsIn(@Param("propertyId") Long propertyId, @Param("fileIds") Collection<Long> fileIds);
+
+	@Query("select g.id.propertyId from PropertyGallery g where g.id.fileId = :fileId")
+	List<Long> findPropertyIdsByFileId(@Param("fileId") Long fileId);
+
+	@Query("select max(g.position) from PropertyGallery g where g.id.propertyId = :propertyId")
+	Integer findMaxPosition(@Param("propertyId") Long propertyId);
+
+	/**
+	 * Moves each listed file to its 0-based index in {@code fileIds} in one statement; rows already in place
+	 * are left alone. Returns the number of files that moved.
+	 */
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_gallery"))
+	@Query(value = """
+		UPDATE property_gallery g SET position = o.ord - 1, updated_at = LOCALTIMESTAMP
+		FROM unnest(CAST(:fileIds AS BIGINT[])) WITH ORDINALITY AS o(file_id, ord)
+		WHERE g.property_id = :propertyId AND g.file_id = o.file_id AND g.position <> o.ord - 1
+		""", nativeQuery = true)
+	int reorder(@Param("propertyId") Long propertyId, @Param("fileIds") Long[] fileIds);
 
+	/**
+	 * Appends {@code fileIds} in order from {@code firstPosition} in one statement and returns the rows it
+	 * wrote. Files a concurrent request already added are skipped, not failed, and are missing from the
+	 * result. Not {@code @Modifying}, which cannot return rows; the query space still flushes pending
+	 * gallery changes first.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_gallery"))
+	@Query(value = """
+		INSERT INTO property_gallery (property_id, file_id, position, created_at, updated_at)
+		SELECT :propertyId, f.file_id, :firstPosition + f.ord - 1, LOCALTIMESTAMP, LOCALTIMESTAMP
+		FROM unnest(CAST(:fileIds AS BIGINT[])) WITH ORDINALITY AS f(file_id, ord)
+		ON CONFLICT (property_id, file_id) DO NOTHING
+		RETURNING file_id AS "fileId", position AS "position"
+		""", nativeQuery = true)
+	List<PropertyGalleryPositionRow> insertAll(@Param("propertyId") Long propertyId,
+	                                           @Param("fileIds") Long[] fileIds,
+	                                           @Param("firstPosition") int firstPosition);
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_gallery"))
+	@Query(value = """
+		DELETE FROM property_gallery
+		WHERE property_id = :propertyId AND file_id = ANY(CAST(:fileIds AS BIGINT[]))
+		""", nativeQuery = true)
+	int deleteFiles(@Param("propertyId") Long propertyId, @Param("fileIds") Long[] fileIds);
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_gallery"))
+	@Query(value = "DELETE FROM property_gallery WHERE file_id = :fileId", nativeQuery = true)
+	int deleteByFileId(@Param("fileId") Long fileId);
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_gallery"))
+	@Query(value = "DELETE FROM property_gallery WHERE property_id = ANY (CAST(:propertyIds AS BIGINT[]))", nativeQuery = true)
+	int deleteByPropertyIds(@Param("propertyIds") Long[] propertyIds);
+
+	/**
+	 * {@link #deleteByPropertyIds} that also queues the removed files no other property's gallery uses
+	 * into {@code stored_file_cleanup}. Returns the number of files queued.
+	 */
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_gallery"))
+	@Query(value = """
+		WITH removed AS (
+			DELETE FROM property_gallery WHERE property_id = ANY (CAST(:propertyIds AS BIGINT[])) RETURNING file_id
+		)
+		INSERT INTO stored_file_cleanup (file_id, queued_at)
+		SELECT DISTINCT r.file_id, LOCALTIMESTAMP
+		FROM removed r
+		WHERE NOT EXISTS (
+			SELECT 1 FROM property_gallery g
+			WHERE g.file_id = r.file_id AND g.property_id <> ALL (CAST(:propertyIds AS BIGINT[]))
+		)
+		ON CONFLICT (file_id) DO NOTHING
+		""", nativeQuery = true)
+	int deleteByPropertyIdsQueuingFiles(@Param("propertyIds") Long[] propertyIds);
+}
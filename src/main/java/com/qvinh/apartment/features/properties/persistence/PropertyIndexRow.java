@@ -0,0 +1,19 @@
+package com.qvinh.apartment.features.properties.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a property an in-memory filter index needs.
+ */
+public record PropertyIndexRow(
+	long propertyId,
+	boolean isPublic,
+	boolean isForRent,
+	int typeId,
+	int areaId,
+	long saleUserId,
+	BigDecimal price,
+	LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,172 @@
+package com.qvinh.apartment.features.properties.persistence;
+
+import com.qvinh.apartment.features.properties.domain.Property;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keyset (seek) pagination over {@link Property}: one sort field plus {@code propertyId} as tie-breaker.
+ * Null sort values follow PostgreSQL defaults (last when ascending, first when descending).
+ */
+public final class PropertyKeyset {
+
+	static final String ATTR_PROPERTY_ID = "propertyId";
+
+	private static final String SEPARATOR = "\n";
+	private static final String NULL_VALUE = "~";
+	private static final String VALUE_PREFIX = "=";
+	private static final String INVALID_CURSOR = "Invalid cursor";
+	private static final Set<Class<?>> SUPPORTED_TYPES =
+		Set.of(String.class, BigDecimal.class, LocalDateTime.class, Long.class, Integer.class, Boolean.class);
+
+	private PropertyKeyset() {
+	}
+
+	public record Cursor(String field, Sort.Direction direction, String value, long propertyId) {
+	}
+
+	public static String encode(Cursor cursor) {
+		String value = cursor.value() == null ? NULL_VALUE : VALUE_PREFIX + cursor.value();
+		String raw = String.join(SEPARATOR, cursor.field(), cursor.direction().name(), Long.toString(cursor.propertyId()), value);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static Cursor decode(String token) {
+		String raw;
+		try {
+			raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException(INVALID_CURSOR, ex);
+		}
+		String[] parts = raw.split(SEPARATOR, 4);
+		if (parts.length != 4) {
+			throw new IllegalArgumentException(INVALID_CURSOR);
+		}
+		try {
+			String value = NULL_VALUE.equals(parts[3]) ? null : stripValuePrefix(parts[3]);
+			return new Cursor(parts[0], Sort.Direction.valueOf(parts[1]), value, Long.parseLong(parts[2]));
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException(INVALID_CURSOR, ex);
+		}
+	}
+
+	/**
+	 * Cursor pointing at the given row, to be returned as {@code nextCursor}.
+	 */
+	public static Cursor at(Sort.Order order, Object sortValue, long propertyId) {
+		return new Cursor(order.getProperty(), order.getDirection(), sortValue == null ? null : formatValue(sortValue), propertyId);
+	}
+
+	/**
+	 * Ensures the cursor was issued for the same ordering as the current request.
+	 */
+	public static void checkMatches(Cursor cursor, Sort.Order order) {
+		if (!cursor.field().equals(order.getProperty()) || cursor.direction() != order.getDirection()) {
+			throw new IllegalArgumentException("Cursor does not match the requested sort");
+		}
+	}
+
+	public static List<Order> orderBy(Sort.Order order, Root<Property> root, CriteriaBuilder cb) {
+		Path<Object> idPath = root.get(ATTR_PROPERTY_ID);
+		if (ATTR_PROPERTY_ID.equals(order.getProperty())) {
+			return List.of(order.isAscending() ? cb.asc(idPath) : cb.desc(idPath));
+		}
+		Path<Object> sortPath = root.get(order.getProperty());
+		if (!SUPPORTED_TYPES.contains(sortPath.getJavaType())) {
+			throw new IllegalArgumentException("Sort field is not supported in cursor mode: " + order.getProperty());
+		}
+		return order.isAscending()
+			? List.of(cb.asc(sortPath), cb.asc(idPath))
+			: List.of(cb.desc(sortPath), cb.desc(idPath));
+	}
+
+	/**
+	 * Rows strictly after the cursor in {@code (field, propertyId)} order.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public static Predicate after(Cursor cursor, Root<Property> root, CriteriaBuilder cb) {
+		boolean ascending = cursor.direction().isAscending();
+		Expression idPath = root.get(ATTR_PROPERTY_ID);
+		Predicate idAfter = ascending
+			? cb.greaterThan(idPath, cursor.propertyId())
+			: cb.lessThan(idPath, cursor.propertyId());
+		if (ATTR_PROPERTY_ID.equals(cursor.field())) {
+			return idAfter;
+		}
+
+		Path sortPath = root.get(cursor.field());
+		boolean nullable = isNullable(root, cursor.field());
+		if (cursor.value() == null) {
+			Predicate sameNull = cb.and(cb.isNull(sortPath), idAfter);
+			return ascending ? sameNull : cb.or(cb.isNotNull(sortPath), sameNull);
+		}
+
+		Comparable value = parseValue(cursor.value(), sortPath.getJavaType());
+		Predicate beyond = ascending ? cb.greaterThan(sortPath, value) : cb.lessThan(sortPath, value);
+		Predicate tie = cb.and(cb.equal(sortPath, value), idAfter);
+		if (ascending && nullable) {
+			return cb.or(beyond, tie, cb.isNull(sortPath));
+		}
+		return cb.or(beyond, tie);
+	}
+
+	private static boolean isNullable(Root<Property> root, String field) {
+		Attribute<? super Property, ?> attribute = root.getModel().getAttribute(field);
+		return !(attribute instanceof SingularAttribute<?, ?> singular) || singular.isOptional();
+	}
+
+	private static String stripValuePrefix(String value) {
+		if (!value.startsWith(VALUE_PREFIX)) {
+			throw new IllegalArgumentException(INVALID_CURSOR);
+		}
+		return value.substring(VALUE_PREFIX.length());
+	}
+
+	private static String formatValue(Object value) {
+		if (value instanceof BigDecimal decimal) {
+			return decimal.toPlainString();
+		}
+		return value.toString();
+	}
+
+	private static Comparable<?> parseValue(String value, Class<?> type) {
+		try {
+			if (String.class.equals(type)) {
+				return value;
+			}
+			if (BigDecimal.class.equals(type)) {
+				return new BigDecimal(value);
+			}
+			if (LocalDateTime.class.equals(type)) {
+				return LocalDateTime.parse(value);
+			}
+			if (Long.class.equals(type)) {
+				return Long.valueOf(value);
+			}
+			if (Integer.class.equals(type)) {
+				return Integer.valueOf(value);
+			}
+			if (Boolean.class.equals(type)) {
+				return Boolean.valueOf(value);
+			}
+		} catch (NumberFormatException | DateTimeParseException ex) {
+			throw new IllegalArgumentException(INVALID_CURSOR, ex);
+		}
+		throw new IllegalArgumentException(INVALID_CURSOR);
+	}
+}
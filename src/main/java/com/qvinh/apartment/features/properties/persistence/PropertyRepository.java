@@ -1,9 +1,72 @@
 package com.qvinh.apartment.features.properties.persistence;
 
 import com.qvinh.apartment.features.properties.domain.Property;
+import com.qvinh.apartment.shared.api.ResourceVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSpecificationExecutor<Property>, PropertyRepositoryCustom {
-}
 
+	/**
+	 * Row count from planner statistics; negative when the table was never analyzed.
+	 */
+	@Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass('property')", nativeQuery = true)
+	Long estimateRowCount();
+
+	/**
+	 * Version of the full property view: the property, its type, area and sale contact, plus count and
+	 * newest stamp of its details (with their definitions) and gallery files. Reads no text columns.
+	 */
+	@Query(value = """
+		SELECT md5(concat_ws('|', p.updated_at, t.updated_at, a.updated_at, s.updated_at, u.updated_at,
+		                     d.item_count, d.last_at, g.item_count, g.last_at)) AS "tag",
+		       GREATEST(p.updated_at, t.updated_at, a.updated_at, s.updated_at, u.updated_at, d.last_at, g.last_at)
+		           AS "lastModified"
+		FROM property p
+		JOIN property_type t ON t.type_id = p.type_id
+		JOIN property_area a ON a.area_id = p.area_id
+		JOIN property_sale_info s ON s.user_id = p.sale_id
+		LEFT JOIN users u ON u.id = s.user_id
+		CROSS JOIN LATERAL (
+			SELECT count(*) AS item_count, GREATEST(max(pd.updated_at), max(dd.updated_at)) AS last_at
+			FROM property_details pd
+			JOIN property_define_details dd ON dd.detail_id = pd.detail_id
+			WHERE pd.property_id = p.property_id
+		) d
+		CROSS JOIN LATERAL (
+			SELECT count(*) AS item_count, GREATEST(max(pg.updated_at), max(f.updated_at)) AS last_at
+			FROM property_gallery pg
+			JOIN stored_file f ON f.file_id = pg.file_id
+			WHERE pg.property_id = p.property_id
+		) g
+		WHERE p.property_id = :id
+		""", nativeQuery = true)
+	Optional<ResourceVersion> findVersionById(@Param("id") long id);
+
+	/**
+	 * Locks the listed properties that exist, in id order so concurrent deletes cannot deadlock. The lock
+	 * also blocks gallery and detail inserts for them until the transaction ends.
+	 */
+	@Query(value = """
+		SELECT property_id FROM property
+		WHERE property_id = ANY (CAST(:ids AS BIGINT[]))
+		ORDER BY property_id
+		FOR UPDATE
+		""", nativeQuery = true)
+	List<Long> lockExistingIds(@Param("ids") Long[] ids);
+
+	// card and search document rows cascade; details and gallery rows must be gone first
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property"))
+	@Query(value = "DELETE FROM property WHERE property_id = ANY (CAST(:ids AS BIGINT[]))", nativeQuery = true)
+	int deleteByIds(@Param("ids") Long[] ids);
+}
@@ -1,11 +1,36 @@
 package com.qvinh.apartment.features.properties.persistence;
 
 import com.qvinh.apartment.features.properties.domain.Property;
+import com.qvinh.apartment.features.properties.dto.property.PropertyField;
+import com.qvinh.apartment.features.properties.dto.property.PropertyRes;
+import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+import com.qvinh.apartment.shared.api.KeysetSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
 public interface PropertyRepositoryCustom {
 	Page<Property> findAllWithRelations(Specification<Property> spec, Pageable pageable);
-	Property findByIdWithRelations(Long id);
+	/** Relations outside {@code fields} are not fetched; the same holds for the other {@code fields} variants. */
+	Page<Property> findAllWithRelations(Specification<Property> spec, Pageable pageable, Set<PropertyField> fields);
+	Page<PropertyRes> findAllRes(Specification<Property> spec, Pageable pageable);
+	Slice<Property> findSliceWithRelations(Specification<Property> spec, Pageable pageable, Set<PropertyField> fields);
+	Slice<PropertyRes> findSliceRes(Specification<Property> spec, Pageable pageable);
+	List<PropertyRes> findAllResByIds(List<Long> ids);
+	Property findByIdWithRelations(Long id, Set<PropertyField> fields);
+	KeysetSlice<Long> findIdsAfter(Specification<Property> spec, Sort.Order order, PropertyKeyset.Cursor after, int size);
+	List<Property> findAllByIdsWithRelations(List<Long> ids, Set<PropertyField> fields);
+	PropertyFacetCounts countFacets(PropertySearchReq req, List<BigDecimal> priceBounds);
+	/** Streams index rows of the given properties, or of all properties when {@code ids} is null. */
+	void forEachIndexRow(Collection<Long> ids, Consumer<PropertyIndexRow> action);
+	/** Streams the list rows matching {@code req} in property id order. */
+	void forEachRes(PropertySearchReq req, Consumer<PropertyRes> action);
 }
@@ -1,21 +1,54 @@
 package com.qvinh.apartment.features.properties.persistence;
 
 import com.qvinh.apartment.features.properties.domain.Property;
-import jakarta.persistence.EntityGraph;
+import com.qvinh.apartment.features.properties.domain.PropertyCard;
+import com.qvinh.apartment.features.properties.dto.property.PropertyField;
+import com.qvinh.apartment.features.properties.dto.property.PropertyRes;
+import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+import com.qvinh.apartment.shared.api.KeysetSlice;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.TypedQuery;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Relation loading is two-phase: page the ids with the specification first, then hydrate exactly
+ * those ids. Fetch-joining collections on a paginated query would make Hibernate paginate in memory.
+ * List rows ({@link PropertyRes}) skip entities altogether and are read as one tuple query over the
+ * denormalized {@code property_card}.
+ * Slices skip the count and read one extra row to tell whether a next page exists.
+ */
 public class PropertyRepositoryCustomImpl implements PropertyRepositoryCustom {
 
 	private static final String ATTR_TYPE = "type";
@@ -27,16 +60,306 @@ public class PropertyRepositoryCustomImpl implements PropertyRepositoryCustom {
 	private static final String ATTR_FILE = "file";
 	private static final String ATTR_DETAIL = "detail";
 	private static final String ATTR_PROPERTY_ID = "propertyId";
-	private static final String FETCHGRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+	private static final String COL_PROPERTY_ID = "propertyId";
+	private static final String COL_TITLE = "title";
+	private static final String COL_PRICE = "price";
+	private static final String COL_DESCRIPTION = "description";
+	private static final String COL_TYPE_ID = "typeId";
+	private static final String COL_TYPE_NAME = "typeName";
+	private static final String COL_SALE_USER_ID = "saleUserId";
+	private static final String COL_SALE_DISPLAY_NAME = "saleDisplayName";
+	private static final String COL_SALE_PHONE = "salePhone";
+	private static final String COL_AREA_ID = "areaId";
+	private static final String COL_AREA_NAME = "areaName";
+	private static final String COL_IS_PUBLIC = "isPublic";
+	private static final String COL_IS_FOR_RENT = "isForRent";
+	private static final String COL_CREATED_AT = "createdAt";
+	private static final String COL_UPDATED_AT = "updatedAt";
+	private static final String COL_MAIN_IMAGE = "mainImage";
+
+	private static final int INDEX_FETCH_SIZE = 10_000;
+	private static final int EXPORT_FETCH_SIZE = 1_000;
 
 	@PersistenceContext
 	private EntityManager entityManager;
 
 	@Override
 	public Page<Property> findAllWithRelations(Specification<Property> spec, Pageable pageable) {
+		return findAllWithRelations(spec, pageable, PropertyField.ALL);
+	}
+
+	@Override
+	public Page<Property> findAllWithRelations(Specification<Property> spec, Pageable pageable, Set<PropertyField> fields) {
+		long total = count(spec);
+		if (total == 0 || pageable.getOffset() >= total) {
+			return new PageImpl<>(List.of(), pageable, total);
+		}
+		List<Long> ids = findIds(spec, pageable, pageable.getPageSize());
+		return new PageImpl<>(hydrate(ids, fields), pageable, total);
+	}
+
+	@Override
+	public Page<PropertyRes> findAllRes(Specification<Property> spec, Pageable pageable) {
+		long total = count(spec);
+		if (total == 0 || pageable.getOffset() >= total) {
+			return new PageImpl<>(List.of(), pageable, total);
+		}
+		return new PageImpl<>(findRes(spec, pageable, pageable.getPageSize()), pageable, total);
+	}
+
+	@Override
+	public Slice<Property> findSliceWithRelations(Specification<Property> spec, Pageable pageable, Set<PropertyField> fields) {
+		Slice<Long> ids = toSlice(findIds(spec, pageable, pageable.getPageSize() + 1), pageable);
+		return new SliceImpl<>(hydrate(ids.getContent(), fields), pageable, ids.hasNext());
+	}
+
+	@Override
+	public Slice<PropertyRes> findSliceRes(Specification<Property> spec, Pageable pageable) {
+		return toSlice(findRes(spec, pageable, pageable.getPageSize() + 1), pageable);
+	}
+
+	@Override
+	public List<PropertyRes> findAllResByIds(List<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<PropertyCard> card = query.from(PropertyCard.class);
+		selectRes(query, card);
+		query.where(card.get(ATTR_PROPERTY_ID).in(ids));
+
+		Map<Long, PropertyRes> byId = entityManager.createQuery(query).getResultList().stream()
+			.map(PropertyRepositoryCustomImpl::toRes)
+			.collect(Collectors.toMap(PropertyRes::getPropertyId, Function.identity(), (a, b) -> a));
+		return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+	}
+
+	@Override
+	public Property findByIdWithRelations(Long id, Set<PropertyField> fields) {
+		List<Property> results = hydrate(List.of(id), fields);
+		return results.isEmpty() ? null : results.get(0);
+	}
+
+	@Override
+	public KeysetSlice<Long> findIdsAfter(Specification<Property> spec, Sort.Order order, PropertyKeyset.Cursor after, int size) {
 		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Property> root = query.from(Property.class);
+		query.multiselect(root.get(ATTR_PROPERTY_ID), root.get(order.getProperty()));
+
+		List<Predicate> predicates = new ArrayList<>();
+		if (spec != null) {
+			Predicate predicate = spec.toPredicate(root, query, cb);
+			if (predicate != null) {
+				predicates.add(predicate);
+			}
+		}
+		if (after != null) {
+			predicates.add(PropertyKeyset.after(after, root, cb));
+		}
+		query.where(predicates.toArray(Predicate[]::new));
+		query.orderBy(PropertyKeyset.orderBy(order, root, cb));
+
+		// One extra row tells whether another slice exists
+		List<Tuple> rows = entityManager.createQuery(query)
+			.setMaxResults(size + 1)
+			.getResultList();
+		boolean hasNext = rows.size() > size;
+		List<Tuple> page = hasNext ? rows.subList(0, size) : rows;
+
+		List<Long> ids = page.stream().map(row -> row.get(0, Long.class)).toList();
+		String nextCursor = null;
+		if (hasNext) {
+			Tuple last = page.get(page.size() - 1);
+			nextCursor = PropertyKeyset.encode(PropertyKeyset.at(order, last.get(1), last.get(0, Long.class)));
+		}
+		return new KeysetSlice<>(ids, PageRequest.of(0, size, Sort.by(order)), nextCursor);
+	}
+
+	@Override
+	public List<Property> findAllByIdsWithRelations(List<Long> ids, Set<PropertyField> fields) {
+		return hydrate(ids, fields);
+	}
+
+	/**
+	 * All facet dimensions in one scan: {@code GROUPING SETS} over the rows matching the non-facet filters,
+	 * with a {@code FILTER} per dimension that applies every facet filter except that dimension's own.
+	 * Home-page details are joined in, so counts are over distinct properties.
+	 */
+	@Override
+	public PropertyFacetCounts countFacets(PropertySearchReq req, List<BigDecimal> priceBounds) {
+		PropertySqlFilter filter = PropertySqlFilter.from(req);
+		List<PropertySqlFilter.DetailCondition> detailConditions = filter.detailConditions();
+
+		StringBuilder detailFlags = new StringBuilder();
+		List<String> allDetails = new ArrayList<>();
+		List<String> otherDetails = new ArrayList<>();
+		for (int i = 0; i < detailConditions.size(); i++) {
+			PropertySqlFilter.DetailCondition condition = detailConditions.get(i);
+			detailFlags.append(", ").append(condition.sql()).append(" AS m_detail_").append(i);
+			allDetails.add("f.m_detail_" + i);
+			// a detail facet ignores the filters on its own detail
+			otherDetails.add(condition.detailId() == null
+				? "f.m_detail_" + i
+				: "(hd.detail_id = " + condition.detailId() + " OR f.m_detail_" + i + ")");
+		}
+		String bounds = priceBounds.stream().map(BigDecimal::toPlainString).collect(Collectors.joining(", "));
+
+		String sql = "WITH f AS (SELECT p.property_id, p.type_id, p.area_id, p.is_for_rent,"
+			+ " width_bucket(p.price, CAST(ARRAY[" + bounds + "] AS numeric[])) AS price_bucket,"
+			+ " " + filter.facetCondition(PropertySqlFilter.Facet.TYPE) + " AS m_type,"
+			+ " " + filter.facetCondition(PropertySqlFilter.Facet.AREA) + " AS m_area,"
+			+ " " + filter.facetCondition(PropertySqlFilter.Facet.FOR_RENT) + " AS m_rent,"
+			+ " " + filter.facetCondition(PropertySqlFilter.Facet.PRICE) + " AS m_price"
+			+ detailFlags
+			+ " FROM property p WHERE " + filter.baseWhere() + ")"
+			+ " SELECT f.type_id, f.area_id, f.is_for_rent, f.price_bucket, hd.detail_id, hd.value,"
+			+ " GROUPING(f.type_id), GROUPING(f.area_id), GROUPING(f.is_for_rent), GROUPING(f.price_bucket), GROUPING(hd.detail_id),"
+			+ countWhere("f.m_area", "f.m_rent", "f.m_price", and(allDetails)) + ","
+			+ countWhere("f.m_type", "f.m_rent", "f.m_price", and(allDetails)) + ","
+			+ countWhere("f.m_type", "f.m_area", "f.m_price", and(allDetails)) + ","
+			+ countWhere("f.m_type", "f.m_area", "f.m_rent", and(allDetails)) + ","
+			+ countWhere("f.m_type", "f.m_area", "f.m_rent", "f.m_price", and(otherDetails)) + ","
+			+ countWhere("f.m_type", "f.m_area", "f.m_rent", "f.m_price", and(allDetails))
+			+ " FROM f LEFT JOIN (SELECT pd.property_id, pd.detail_id, pd.value FROM property_details pd"
+			+ " JOIN property_define_details dd ON dd.detail_id = pd.detail_id AND dd.show_in_home_page) hd"
+			+ " ON hd.property_id = f.property_id"
+			+ " GROUP BY GROUPING SETS ((f.type_id), (f.area_id), (f.is_for_rent), (f.price_bucket), (hd.detail_id, hd.value), ())";
+
+		Query query = entityManager.createNativeQuery(sql);
+		filter.bind(query);
+		@SuppressWarnings("unchecked")
+		List<Object[]> rows = query.getResultList();
+
+		long total = 0;
+		Map<Integer, Long> types = new LinkedHashMap<>();
+		Map<Integer, Long> areas = new LinkedHashMap<>();
+		Map<Boolean, Long> forRent = new LinkedHashMap<>();
+		Map<Integer, Long> priceBuckets = new LinkedHashMap<>();
+		Map<Integer, Map<String, Long>> details = new HashMap<>();
+		for (Object[] row : rows) {
+			if (isGrouped(row[6])) {
+				types.put(toInt(row[0]), toLong(row[11]));
+			} else if (isGrouped(row[7])) {
+				areas.put(toInt(row[1]), toLong(row[12]));
+			} else if (isGrouped(row[8])) {
+				forRent.put((Boolean) row[2], toLong(row[13]));
+			} else if (isGrouped(row[9])) {
+				priceBuckets.put(toInt(row[3]), toLong(row[14]));
+			} else if (isGrouped(row[10])) {
+				// properties without home-page details form a null group
+				if (row[4] != null) {
+					details.computeIfAbsent(toInt(row[4]), id -> new LinkedHashMap<>()).put((String) row[5], toLong(row[15]));
+				}
+			} else {
+				total = toLong(row[16]);
+			}
+		}
+		return new PropertyFacetCounts(total, types, areas, forRent, priceBuckets, details);
+	}
+
+	/**
+	 * Streamed with a fetch size so a full load does not hold the table in memory; needs a transaction.
+	 */
+	@Override
+	public void forEachIndexRow(Collection<Long> ids, Consumer<PropertyIndexRow> action) {
+		if (ids != null && ids.isEmpty()) {
+			return;
+		}
+		String sql = "SELECT p.property_id, p.is_public, p.is_for_rent, p.type_id, p.area_id, p.sale_id, p.price, p.created_at"
+			+ " FROM property p" + (ids == null ? "" : " WHERE p.property_id IN (:ids)");
+		Query query = entityManager.createNativeQuery(sql);
+		if (ids != null) {
+			query.setParameter("ids", ids);
+		}
+		query.setHint(HibernateHints.HINT_FETCH_SIZE, INDEX_FETCH_SIZE);
+		try (Stream<?> rows = query.getResultStream()) {
+			rows.forEach(row -> action.accept(toIndexRow((Object[]) row)));
+		}
+	}
+
+	/**
+	 * Card rows filtered by {@link PropertySqlFilter} and read through a cursor with a fixed fetch size,
+	 * so memory stays flat however many rows match; needs a transaction. Closing the stream early, e.g.
+	 * when {@code action} throws, closes the cursor and ends the query.
+	 */
+	@Override
+	public void forEachRes(PropertySearchReq req, Consumer<PropertyRes> action) {
+		PropertySqlFilter filter = PropertySqlFilter.from(req);
+		String sql = "SELECT c.property_id, c.title, c.price, c.description, c.type_id, c.type_name,"
+			+ " c.sale_user_id, c.sale_display_name, c.sale_phone, c.area_id, c.area_name,"
+			+ " c.is_public, c.is_for_rent, c.created_at, c.updated_at, c.main_image_relative_path"
+			+ " FROM property p JOIN property_card c ON c.property_id = p.property_id"
+			+ " WHERE " + filter.where() + " ORDER BY p.property_id";
+		Query query = entityManager.createNativeQuery(sql);
+		filter.bind(query);
+		query.setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE);
+		try (Stream<?> rows = query.getResultStream()) {
+			rows.forEach(row -> action.accept(toCardRes((Object[]) row)));
+		}
+	}
+
+	private static PropertyIndexRow toIndexRow(Object[] row) {
+		return new PropertyIndexRow(
+			toLong(row[0]),
+			(Boolean) row[1],
+			(Boolean) row[2],
+			toInt(row[3]),
+			toInt(row[4]),
+			toLong(row[5]),
+			(BigDecimal) row[6],
+			toLocalDateTime(row[7]));
+	}
+
+	private static PropertyRes toCardRes(Object[] row) {
+		PropertyRes res = new PropertyRes();
+		res.setPropertyId(toLong(row[0]));
+		res.setTitle((String) row[1]);
+		res.setPrice((BigDecimal) row[2]);
+		res.setDescription((String) row[3]);
+		res.setTypeId(toInt(row[4]));
+		res.setTypeName((String) row[5]);
+		res.setSaleUserId(toLong(row[6]));
+		res.setSaleDisplayName((String) row[7]);
+		res.setSalePhone((String) row[8]);
+		res.setAreaId(toInt(row[9]));
+		res.setAreaName((String) row[10]);
+		res.setIsPublic((Boolean) row[11]);
+		res.setIsForRent((Boolean) row[12]);
+		res.setCreatedAt(toLocalDateTime(row[13]));
+		res.setUpdatedAt(toLocalDateTime(row[14]));
+		res.setMainImageRelativePath((String) row[15]);
+		return res;
+	}
+
+	private static LocalDateTime toLocalDateTime(Object value) {
+		return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+	}
+
+	private static String countWhere(String... conditions) {
+		return " count(DISTINCT f.property_id) FILTER (WHERE " + String.join(" AND ", conditions) + ")";
+	}
+
+	private static String and(List<String> conditions) {
+		return conditions.isEmpty() ? "TRUE" : String.join(" AND ", conditions);
+	}
+
+	private static boolean isGrouped(Object grouping) {
+		return ((Number) grouping).intValue() == 0;
+	}
+
+	private static Integer toInt(Object value) {
+		return value == null ? null : ((Number) value).intValue();
+	}
 
-		// Count query
+	private static long toLong(Object value) {
+		return value == null ? 0L : ((Number) value).longValue();
+	}
+
+	private long count(Specification<Property> spec) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
 		CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
 		Root<Property> countRoot = countQuery.from(Property.class);
 		countQuery.select(cb.count(countRoot));
@@ -45,65 +368,180 @@ public class PropertyRepositoryCustomImpl implements PropertyRepositoryCustom {
 			if (predicate != null) {
 				countQuery.where(predicate);
 			}
+			// ordering a specification may have applied is meaningless for the count
+			countQuery.orderBy(List.of());
 		}
-		Long total = entityManager.createQuery(countQuery).getSingleResult();
+		return entityManager.createQuery(countQuery).getSingleResult();
+	}
 
-		// Data query with EntityGraph
-		CriteriaQuery<Property> dataQuery = cb.createQuery(Property.class);
-		Root<Property> dataRoot = dataQuery.from(Property.class);
-		dataQuery.select(dataRoot);
+	private static <T> Slice<T> toSlice(List<T> rows, Pageable pageable) {
+		boolean hasNext = rows.size() > pageable.getPageSize();
+		return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+	}
+
+	/**
+	 * Rows come from {@code property_card}. Filters and ordering still apply to {@code property}, joined on
+	 * the key, since specifications are written against it; without one only the card table is read.
+	 */
+	private List<PropertyRes> findRes(Specification<Property> spec, Pageable pageable, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<PropertyCard> card = query.from(PropertyCard.class);
+		selectRes(query, card);
+		Root<?> ordered = card;
 		if (spec != null) {
-			Predicate predicate = spec.toPredicate(dataRoot, dataQuery, cb);
+			Root<Property> root = query.from(Property.class);
+			List<Predicate> predicates = new ArrayList<>();
+			predicates.add(cb.equal(root.get(ATTR_PROPERTY_ID), card.get(ATTR_PROPERTY_ID)));
+			Predicate predicate = spec.toPredicate(root, query, cb);
 			if (predicate != null) {
-				dataQuery.where(predicate);
+				predicates.add(predicate);
 			}
+			query.where(predicates.toArray(Predicate[]::new));
+			ordered = root;
 		}
+		query.orderBy(pageOrders(query, ordered, cb, pageable));
 
-		// Apply sorting
-		if (pageable.getSort().isSorted()) {
-			dataQuery.orderBy(pageable.getSort().stream()
-				.map(order -> order.isAscending()
-					? cb.asc(dataRoot.get(order.getProperty()))
-					: cb.desc(dataRoot.get(order.getProperty())))
-				.toList());
+		return entityManager.createQuery(query)
+			.setFirstResult((int) pageable.getOffset())
+			.setMaxResults(limit)
+			.getResultList().stream()
+			.map(PropertyRepositoryCustomImpl::toRes)
+			.toList();
+	}
+
+	private List<Long> findIds(Specification<Property> spec, Pageable pageable, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Property> root = query.from(Property.class);
+		query.select(root.get(ATTR_PROPERTY_ID));
+		if (spec != null) {
+			Predicate predicate = spec.toPredicate(root, query, cb);
+			if (predicate != null) {
+				query.where(predicate);
+			}
 		}
 
-		TypedQuery<Property> typedQuery = entityManager.createQuery(dataQuery);
+		query.orderBy(pageOrders(query, root, cb, pageable));
 
-		// Create and apply EntityGraph
-		EntityGraph<Property> graph = entityManager.createEntityGraph(Property.class);
-		graph.addAttributeNodes(ATTR_TYPE, ATTR_AREA, ATTR_SALE_INFO, ATTR_GALLERIES, ATTR_DETAILS);
-		graph.addSubgraph(ATTR_SALE_INFO).addAttributeNodes(ATTR_USER);
-		graph.addSubgraph(ATTR_GALLERIES).addAttributeNodes(ATTR_FILE);
-		graph.addSubgraph(ATTR_DETAILS).addAttributeNodes(ATTR_DETAIL);
-		typedQuery.setHint(FETCHGRAPH_HINT, graph);
+		return entityManager.createQuery(query)
+			.setFirstResult((int) pageable.getOffset())
+			.setMaxResults(limit)
+			.getResultList();
+	}
 
-		// Apply pagination
-		typedQuery.setFirstResult((int) pageable.getOffset());
-		typedQuery.setMaxResults(pageable.getPageSize());
+	/**
+	 * A specification may order on its own (relevance) and brings its own tie-breaker;
+	 * otherwise propertyId keeps the page boundaries stable when sort values tie.
+	 */
+	private static List<Order> pageOrders(CriteriaQuery<?> query, Root<?> root, CriteriaBuilder cb, Pageable pageable) {
+		List<Order> orders = new ArrayList<>(query.getOrderList());
+		boolean orderedBySpec = !orders.isEmpty();
+		pageable.getSort().forEach(order -> orders.add(order.isAscending()
+			? cb.asc(root.get(order.getProperty()))
+			: cb.desc(root.get(order.getProperty()))));
+		if (!orderedBySpec && pageable.getSort().getOrderFor(ATTR_PROPERTY_ID) == null) {
+			orders.add(cb.asc(root.get(ATTR_PROPERTY_ID)));
+		}
+		return orders;
+	}
 
-		List<Property> content = typedQuery.getResultList();
-		return new PageImpl<>(content, pageable, total);
+	/**
+	 * Scalar columns of {@link PropertyRes}, all denormalized on the card.
+	 */
+	private static void selectRes(CriteriaQuery<Tuple> query, Root<PropertyCard> card) {
+		query.multiselect(
+			card.get(ATTR_PROPERTY_ID).alias(COL_PROPERTY_ID),
+			card.get("title").alias(COL_TITLE),
+			card.get("price").alias(COL_PRICE),
+			card.get("description").alias(COL_DESCRIPTION),
+			card.get("typeId").alias(COL_TYPE_ID),
+			card.get("typeName").alias(COL_TYPE_NAME),
+			card.get("saleUserId").alias(COL_SALE_USER_ID),
+			card.get("saleDisplayName").alias(COL_SALE_DISPLAY_NAME),
+			card.get("salePhone").alias(COL_SALE_PHONE),
+			card.get("areaId").alias(COL_AREA_ID),
+			card.get("areaName").alias(COL_AREA_NAME),
+			card.get("isPublic").alias(COL_IS_PUBLIC),
+			card.get("isForRent").alias(COL_IS_FOR_RENT),
+			card.get("createdAt").alias(COL_CREATED_AT),
+			card.get("updatedAt").alias(COL_UPDATED_AT),
+			card.get("mainImageRelativePath").alias(COL_MAIN_IMAGE)
+		);
 	}
 
-	@Override
-	public Property findByIdWithRelations(Long id) {
+	private static PropertyRes toRes(Tuple row) {
+		PropertyRes res = new PropertyRes();
+		res.setPropertyId(row.get(COL_PROPERTY_ID, Long.class));
+		res.setTitle(row.get(COL_TITLE, String.class));
+		res.setPrice(row.get(COL_PRICE, BigDecimal.class));
+		res.setDescription(row.get(COL_DESCRIPTION, String.class));
+		res.setTypeId(row.get(COL_TYPE_ID, Integer.class));
+		res.setTypeName(row.get(COL_TYPE_NAME, String.class));
+		res.setSaleUserId(row.get(COL_SALE_USER_ID, Long.class));
+		res.setSaleDisplayName(row.get(COL_SALE_DISPLAY_NAME, String.class));
+		res.setSalePhone(row.get(COL_SALE_PHONE, String.class));
+		res.setAreaId(row.get(COL_AREA_ID, Integer.class));
+		res.setAreaName(row.get(COL_AREA_NAME, String.class));
+		res.setIsPublic(row.get(COL_IS_PUBLIC, Boolean.class));
+		res.setIsForRent(row.get(COL_IS_FOR_RENT, Boolean.class));
+		res.setCreatedAt(row.get(COL_CREATED_AT, LocalDateTime.class));
+		res.setUpdatedAt(row.get(COL_UPDATED_AT, LocalDateTime.class));
+		res.setMainImageRelativePath(row.get(COL_MAIN_IMAGE, String.class));
+		return res;
+	}
+
+	/**
+	 * The fetch graph follows {@code fields}: relations nobody asked for stay uninitialized proxies.
+	 */
+	private List<Property> hydrate(List<Long> ids, Set<PropertyField> fields) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
 		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+		// to-one relations in a single join
 		CriteriaQuery<Property> query = cb.createQuery(Property.class);
 		Root<Property> root = query.from(Property.class);
-		query.select(root).where(cb.equal(root.get(ATTR_PROPERTY_ID), id));
+		if (fields.contains(PropertyField.TYPE)) {
+			root.fetch(ATTR_TYPE, JoinType.LEFT);
+		}
+		if (fields.contains(PropertyField.AREA)) {
+			root.fetch(ATTR_AREA, JoinType.LEFT);
+		}
+		if (fields.contains(PropertyField.SALE_INFO)) {
+			root.fetch(ATTR_SALE_INFO, JoinType.LEFT).fetch(ATTR_USER, JoinType.LEFT);
+		}
+		query.select(root).where(root.get(ATTR_PROPERTY_ID).in(ids));
+		List<Property> properties = entityManager.createQuery(query).getResultList();
+		if (properties.isEmpty()) {
+			return List.of();
+		}
+
+		// one query per collection so galleries and details do not multiply each other
+		if (fields.contains(PropertyField.GALLERIES)) {
+			fetchCollection(ids, ATTR_GALLERIES, ATTR_FILE);
+		}
+		if (fields.contains(PropertyField.DETAILS)) {
+			fetchCollection(ids, ATTR_DETAILS, ATTR_DETAIL);
+		}
 
-		TypedQuery<Property> typedQuery = entityManager.createQuery(query);
+		return inIdOrder(ids, properties);
+	}
 
-		// Create and apply EntityGraph
-		EntityGraph<Property> graph = entityManager.createEntityGraph(Property.class);
-		graph.addAttributeNodes(ATTR_TYPE, ATTR_AREA, ATTR_SALE_INFO, ATTR_GALLERIES, ATTR_DETAILS);
-		graph.addSubgraph(ATTR_SALE_INFO).addAttributeNodes(ATTR_USER);
-		graph.addSubgraph(ATTR_GALLERIES).addAttributeNodes(ATTR_FILE);
-		graph.addSubgraph(ATTR_DETAILS).addAttributeNodes(ATTR_DETAIL);
-		typedQuery.setHint(FETCHGRAPH_HINT, graph);
+	private void fetchCollection(List<Long> ids, String collection, String target) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Property> query = cb.createQuery(Property.class);
+		Root<Property> root = query.from(Property.class);
+		root.fetch(collection, JoinType.LEFT).fetch(target, JoinType.LEFT);
+		query.select(root).where(root.get(ATTR_PROPERTY_ID).in(ids));
+		// results are already in the persistence context; the query only initializes the collection
+		entityManager.createQuery(query).getResultList();
+	}
 
-		List<Property> results = typedQuery.getResultList();
-		return results.isEmpty() ? null : results.get(0);
+	private static List<Property> inIdOrder(List<Long> ids, List<Property> properties) {
+		Map<Long, Property> byId = properties.stream()
+			.collect(Collectors.toMap(Property::getPropertyId, Function.identity(), (a, b) -> a));
+		return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
 	}
 }
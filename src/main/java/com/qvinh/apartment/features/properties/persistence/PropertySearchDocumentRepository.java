@@ -0,0 +1,55 @@
+package com.qvinh.apartment.features.properties.persistence;
+
+import com.qvinh.apartment.features.properties.domain.PropertySearchDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+/**
+ * Rebuilds search documents from the {@code property_search_source} view. Nothing is cleared from the
+ * persistence context: the callers are mid-transaction and only the document table is written.
+ */
+public interface PropertySearchDocumentRepository extends JpaRepository<PropertySearchDocument, Long> {
+
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_search_document"))
+	@Query(value = """
+		INSERT INTO property_search_document (property_id, document)
+		SELECT property_id, document FROM property_search_source WHERE property_id IN (:propertyIds)
+		ON CONFLICT (property_id) DO UPDATE SET document = EXCLUDED.document
+		""", nativeQuery = true)
+	int refreshByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
+
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_search_document"))
+	@Query(value = """
+		INSERT INTO property_search_document (property_id, document)
+		SELECT property_id, document FROM property_search_source WHERE type_id = :typeId
+		ON CONFLICT (property_id) DO UPDATE SET document = EXCLUDED.document
+		""", nativeQuery = true)
+	int refreshByTypeId(@Param("typeId") Integer typeId);
+
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_search_document"))
+	@Query(value = """
+		INSERT INTO property_search_document (property_id, document)
+		SELECT property_id, document FROM property_search_source WHERE area_id = :areaId
+		ON CONFLICT (property_id) DO UPDATE SET document = EXCLUDED.document
+		""", nativeQuery = true)
+	int refreshByAreaId(@Param("areaId") Integer areaId);
+
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_search_document"))
+	@Query(value = """
+		INSERT INTO property_search_document (property_id, document)
+		SELECT property_id, document FROM property_search_source WHERE sale_id = :saleUserId
+		ON CONFLICT (property_id) DO UPDATE SET document = EXCLUDED.document
+		""", nativeQuery = true)
+	int refreshBySaleUserId(@Param("saleUserId") Long saleUserId);
+}
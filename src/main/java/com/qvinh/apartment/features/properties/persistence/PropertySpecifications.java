@@ -3,11 +3,15 @@ package com.qvinh.apartment.features.properties.persistence;
 import com.qvinh.apartment.features.properties.dto.property.PropertyDetailFilterReq;
 import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
 import com.qvinh.apartment.features.properties.domain.Property;
+import com.qvinh.apartment.features.properties.domain.PropertyDetails;
+import com.qvinh.apartment.features.properties.domain.PropertySearchDocument;
 import jakarta.persistence.criteria.*;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 public final class PropertySpecifications {
@@ -18,6 +22,12 @@ public final class PropertySpecifications {
 	private static final String FIELD_PROPERTY_ID = "propertyId";
 	private static final String FIELD_IS_NUMBER = "isNumber";
 	private static final String FIELD_VALUE = "value";
+	private static final String FIELD_NUMERIC_VALUE = "numericValue";
+	private static final String FIELD_DOCUMENT = "document";
+	private static final String FN_SEARCH_MATCHES = "property_search_matches";
+	private static final String FN_SEARCH_RANK = "property_search_rank";
+	static final char LIKE_ESCAPE = '\\';
+	private static final String LIKE_ESCAPE_STRING = String.valueOf(LIKE_ESCAPE);
 
 	private PropertySpecifications() {
 	}
@@ -106,31 +116,61 @@ public final class PropertySpecifications {
 		return spec;
 	}
 
+	/**
+	 * Matches the unaccented search document, so "can ho" finds "Căn hộ". Every term must match as a prefix.
+	 */
 	private static Specification<Property> byKeyword(String keyword) {
 		return (root, query, cb) -> {
-			String pattern = "%" + keyword.toLowerCase() + "%";
-			Join<Object, Object> typeJoin = root.join("type", JoinType.LEFT);
-			Join<Object, Object> areaJoin = root.join("area", JoinType.LEFT);
-			Join<Object, Object> saleInfoJoin = root.join("saleInfo", JoinType.LEFT);
-
-			Predicate titlePred = cb.like(cb.lower(root.get("title")), pattern);
-			Predicate descPred = cb.like(cb.lower(root.get("description")), pattern);
-			Predicate typeNamePred = cb.like(cb.lower(typeJoin.get("typeName")), pattern);
-			Predicate areaNamePred = cb.like(cb.lower(areaJoin.get("areaName")), pattern);
-			Predicate areaLinkPred = cb.like(cb.lower(areaJoin.get("areaLink")), pattern);
-			Predicate saleFullNamePred = cb.like(cb.lower(saleInfoJoin.get("fullName")), pattern);
-			Predicate salePhonePred = cb.like(cb.lower(saleInfoJoin.get("phone")), pattern);
-
-			return cb.or(titlePred, descPred, typeNamePred, areaNamePred, areaLinkPred, saleFullNamePred, salePhonePred);
+			if (query == null) {
+				return cb.disjunction();
+			}
+			Subquery<Long> idSubquery = query.subquery(Long.class);
+			Root<PropertySearchDocument> documentRoot = idSubquery.from(PropertySearchDocument.class);
+			idSubquery.select(documentRoot.get(FIELD_PROPERTY_ID))
+				.where(cb.isTrue(cb.function(FN_SEARCH_MATCHES, Boolean.class, documentRoot.get(FIELD_DOCUMENT), cb.literal(keyword))));
+			return root.get(FIELD_PROPERTY_ID).in(idSubquery);
+		};
+	}
+
+	/**
+	 * Orders by full-text rank of {@code keyword}, best first, newest first on ties. Only sets the ordering, so
+	 * it must be combined with an unsorted pageable; the count query drops it.
+	 */
+	public static Specification<Property> orderByRelevance(String keyword) {
+		return (root, query, cb) -> {
+			if (query == null || keyword == null || keyword.isBlank()) {
+				return cb.conjunction();
+			}
+			Root<PropertySearchDocument> documentRoot = query.from(PropertySearchDocument.class);
+			Expression<Double> rank = cb.function(FN_SEARCH_RANK, Double.class, documentRoot.get(FIELD_DOCUMENT), cb.literal(keyword.trim()));
+			query.orderBy(cb.desc(rank), cb.desc(root.get(FIELD_PROPERTY_ID)));
+			return cb.equal(documentRoot.get(FIELD_PROPERTY_ID), root.get(FIELD_PROPERTY_ID));
 		};
 	}
 
 	private static Specification<Property> byTitle(String title) {
-		return (root, query, cb) -> cb.like(cb.lower(root.get("title")), "%" + title.toLowerCase() + "%");
+		return (root, query, cb) -> containsIgnoreCase(cb, root.get("title"), title);
 	}
 
 	private static Specification<Property> byDescription(String description) {
-		return (root, query, cb) -> cb.like(cb.lower(root.get("description")), "%" + description.toLowerCase() + "%");
+		return (root, query, cb) -> containsIgnoreCase(cb, root.get("description"), description);
+	}
+
+	/**
+	 * ILIKE on the bare column, which the trigram GIN index serves; wrapping it in lower() would not.
+	 * Wildcards in the input are matched literally.
+	 */
+	private static Predicate containsIgnoreCase(CriteriaBuilder cb, Expression<String> column, String text) {
+		return ((HibernateCriteriaBuilder) cb).ilike(column, containsPattern(text), LIKE_ESCAPE);
+	}
+
+	/**
+	 * {@code %text%} with LIKE wildcards in {@code text} escaped by {@link #LIKE_ESCAPE}.
+	 */
+	static String containsPattern(String text) {
+		return "%" + text.replace(LIKE_ESCAPE_STRING, LIKE_ESCAPE_STRING + LIKE_ESCAPE_STRING)
+			.replace("%", LIKE_ESCAPE_STRING + "%")
+			.replace("_", LIKE_ESCAPE_STRING + "_") + "%";
 	}
 
 	private static Specification<Property> byTypeIds(List<Integer> typeIds) {
@@ -200,14 +240,17 @@ public final class PropertySpecifications {
 
 	private static Predicate buildDetailExistsPredicate(PropertyDetailFilterReq detailFilter, Root<Property> propertyRoot,
 	                                                   CriteriaQuery<?> query, CriteriaBuilder cb) {
+		if (isNumericFilter(detailFilter)) {
+			return buildDetailNumericPredicate(detailFilter, propertyRoot, query, cb);
+		}
+
 		Subquery<Long> existsSubquery = query.subquery(Long.class);
-		Root<com.qvinh.apartment.features.properties.domain.PropertyDetails> detailRoot =
-			existsSubquery.from(com.qvinh.apartment.features.properties.domain.PropertyDetails.class);
+		Root<PropertyDetails> detailRoot = existsSubquery.from(PropertyDetails.class);
 		Join<Object, Object> defineDetailJoin = detailRoot.join(FIELD_DETAIL, JoinType.INNER);
 
 		Predicate detailIdPred = cb.equal(detailRoot.get(FIELD_ID).get(FIELD_DETAIL_ID), detailFilter.getDetailId());
 		Predicate propertyIdPred = cb.equal(detailRoot.get(FIELD_ID).get(FIELD_PROPERTY_ID), propertyRoot.get(FIELD_PROPERTY_ID));
-		Predicate valuePred = buildDetailValuePredicate(detailFilter, cb, detailRoot, defineDetailJoin);
+		Predicate valuePred = buildDetailTextPredicate(detailFilter, cb, detailRoot, defineDetailJoin);
 
 		existsSubquery.select(cb.literal(1L))
 			.where(cb.and(detailIdPred, propertyIdPred, valuePred));
@@ -215,27 +258,40 @@ public final class PropertySpecifications {
 		return cb.exists(existsSubquery);
 	}
 
-	private static Predicate buildDetailValuePredicate(PropertyDetailFilterReq detailFilter, CriteriaBuilder cb,
-	                                                  Root<com.qvinh.apartment.features.properties.domain.PropertyDetails> detailRoot,
-	                                                  Join<Object, Object> defineDetailJoin) {
-		if (detailFilter.getNumber() != null) {
-			Predicate isNumberPred = cb.equal(defineDetailJoin.get(FIELD_IS_NUMBER), true);
-			Predicate numberEqualsPred = cb.equal(detailRoot.get(FIELD_VALUE), detailFilter.getNumber().toString());
-			return cb.and(isNumberPred, numberEqualsPred);
-		}
+	private static boolean isNumericFilter(PropertyDetailFilterReq detailFilter) {
+		return detailFilter.getNumber() != null || detailFilter.getMinNumber() != null || detailFilter.getMaxNumber() != null;
+	}
 
-		if (detailFilter.getMinNumber() != null || detailFilter.getMaxNumber() != null) {
-			Predicate valuePred = cb.conjunction();
+	/**
+	 * Uncorrelated id subquery over (detail_id, numeric_value, property_id), so the range is served by the index.
+	 */
+	private static Predicate buildDetailNumericPredicate(PropertyDetailFilterReq detailFilter, Root<Property> propertyRoot,
+	                                                    CriteriaQuery<?> query, CriteriaBuilder cb) {
+		Subquery<Long> idSubquery = query.subquery(Long.class);
+		Root<PropertyDetails> detailRoot = idSubquery.from(PropertyDetails.class);
+		Path<BigDecimal> numericValue = detailRoot.get(FIELD_NUMERIC_VALUE);
+
+		List<Predicate> predicates = new ArrayList<>();
+		predicates.add(cb.equal(detailRoot.get(FIELD_ID).get(FIELD_DETAIL_ID), detailFilter.getDetailId()));
+		if (detailFilter.getNumber() != null) {
+			predicates.add(cb.equal(numericValue, detailFilter.getNumber()));
+		} else {
 			if (detailFilter.getMinNumber() != null) {
-				valuePred = cb.and(valuePred, cb.greaterThanOrEqualTo(detailRoot.get(FIELD_VALUE), detailFilter.getMinNumber().toString()));
+				predicates.add(cb.greaterThanOrEqualTo(numericValue, detailFilter.getMinNumber()));
 			}
 			if (detailFilter.getMaxNumber() != null) {
-				valuePred = cb.and(valuePred, cb.lessThanOrEqualTo(detailRoot.get(FIELD_VALUE), detailFilter.getMaxNumber().toString()));
+				predicates.add(cb.lessThanOrEqualTo(numericValue, detailFilter.getMaxNumber()));
 			}
-			Predicate isNumberPred = cb.equal(defineDetailJoin.get(FIELD_IS_NUMBER), true);
-			return cb.and(isNumberPred, valuePred);
 		}
 
+		idSubquery.select(detailRoot.get(FIELD_ID).get(FIELD_PROPERTY_ID))
+			.where(predicates.toArray(Predicate[]::new));
+		return propertyRoot.get(FIELD_PROPERTY_ID).in(idSubquery);
+	}
+
+	private static Predicate buildDetailTextPredicate(PropertyDetailFilterReq detailFilter, CriteriaBuilder cb,
+	                                                 Root<PropertyDetails> detailRoot,
+	                                                 Join<Object, Object> defineDetailJoin) {
 		if (detailFilter.getText() != null && !detailFilter.getText().trim().isEmpty()) {
 			Predicate isTextPred = cb.equal(defineDetailJoin.get(FIELD_IS_NUMBER), false);
 			String pattern = "%" + detailFilter.getText().toLowerCase().trim() + "%";
@@ -0,0 +1,195 @@
+package com.qvinh.apartment.features.properties.persistence;
+
+import com.qvinh.apartment.features.properties.dto.property.PropertyDetailFilterReq;
+import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native SQL counterpart of {@link PropertySpecifications} over {@code property p}, for queries JPQL cannot
+ * express. Filters on a facet dimension are kept apart from the rest so they can be left out per dimension.
+ */
+public final class PropertySqlFilter {
+
+	public enum Facet {
+		TYPE,
+		AREA,
+		FOR_RENT,
+		PRICE
+	}
+
+	/**
+	 * Condition on one detail; {@code sql} is true when the property satisfies the filter.
+	 */
+	public record DetailCondition(Integer detailId, String sql) {
+	}
+
+	private static final String TRUE = "TRUE";
+	private static final String AND = " AND ";
+
+	private final List<String> base = new ArrayList<>();
+	private final Map<Facet, List<String>> facets = new EnumMap<>(Facet.class);
+	private final List<DetailCondition> details = new ArrayList<>();
+	private final Map<String, Object> params = new LinkedHashMap<>();
+
+	private PropertySqlFilter() {
+	}
+
+	public static PropertySqlFilter from(PropertySearchReq req) {
+		PropertySqlFilter filter = new PropertySqlFilter();
+		if (req != null) {
+			filter.applyText(req);
+			filter.applyBase(req);
+			filter.applyFacets(req);
+			filter.applyDetails(req);
+		}
+		return filter;
+	}
+
+	/**
+	 * Filters that are not a facet dimension.
+	 */
+	public String baseWhere() {
+		return join(base);
+	}
+
+	public String facetCondition(Facet facet) {
+		return join(facets.getOrDefault(facet, List.of()));
+	}
+
+	public List<DetailCondition> detailConditions() {
+		return List.copyOf(details);
+	}
+
+	/**
+	 * Every filter of the request, equivalent to {@link PropertySpecifications#bySearchReq}.
+	 */
+	public String where() {
+		List<String> all = new ArrayList<>(base);
+		facets.values().forEach(all::addAll);
+		details.forEach(d -> all.add(d.sql()));
+		return join(all);
+	}
+
+	public void bind(Query query) {
+		params.forEach(query::setParameter);
+	}
+
+	private void applyText(PropertySearchReq req) {
+		if (hasText(req.getQ())) {
+			base.add("p.property_id IN (SELECT sd.property_id FROM property_search_document sd"
+				+ " WHERE property_search_matches(sd.document, " + param("q", req.getQ().trim()) + "))");
+		}
+		if (hasText(req.getTitle())) {
+			base.add(ilike("p.title", param("title", PropertySpecifications.containsPattern(req.getTitle().trim()))));
+		}
+		if (hasText(req.getDescription())) {
+			base.add(ilike("p.description", param("description", PropertySpecifications.containsPattern(req.getDescription().trim()))));
+		}
+	}
+
+	private void applyBase(PropertySearchReq req) {
+		if (req.getSaleUserIds() != null && !req.getSaleUserIds().isEmpty()) {
+			base.add("p.sale_id IN (" + param("saleUserIds", req.getSaleUserIds()) + ")");
+		}
+		if (req.getIsPublic() != null) {
+			base.add("p.is_public = " + param("isPublic", req.getIsPublic()));
+		}
+		if (req.getCreatedFrom() != null) {
+			base.add("p.created_at >= " + param("createdFrom", req.getCreatedFrom()));
+		}
+		if (req.getCreatedTo() != null) {
+			base.add("p.created_at <= " + param("createdTo", req.getCreatedTo()));
+		}
+		if (req.getUpdatedFrom() != null) {
+			base.add("p.updated_at >= " + param("updatedFrom", req.getUpdatedFrom()));
+		}
+		if (req.getUpdatedTo() != null) {
+			base.add("p.updated_at <= " + param("updatedTo", req.getUpdatedTo()));
+		}
+	}
+
+	private void applyFacets(PropertySearchReq req) {
+		if (req.getTypeIds() != null && !req.getTypeIds().isEmpty()) {
+			facet(Facet.TYPE, "p.type_id IN (" + param("typeIds", req.getTypeIds()) + ")");
+		}
+		if (req.getAreaIds() != null && !req.getAreaIds().isEmpty()) {
+			facet(Facet.AREA, "p.area_id IN (" + param("areaIds", req.getAreaIds()) + ")");
+		}
+		if (req.getIsForRent() != null) {
+			facet(Facet.FOR_RENT, "p.is_for_rent = " + param("isForRent", req.getIsForRent()));
+		}
+		if (req.getMinPrice() != null) {
+			facet(Facet.PRICE, "p.price >= " + param("minPrice", req.getMinPrice()));
+		}
+		if (req.getMaxPrice() != null) {
+			facet(Facet.PRICE, "p.price <= " + param("maxPrice", req.getMaxPrice()));
+		}
+	}
+
+	private void applyDetails(PropertySearchReq req) {
+		if (req.getDetails() == null) {
+			return;
+		}
+		for (PropertyDetailFilterReq detail : req.getDetails()) {
+			if (detail.getDetailId() == null) {
+				// matches nothing, like the specification's comparison with null
+				details.add(new DetailCondition(null, "FALSE"));
+				continue;
+			}
+			int index = details.size();
+			String detailId = param("detailId" + index, detail.getDetailId());
+			List<String> conditions = new ArrayList<>();
+			conditions.add("pd.detail_id = " + detailId);
+			String sql;
+			if (detail.getNumber() != null || detail.getMinNumber() != null || detail.getMaxNumber() != null) {
+				if (detail.getNumber() != null) {
+					conditions.add("pd.numeric_value = " + param("detailNumber" + index, detail.getNumber()));
+				} else {
+					if (detail.getMinNumber() != null) {
+						conditions.add("pd.numeric_value >= " + param("detailMin" + index, detail.getMinNumber()));
+					}
+					if (detail.getMaxNumber() != null) {
+						conditions.add("pd.numeric_value <= " + param("detailMax" + index, detail.getMaxNumber()));
+					}
+				}
+				sql = "p.property_id IN (SELECT pd.property_id FROM property_details pd WHERE " + String.join(AND, conditions) + ")";
+			} else {
+				conditions.add("pd.property_id = p.property_id");
+				if (hasText(detail.getText())) {
+					conditions.add("dd.is_number = FALSE");
+					conditions.add(ilike("pd.value", param("detailText" + index, PropertySpecifications.containsPattern(detail.getText().trim()))));
+				}
+				sql = "EXISTS (SELECT 1 FROM property_details pd JOIN property_define_details dd ON dd.detail_id = pd.detail_id WHERE "
+					+ String.join(AND, conditions) + ")";
+			}
+			details.add(new DetailCondition(detail.getDetailId(), sql));
+		}
+	}
+
+	private void facet(Facet facet, String condition) {
+		facets.computeIfAbsent(facet, f -> new ArrayList<>()).add(condition);
+	}
+
+	private String param(String name, Object value) {
+		params.put(name, value);
+		return ":" + name;
+	}
+
+	private static String ilike(String column, String param) {
+		return column + " ILIKE " + param + " ESCAPE '" + PropertySpecifications.LIKE_ESCAPE + "'";
+	}
+
+	private static String join(List<String> conditions) {
+		return conditions.isEmpty() ? TRUE : "(" + String.join(AND, conditions) + ")";
+	}
+
+	private static boolean hasText(String value) {
+		return value != null && !value.trim().isEmpty();
+	}
+}
@@ -0,0 +1,39 @@
+package com.qvinh.apartment.features.properties.persistence;
+
+import com.qvinh.apartment.features.properties.domain.PropertyTombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PropertyTombstoneRepository extends JpaRepository<PropertyTombstone, Long> {
+
+	// Stamped with the database clock, like property_card.changed_at
+	@Modifying(flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "property_tombstone"))
+	@Query(value = """
+		INSERT INTO property_tombstone (property_id, deleted_at)
+		SELECT id, CAST(clock_timestamp() AS TIMESTAMP) FROM unnest(CAST(:propertyIds AS BIGINT[])) AS id
+		ON CONFLICT (property_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at
+		""", nativeQuery = true)
+	int insertAll(@Param("propertyIds") Long[] propertyIds);
+
+	/** Tombstones written strictly after {@code (deletedAt, propertyId)} and before {@code until}, in feed order. */
+	@Query(value = """
+		SELECT property_id AS "propertyId", deleted_at AS "changedAt", CAST(NULL AS TIMESTAMP) AS "firstChangedAt"
+		FROM property_tombstone
+		WHERE (deleted_at, property_id) > (:deletedAt, :propertyId) AND deleted_at < :until
+		ORDER BY deleted_at, property_id
+		LIMIT :limit
+		""", nativeQuery = true)
+	List<PropertyChangeRow> findDeletedAfter(@Param("deletedAt") LocalDateTime deletedAt,
+	                                         @Param("propertyId") long propertyId,
+	                                         @Param("until") LocalDateTime until,
+	                                         @Param("limit") int limit);
+}
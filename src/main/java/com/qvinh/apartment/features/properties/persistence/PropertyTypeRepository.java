@@ -1,13 +1,26 @@
 package com.qvinh.apartment.features.properties.persistence;
 
 import com.qvinh.apartment.features.properties.domain.PropertyType;
+import com.qvinh.apartment.shared.api.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.util.Optional;
+
 public interface PropertyTypeRepository extends JpaRepository<PropertyType, Integer> {
 	boolean existsByTypeName(@NonNull String typeName);
 	Page<PropertyType> findByTypeNameContainingIgnoreCase(@NonNull String typeName, Pageable pageable);
-}
 
+	/** Version of every list page: row count plus newest stamp, so creates, edits and deletes all change it. */
+	@Query(value = "SELECT md5(concat_ws('|', count(*), max(updated_at))) AS \"tag\", max(updated_at) AS \"lastModified\""
+		+ " FROM property_type", nativeQuery = true)
+	ResourceVersion findListVersion();
+
+	@Query(value = "SELECT md5(concat_ws('|', type_id, updated_at)) AS \"tag\", updated_at AS \"lastModified\""
+		+ " FROM property_type WHERE type_id = :id", nativeQuery = true)
+	Optional<ResourceVersion> findVersionById(@Param("id") Integer id);
+}
@@ -0,0 +1,137 @@
+package com.qvinh.apartment.infrastructure.cache;
+
+import com.qvinh.apartment.features.accounts.domain.Role;
+import com.qvinh.apartment.features.properties.domain.PropertyArea;
+import com.qvinh.apartment.features.properties.domain.PropertyDefineDetails;
+import com.qvinh.apartment.features.properties.domain.PropertyType;
+import com.qvinh.apartment.shared.constants.CacheRegions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Keeps the reference data cache of this instance in step with writes made anywhere: triggers on the
+ * reference tables {@code NOTIFY} every committed row change, and this listener evicts the row and the
+ * cached name lookups. It holds its own connection to the primary, outside the pool, and evicts
+ * everything whenever it (re)connects, since changes made while it was not listening are unknown.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.reference-data.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReferenceDataCacheInvalidator implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(ReferenceDataCacheInvalidator.class);
+
+	static final String CHANNEL = "reference_data_changed";
+
+	private static final int POLL_MILLIS = 1000;
+
+	// payloads are "<table>:<id>", see V15__reference_data_notify.sql
+	private static final Map<String, Class<?>> ENTITIES = Map.of(
+		"role", Role.class,
+		"property_type", PropertyType.class,
+		"property_area", PropertyArea.class,
+		"property_define_details", PropertyDefineDetails.class
+	);
+
+	private final DataSourceProperties properties;
+	private final Cache cache;
+	private final Duration retryDelay;
+	private volatile boolean running = true;
+	private Thread thread;
+
+	public ReferenceDataCacheInvalidator(DataSourceProperties properties,
+	                                     EntityManagerFactory entityManagerFactory,
+	                                     @Value("${app.reference-data.cache.listen-retry:5s}") Duration retryDelay) {
+		this.properties = properties;
+		this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		this.retryDelay = retryDelay;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void start() {
+		if (thread != null) {
+			return;
+		}
+		thread = new Thread(this::listen, "reference-data-listener");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void listen() {
+		while (running) {
+			try (Connection connection = DriverManager.getConnection(
+				properties.determineUrl(), properties.determineUsername(), properties.determinePassword())) {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("LISTEN " + CHANNEL);
+				}
+				evictAll();
+				PGConnection notifications = connection.unwrap(PGConnection.class);
+				while (running) {
+					PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+					if (received != null) {
+						for (PGNotification notification : received) {
+							evict(notification.getParameter());
+						}
+					}
+				}
+			} catch (SQLException | RuntimeException ex) {
+				if (!running) {
+					return;
+				}
+				log.warn("Reference data cache listener disconnected; retrying in {}", retryDelay, ex);
+				try {
+					Thread.sleep(retryDelay.toMillis());
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	void evict(String payload) {
+		int separator = payload.indexOf(':');
+		Class<?> entity = separator < 0 ? null : ENTITIES.get(payload.substring(0, separator));
+		if (entity == null) {
+			evictAll();
+			return;
+		}
+		try {
+			cache.evictEntityData(entity, Integer.valueOf(payload.substring(separator + 1)));
+		} catch (NumberFormatException ex) {
+			cache.evictEntityData(entity);
+		}
+		cache.evictQueryRegion(CacheRegions.REFERENCE_DATA_QUERIES);
+	}
+
+	private void evictAll() {
+		ENTITIES.values().forEach(cache::evictEntityData);
+		cache.evictQueryRegion(CacheRegions.REFERENCE_DATA_QUERIES);
+	}
+
+	@Override
+	public synchronized void destroy() {
+		running = false;
+		if (thread != null) {
+			thread.interrupt();
+		}
+	}
+}
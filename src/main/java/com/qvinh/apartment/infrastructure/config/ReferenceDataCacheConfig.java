@@ -0,0 +1,61 @@
+package com.qvinh.apartment.infrastructure.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.qvinh.apartment.shared.constants.CacheRegions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for reference data, held in bounded Caffeine caches. Each application
+ * context gets its own cache manager, so contexts sharing a class loader (tests) never close each other's
+ * caches. {@code ttl} only bounds how long a missed invalidation can serve stale rows; changes normally
+ * arrive through {@code ReferenceDataCacheInvalidator}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.reference-data.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReferenceDataCacheConfig {
+
+	@Bean(destroyMethod = "close")
+	public CacheManager referenceDataCacheManager(
+		@Value("${app.reference-data.cache.max-entries:10000}") long maxEntries,
+		@Value("${app.reference-data.cache.ttl:10m}") Duration ttl
+	) {
+		CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+			.getCacheManager(URI.create("reference-data-" + UUID.randomUUID()), getClass().getClassLoader());
+		for (String region : new String[] {CacheRegions.REFERENCE_DATA, CacheRegions.REFERENCE_DATA_QUERIES,
+			RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME}) {
+			cacheManager.createCache(region, new CaffeineConfiguration<>()
+				.setStoreByValue(false)
+				.setMaximumSize(OptionalLong.of(maxEntries))
+				.setExpireAfterWrite(OptionalLong.of(ttl.toNanos())));
+		}
+		// one entry per table; it must not expire or be evicted while queries cached against it live
+		cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+			new CaffeineConfiguration<>().setStoreByValue(false));
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer referenceDataCacheCustomizer(CacheManager referenceDataCacheManager) {
+		return properties -> {
+			properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+			properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+			properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+			properties.put(ConfigSettings.CACHE_MANAGER, referenceDataCacheManager);
+		};
+	}
+}
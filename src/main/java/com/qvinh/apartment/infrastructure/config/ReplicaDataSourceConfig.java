@@ -0,0 +1,77 @@
+package com.qvinh.apartment.infrastructure.config;
+
+import com.qvinh.apartment.infrastructure.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Active when {@code app.datasource.replica.urls} lists replica JDBC URLs: read-only transactions then run
+ * on a replica, everything else on the primary configured under {@code spring.datasource}. Replicas use the
+ * primary's credentials unless {@code app.datasource.replica.username/password} are set.
+ * {@code read-your-writes} keeps a user's reads on the primary for that long after they committed a write.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "urls")
+public class ReplicaDataSourceConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	public ReplicaRoutingDataSource replicaRoutingDataSource(
+		HikariDataSource primaryDataSource,
+		DataSourceProperties properties,
+		@Value("${app.datasource.replica.urls}") List<String> urls,
+		@Value("${app.datasource.replica.username:}") String username,
+		@Value("${app.datasource.replica.password:}") String password,
+		@Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+		@Value("${app.datasource.replica.health-check-interval:5s}") Duration healthCheckInterval,
+		@Value("${app.datasource.replica.max-lag:10s}") Duration maxLag,
+		@Value("${app.datasource.replica.read-your-writes:0s}") Duration readYourWrites
+	) {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		for (String url : urls) {
+			HikariDataSource replica = properties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.url(url.trim())
+				.username(username.isEmpty() ? properties.determineUsername() : username)
+				.password(password.isEmpty() ? properties.determinePassword() : password)
+				.build();
+			replica.setPoolName("replica-" + replicas.size());
+			replica.setReadOnly(true);
+			replica.setMaximumPoolSize(maximumPoolSize);
+			// a replica that is down at startup must not keep the application from starting
+			replica.setInitializationFailTimeout(-1);
+			replicas.put(replica.getPoolName(), replica);
+		}
+		return new ReplicaRoutingDataSource(primaryDataSource, replicas, healthCheckInterval, maxLag, readYourWrites);
+	}
+
+	/**
+	 * Connections are taken on the first statement, once the transaction has marked them read-only, so the
+	 * proxy can pick the target; JPA would otherwise take one before the read-only flag is known.
+	 */
+	@Bean
+	@Primary
+	public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaRoutingDataSource.primaryTarget());
+		dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+		return dataSource;
+	}
+}
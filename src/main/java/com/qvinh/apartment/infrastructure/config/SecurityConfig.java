@@ -7,6 +7,7 @@ import com.qvinh.apartment.features.properties.api.PropertyAreaController;
 import com.qvinh.apartment.features.properties.api.PropertyController;
 import com.qvinh.apartment.features.properties.api.PropertyDefineDetailsController;
 import com.qvinh.apartment.features.properties.api.PropertyTypeController;
+import com.qvinh.apartment.features.properties.api.ReferenceDataController;
 import com.qvinh.apartment.infrastructure.security.JwtAuthFilter;
 import com.qvinh.apartment.infrastructure.security.RestAccessDeniedHandler;
 import com.qvinh.apartment.infrastructure.security.RestAuthenticationEntryPoint;
@@ -71,6 +72,7 @@ public class SecurityConfig {
 				.requestMatchers(HttpMethod.GET, PropertyController.BASE_PATH).permitAll()
 				.requestMatchers(HttpMethod.GET, PropertyController.BASE_PATH_ALL).permitAll()
 				.requestMatchers(HttpMethod.POST, PropertyController.SEARCH_PATH).permitAll()
+				.requestMatchers(HttpMethod.POST, PropertyController.FACETS_PATH).permitAll()
 
 				// Property Type - public read
 				.requestMatchers(HttpMethod.GET, PropertyTypeController.BASE_PATH).permitAll()
@@ -84,6 +86,9 @@ public class SecurityConfig {
 				.requestMatchers(HttpMethod.GET, PropertyDefineDetailsController.BASE_PATH).permitAll()
 				.requestMatchers(HttpMethod.GET, PropertyDefineDetailsController.BASE_PATH_ALL).permitAll()
 
+				// Types, areas and define details in one - public read
+				.requestMatchers(HttpMethod.GET, ReferenceDataController.BASE_PATH).permitAll()
+
 				// All other requests require authentication
 				.anyRequest().authenticated()
 			)
@@ -0,0 +1,238 @@
+package com.qvinh.apartment.infrastructure.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qvinh.apartment.shared.datasource.PrimaryReads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Source of read-only connections: a healthy replica picked round-robin, or the primary when every replica
+ * is down, inside {@link PrimaryReads}, or while the current user is within the read-your-writes window
+ * after committing a read-write transaction. Replicas are probed in the background and leave the rotation
+ * when unreachable or lagging by more than {@code maxLag}; one failing to hand out a connection leaves it
+ * right away. Meant as the read-only target of a {@code LazyConnectionDataSourceProxy} whose main target
+ * is {@link #primaryTarget()}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+	// seconds behind the primary; a replica that replayed everything it received is not behind, however old
+	// its last replayed transaction
+	private static final String LAG_QUERY = """
+		SELECT CASE
+		         WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+		         ELSE COALESCE(EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()), 0)
+		       END
+		""";
+
+	@FunctionalInterface
+	private interface ConnectionSource {
+		Connection connect(DataSource dataSource) throws SQLException;
+	}
+
+	private static final class Replica {
+		private final String name;
+		private final DataSource dataSource;
+		private volatile boolean healthy = true;
+
+		private Replica(String name, DataSource dataSource) {
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+	}
+
+	private final DataSource primary;
+	private final List<Replica> replicas = new ArrayList<>();
+	private final long maxLagMillis;
+	// users within their read-your-writes window; null when the window is zero
+	private final Cache<String, Boolean> recentWriters;
+	private final AtomicInteger next = new AtomicInteger();
+	private final ScheduledExecutorService healthCheck;
+
+	/**
+	 * Takes ownership of {@code replicas} and closes them on destroy; a zero {@code healthCheckInterval}
+	 * disables background probing.
+	 */
+	public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration healthCheckInterval,
+	                                Duration maxLag, Duration readYourWrites) {
+		if (replicas.isEmpty()) {
+			throw new IllegalArgumentException("at least one replica is required");
+		}
+		this.primary = primary;
+		replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+		this.maxLagMillis = maxLag.toMillis();
+		this.recentWriters = readYourWrites.isZero()
+			? null
+			: Caffeine.newBuilder().expireAfterWrite(readYourWrites).build();
+		if (healthCheckInterval.isZero()) {
+			this.healthCheck = null;
+		} else {
+			this.healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "replica-health-check");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long interval = healthCheckInterval.toMillis();
+			this.healthCheck.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * The primary, remembering the current user as a writer when a read-write transaction commits on it.
+	 */
+	public DataSource primaryTarget() {
+		return new DelegatingDataSource(primary) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				trackWrite();
+				return super.getConnection();
+			}
+
+			@Override
+			public Connection getConnection(String username, String password) throws SQLException {
+				trackWrite();
+				return super.getConnection(username, password);
+			}
+		};
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return connect(DataSource::getConnection);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return connect(dataSource -> dataSource.getConnection(username, password));
+	}
+
+	private Connection connect(ConnectionSource source) throws SQLException {
+		if (!PrimaryReads.isActive() && !isRecentWriter()) {
+			for (int attempt = 0; attempt < replicas.size(); attempt++) {
+				Replica replica = nextHealthy();
+				if (replica == null) {
+					break;
+				}
+				try {
+					return source.connect(replica.dataSource);
+				} catch (SQLException ex) {
+					markDown(replica, ex.getMessage());
+				}
+			}
+		}
+		return source.connect(primary);
+	}
+
+	private Replica nextHealthy() {
+		int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+		for (int i = 0; i < replicas.size(); i++) {
+			Replica replica = replicas.get((start + i) % replicas.size());
+			if (replica.healthy) {
+				return replica;
+			}
+		}
+		return null;
+	}
+
+	/** Probes every replica once; runs on the background schedule. */
+	void checkHealth() {
+		for (Replica replica : replicas) {
+			try (Connection con = replica.dataSource.getConnection();
+			     Statement statement = con.createStatement();
+			     ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+				rs.next();
+				long lagMillis = (long) (rs.getDouble(1) * 1000);
+				if (lagMillis > maxLagMillis) {
+					markDown(replica, "lagging " + lagMillis + " ms behind the primary");
+				} else if (!replica.healthy) {
+					replica.healthy = true;
+					log.info("Read replica {} is back in rotation", replica.name);
+				}
+			} catch (SQLException | RuntimeException ex) {
+				markDown(replica, ex.getMessage());
+			}
+		}
+	}
+
+	boolean isHealthy(String name) {
+		return replicas.stream().anyMatch(replica -> replica.name.equals(name) && replica.healthy);
+	}
+
+	private static void markDown(Replica replica, String reason) {
+		if (replica.healthy) {
+			replica.healthy = false;
+			log.warn("Read replica {} taken out of rotation: {}", replica.name, reason);
+		}
+	}
+
+	private void trackWrite() {
+		if (recentWriters == null
+			|| !TransactionSynchronizationManager.isSynchronizationActive()
+			|| TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return;
+		}
+		String user = currentUser();
+		if (user == null) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				recentWriters.put(user, Boolean.TRUE);
+			}
+		});
+	}
+
+	private boolean isRecentWriter() {
+		if (recentWriters == null) {
+			return false;
+		}
+		String user = currentUser();
+		return user != null && recentWriters.getIfPresent(user) != null;
+	}
+
+	private static String currentUser() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !authentication.isAuthenticated()
+			|| authentication instanceof AnonymousAuthenticationToken) {
+			return null;
+		}
+		return authentication.getName();
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (healthCheck != null) {
+			healthCheck.shutdownNow();
+		}
+		for (Replica replica : replicas) {
+			if (replica.dataSource instanceof AutoCloseable closeable) {
+				closeable.close();
+			}
+		}
+	}
+}
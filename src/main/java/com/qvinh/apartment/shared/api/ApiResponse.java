@@ -1,5 +1,9 @@
 package com.qvinh.apartment.shared.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
 public class ApiResponse<T> {
 
 	 private String message;
@@ -36,7 +40,24 @@ public class ApiResponse<T> {
 	 public T getData() { return data; }
 	 public Meta getMeta() { return meta; }
 
-	 public static record Meta(int page, int size, long total) {}
+	 @JsonInclude(JsonInclude.Include.NON_NULL)
+	 public static record Meta(int page, int size, Long total, String nextCursor, TotalKind totalKind, Boolean hasNext) {
+		 public Meta(int page, int size, long total) {
+			 this(page, size, Long.valueOf(total), null, null, null);
+		 }
+
+		 public static Meta cursor(int size, String nextCursor) {
+			 return new Meta(0, size, null, nextCursor, null, null);
+		 }
+
+		 /**
+		  * Offset page whose total was obtained as {@code kind}; a plain slice carries no total.
+		  */
+		 public static Meta paged(int page, int size, Slice<?> res, TotalKind kind) {
+			 Long total = res instanceof Page<?> counted ? Long.valueOf(counted.getTotalElements()) : null;
+			 return new Meta(page, size, total, null, total == null ? TotalKind.NONE : kind, res.hasNext());
+		 }
+	 }
 	 public static record ErrorInfo(String code, String message, Object details) {}
 }
 
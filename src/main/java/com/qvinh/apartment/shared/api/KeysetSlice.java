@@ -0,0 +1,28 @@
+package com.qvinh.apartment.shared.api;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * Slice returned by keyset (seek) pagination. {@code nextCursor} is null on the last slice.
+ */
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+	private final String nextCursor;
+
+	public KeysetSlice(List<T> content, Pageable pageable, String nextCursor) {
+		super(content, pageable, nextCursor != null);
+		this.nextCursor = nextCursor;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	@Override
+	public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+		return new KeysetSlice<>(getConvertedContent(converter), getPageable(), nextCursor);
+	}
+}
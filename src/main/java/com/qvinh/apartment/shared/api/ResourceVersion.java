@@ -0,0 +1,27 @@
+package com.qvinh.apartment.shared.api;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators of a representation for conditional GET, read with a narrow query instead of loading the
+ * representation. {@code tag} changes whenever the representation may have; {@code lastModified} is the
+ * newest {@code updated_at} involved, null when unknown.
+ */
+public interface ResourceVersion {
+
+	String getTag();
+
+	LocalDateTime getLastModified();
+
+	/** Weak: the tag tracks the data, not the bytes of one serialization. */
+	default String eTag() {
+		return "W/\"" + getTag() + "\"";
+	}
+
+	/** Epoch millis for {@code WebRequest#checkNotModified}; -1 when unknown. */
+	default long lastModifiedMillis() {
+		LocalDateTime lastModified = getLastModified();
+		return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+}
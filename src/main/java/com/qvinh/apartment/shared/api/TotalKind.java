@@ -0,0 +1,34 @@
+package com.qvinh.apartment.shared.api;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * How the total of a paged response was obtained.
+ */
+public enum TotalKind {
+	/** Counted for this request. */
+	EXACT,
+	/** Planner statistics or a recently cached count; may be off. */
+	ESTIMATE,
+	/** Not counted; only {@code hasNext} is known. */
+	NONE;
+
+	@JsonValue
+	public String value() {
+		return name().toLowerCase(Locale.ROOT);
+	}
+
+	public static TotalKind from(String value) {
+		if (value == null || value.isBlank()) {
+			return EXACT;
+		}
+		for (TotalKind kind : values()) {
+			if (kind.value().equalsIgnoreCase(value.trim())) {
+				return kind;
+			}
+		}
+		throw new IllegalArgumentException("count must be one of exact, estimate, none");
+	}
+}
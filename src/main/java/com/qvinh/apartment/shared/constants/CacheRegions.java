@@ -0,0 +1,14 @@
+package com.qvinh.apartment.shared.constants;
+
+/**
+ * Hibernate second-level cache regions. Native writes name the tables they touch as query spaces;
+ * without them Hibernate empties every region after each such statement.
+ */
+public final class CacheRegions {
+
+	/** Roles, property types, areas and define details: small tables read on most requests. */
+	public static final String REFERENCE_DATA = "reference-data";
+	public static final String REFERENCE_DATA_QUERIES = "reference-data-queries";
+
+	private CacheRegions() {}
+}
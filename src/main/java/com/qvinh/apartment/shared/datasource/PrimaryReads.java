@@ -0,0 +1,40 @@
+package com.qvinh.apartment.shared.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends reads made inside {@link #call} to the primary even in read-only transactions, for readers that
+ * must not lag behind it. The transaction must take its connection inside the call, which is the case
+ * when the call wraps the whole transaction or its first statement. Without read replicas configured
+ * every read goes to the primary anyway.
+ */
+public final class PrimaryReads {
+
+	private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+	private PrimaryReads() {
+	}
+
+	public static <T> T call(Supplier<T> action) {
+		boolean outer = !isActive();
+		ACTIVE.set(Boolean.TRUE);
+		try {
+			return action.get();
+		} finally {
+			if (outer) {
+				ACTIVE.remove();
+			}
+		}
+	}
+
+	public static void run(Runnable action) {
+		call(() -> {
+			action.run();
+			return null;
+		});
+	}
+
+	public static boolean isActive() {
+		return ACTIVE.get() != null;
+	}
+}
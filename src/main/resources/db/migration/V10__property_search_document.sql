@@ -0,0 +1,58 @@
+-- Diacritic-insensitive full-text search over properties
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent(text) is only STABLE; pinning the dictionary makes it safe to use in indexed expressions
+CREATE FUNCTION property_search_unaccent(input text) RETURNS text
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+AS $$
+    SELECT public.unaccent('public.unaccent'::regdictionary, input)
+$$;
+
+-- Free text to an AND of prefix terms: 'Căn hộ Q7' -> 'can:* & ho:* & q7:*'
+CREATE FUNCTION property_search_query(input text) RETURNS tsquery
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$
+    SELECT to_tsquery('simple', coalesce(string_agg(token || ':*', ' & '), ''))
+    FROM regexp_split_to_table(lower(property_search_unaccent(coalesce(input, ''))), '[^[:alnum:]]+') AS token
+    WHERE token <> ''
+$$;
+
+-- Kept as a plain SQL body so the planner inlines it and the GIN index serves the match
+CREATE FUNCTION property_search_matches(document tsvector, input text) RETURNS boolean
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$
+    SELECT document @@ property_search_query(input)
+$$;
+
+CREATE FUNCTION property_search_rank(document tsvector, input text) RETURNS double precision
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$
+    SELECT ts_rank_cd(document, property_search_query(input))::double precision
+$$;
+
+-- Weights: A title, B type/area, C description, D sale contact
+CREATE VIEW property_search_source AS
+SELECT p.property_id,
+       p.type_id,
+       p.area_id,
+       p.sale_id,
+       setweight(to_tsvector('simple', property_search_unaccent(coalesce(p.title, ''))), 'A')
+           || setweight(to_tsvector('simple', property_search_unaccent(
+                  concat_ws(' ', t.type_name, a.area_name, a.area_link))), 'B')
+           || setweight(to_tsvector('simple', property_search_unaccent(coalesce(p.description, ''))), 'C')
+           || setweight(to_tsvector('simple', property_search_unaccent(
+                  concat_ws(' ', s.full_name, s.phone))), 'D') AS document
+FROM property p
+LEFT JOIN property_type t ON t.type_id = p.type_id
+LEFT JOIN property_area a ON a.area_id = p.area_id
+LEFT JOIN property_sale_info s ON s.user_id = p.sale_id;
+
+CREATE TABLE property_search_document (
+    property_id BIGINT PRIMARY KEY,
+    document tsvector NOT NULL,
+    CONSTRAINT fk_search_document_property FOREIGN KEY (property_id) REFERENCES property(property_id) ON DELETE CASCADE
+);
+CREATE INDEX idx_property_search_document ON property_search_document USING GIN (document);
+
+INSERT INTO property_search_document (property_id, document)
+SELECT property_id, document FROM property_search_source;
@@ -0,0 +1,13 @@
+-- Substring search ('%q%', LIKE and ILIKE) served by trigram GIN indexes instead of sequential scans
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_property_title_trgm ON property USING GIN (title gin_trgm_ops);
+CREATE INDEX idx_property_description_trgm ON property USING GIN (description gin_trgm_ops);
+
+CREATE INDEX idx_stored_file_original_name_trgm ON stored_file USING GIN (original_name gin_trgm_ops);
+CREATE INDEX idx_stored_file_title_trgm ON stored_file USING GIN (title gin_trgm_ops);
+CREATE INDEX idx_stored_file_tags_trgm ON stored_file USING GIN (tags gin_trgm_ops);
+
+CREATE INDEX idx_users_username_trgm ON users USING GIN (username gin_trgm_ops);
+CREATE INDEX idx_users_email_trgm ON users USING GIN (email gin_trgm_ops);
+CREATE INDEX idx_users_display_name_trgm ON users USING GIN (display_name gin_trgm_ops);
@@ -0,0 +1,54 @@
+-- Denormalized list row per property: exactly the columns of PropertyRes, so lists read one narrow table
+CREATE VIEW property_card_source AS
+SELECT p.property_id,
+       p.title,
+       p.price,
+       p.description,
+       t.type_id,
+       t.type_name,
+       s.user_id AS sale_user_id,
+       u.display_name AS sale_display_name,
+       s.phone AS sale_phone,
+       a.area_id,
+       a.area_name,
+       p.is_public,
+       p.is_for_rent,
+       p.created_at,
+       p.updated_at,
+       -- main image: the gallery file with the lowest id
+       (SELECT f.relative_path
+        FROM stored_file f
+        WHERE f.file_id = (SELECT min(g.file_id) FROM property_gallery g WHERE g.property_id = p.property_id))
+           AS main_image_relative_path
+FROM property p
+JOIN property_type t ON t.type_id = p.type_id
+JOIN property_area a ON a.area_id = p.area_id
+JOIN property_sale_info s ON s.user_id = p.sale_id
+LEFT JOIN users u ON u.id = s.user_id;
+
+CREATE TABLE property_card (
+    property_id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    price NUMERIC(15, 2) NOT NULL,
+    description TEXT NULL,
+    type_id INTEGER NOT NULL,
+    type_name VARCHAR(255) NOT NULL,
+    sale_user_id BIGINT NOT NULL,
+    sale_display_name VARCHAR(255) NULL,
+    sale_phone VARCHAR(50) NOT NULL,
+    area_id INTEGER NOT NULL,
+    area_name VARCHAR(255) NOT NULL,
+    is_public BOOLEAN NOT NULL,
+    is_for_rent BOOLEAN NOT NULL,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    main_image_relative_path TEXT NULL,
+    CONSTRAINT fk_property_card_property FOREIGN KEY (property_id) REFERENCES property(property_id) ON DELETE CASCADE
+);
+-- reference renames rewrite every card of the type, area or sale contact
+CREATE INDEX idx_property_card_type_id ON property_card(type_id);
+CREATE INDEX idx_property_card_area_id ON property_card(area_id);
+CREATE INDEX idx_property_card_sale_user_id ON property_card(sale_user_id);
+
+INSERT INTO property_card
+SELECT * FROM property_card_source;
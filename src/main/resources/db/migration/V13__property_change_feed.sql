@@ -0,0 +1,11 @@
+-- Change feed: a card records when its content last changed, a deleted property leaves a tombstone
+ALTER TABLE property_card ADD COLUMN changed_at TIMESTAMP;
+UPDATE property_card SET changed_at = COALESCE(updated_at, created_at, LOCALTIMESTAMP);
+ALTER TABLE property_card ALTER COLUMN changed_at SET NOT NULL;
+CREATE INDEX idx_property_card_changed_at ON property_card(changed_at, property_id);
+
+CREATE TABLE property_tombstone (
+    property_id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_property_tombstone_deleted_at ON property_tombstone(deleted_at, property_id);
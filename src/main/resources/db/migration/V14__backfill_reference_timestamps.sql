@@ -0,0 +1,11 @@
+-- Conditional GET versions read updated_at; rows written before the entities maintained it have none
+UPDATE property_type SET created_at = COALESCE(created_at, LOCALTIMESTAMP), updated_at = COALESCE(updated_at, created_at, LOCALTIMESTAMP)
+WHERE created_at IS NULL OR updated_at IS NULL;
+UPDATE property_area SET created_at = COALESCE(created_at, LOCALTIMESTAMP), updated_at = COALESCE(updated_at, created_at, LOCALTIMESTAMP)
+WHERE created_at IS NULL OR updated_at IS NULL;
+UPDATE property_define_details SET created_at = COALESCE(created_at, LOCALTIMESTAMP), updated_at = COALESCE(updated_at, created_at, LOCALTIMESTAMP)
+WHERE created_at IS NULL OR updated_at IS NULL;
+UPDATE property_sale_info SET created_at = COALESCE(created_at, LOCALTIMESTAMP), updated_at = COALESCE(updated_at, created_at, LOCALTIMESTAMP)
+WHERE created_at IS NULL OR updated_at IS NULL;
+UPDATE users SET created_at = COALESCE(created_at, LOCALTIMESTAMP), updated_at = COALESCE(updated_at, created_at, LOCALTIMESTAMP)
+WHERE created_at IS NULL OR updated_at IS NULL;
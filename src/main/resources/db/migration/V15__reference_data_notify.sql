@@ -0,0 +1,24 @@
+-- Every committed change to a reference row is announced as '<table>:<id>' so each app instance can
+-- evict it from its second-level cache; notifications are delivered only once the transaction commits
+CREATE FUNCTION notify_reference_data_changed() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    PERFORM pg_notify('reference_data_changed',
+        TG_TABLE_NAME || ':' || (CASE TG_OP WHEN 'DELETE' THEN to_jsonb(OLD) ELSE to_jsonb(NEW) END ->> TG_ARGV[0]));
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER role_notify_changed
+    AFTER INSERT OR UPDATE OR DELETE ON role
+    FOR EACH ROW EXECUTE FUNCTION notify_reference_data_changed('role_id');
+CREATE TRIGGER property_type_notify_changed
+    AFTER INSERT OR UPDATE OR DELETE ON property_type
+    FOR EACH ROW EXECUTE FUNCTION notify_reference_data_changed('type_id');
+CREATE TRIGGER property_area_notify_changed
+    AFTER INSERT OR UPDATE OR DELETE ON property_area
+    FOR EACH ROW EXECUTE FUNCTION notify_reference_data_changed('area_id');
+CREATE TRIGGER property_define_details_notify_changed
+    AFTER INSERT OR UPDATE OR DELETE ON property_define_details
+    FOR EACH ROW EXECUTE FUNCTION notify_reference_data_changed('detail_id');
@@ -0,0 +1,76 @@
+-- Gallery order: position, ties broken by file id; existing galleries keep the order the main image used
+ALTER TABLE property_gallery ADD COLUMN position INTEGER NOT NULL DEFAULT 0;
+UPDATE property_gallery g
+SET position = o.position
+FROM (SELECT property_id, file_id, row_number() OVER (PARTITION BY property_id ORDER BY file_id) - 1 AS position
+      FROM property_gallery) o
+WHERE o.property_id = g.property_id AND o.file_id = g.file_id;
+DROP INDEX idx_property_gallery_property_id;
+CREATE INDEX idx_property_gallery_position ON property_gallery(property_id, position, file_id);
+
+-- Main image: the first gallery file, denormalized so a property reaches it through one key lookup
+ALTER TABLE property ADD COLUMN main_file_id BIGINT NULL;
+ALTER TABLE property ADD CONSTRAINT fk_property_main_file
+    FOREIGN KEY (main_file_id) REFERENCES stored_file(file_id) ON DELETE SET NULL;
+CREATE INDEX idx_property_main_file_id ON property(main_file_id);
+
+-- Kept by statement triggers rather than the application: deleting a stored file removes its gallery
+-- rows through the cascading foreign key, which no service sees
+CREATE FUNCTION property_gallery_refresh_main_file() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    UPDATE property p
+    SET main_file_id = m.file_id
+    FROM (SELECT c.property_id,
+                 (SELECT g.file_id FROM property_gallery g
+                  WHERE g.property_id = c.property_id
+                  ORDER BY g.position, g.file_id
+                  LIMIT 1) AS file_id
+          FROM (SELECT DISTINCT property_id FROM changed) c) m
+    WHERE p.property_id = m.property_id AND p.main_file_id IS DISTINCT FROM m.file_id;
+    RETURN NULL;
+END
+$$;
+
+-- transition tables allow one event per trigger
+CREATE TRIGGER property_gallery_main_file_insert
+    AFTER INSERT ON property_gallery REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION property_gallery_refresh_main_file();
+CREATE TRIGGER property_gallery_main_file_update
+    AFTER UPDATE ON property_gallery REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION property_gallery_refresh_main_file();
+CREATE TRIGGER property_gallery_main_file_delete
+    AFTER DELETE ON property_gallery REFERENCING OLD TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION property_gallery_refresh_main_file();
+
+UPDATE property p
+SET main_file_id = (SELECT g.file_id FROM property_gallery g
+                    WHERE g.property_id = p.property_id
+                    ORDER BY g.position, g.file_id
+                    LIMIT 1);
+
+-- Cards read the main image through the key instead of scanning the gallery
+CREATE OR REPLACE VIEW property_card_source AS
+SELECT p.property_id,
+       p.title,
+       p.price,
+       p.description,
+       t.type_id,
+       t.type_name,
+       s.user_id AS sale_user_id,
+       u.display_name AS sale_display_name,
+       s.phone AS sale_phone,
+       a.area_id,
+       a.area_name,
+       p.is_public,
+       p.is_for_rent,
+       p.created_at,
+       p.updated_at,
+       mf.relative_path AS main_image_relative_path
+FROM property p
+JOIN property_type t ON t.type_id = p.type_id
+JOIN property_area a ON a.area_id = p.area_id
+JOIN property_sale_info s ON s.user_id = p.sale_id
+LEFT JOIN users u ON u.id = s.user_id
+LEFT JOIN stored_file mf ON mf.file_id = p.main_file_id;
@@ -0,0 +1,7 @@
+-- Gallery files a property delete left unreferenced, waiting for their blobs and metadata to be removed
+CREATE TABLE stored_file_cleanup (
+    file_id BIGINT PRIMARY KEY,
+    queued_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_stored_file_cleanup_file FOREIGN KEY (file_id) REFERENCES stored_file(file_id) ON DELETE CASCADE
+);
+CREATE INDEX idx_stored_file_cleanup_queued_at ON stored_file_cleanup(queued_at, file_id);
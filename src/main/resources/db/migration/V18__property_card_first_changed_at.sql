@@ -0,0 +1,6 @@
+-- Change feed: a card also records the database clock of its first insert, so creates and updates are
+-- told apart on the same clock the feed tokens use
+ALTER TABLE property_card ADD COLUMN first_changed_at TIMESTAMP;
+-- existing cards only have the application-clock created_at to go by
+UPDATE property_card SET first_changed_at = LEAST(COALESCE(created_at, changed_at), changed_at);
+ALTER TABLE property_card ALTER COLUMN first_changed_at SET NOT NULL;
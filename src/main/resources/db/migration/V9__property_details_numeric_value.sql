@@ -0,0 +1,13 @@
+-- Typed copy of numeric detail values so range filters compare numbers, not strings
+ALTER TABLE property_details ADD COLUMN numeric_value NUMERIC NULL;
+
+-- Backfill from existing text values of numeric details (non-numeric text stays NULL)
+UPDATE property_details d
+SET numeric_value = CAST(TRIM(d.value) AS NUMERIC)
+FROM property_define_details dd
+WHERE dd.detail_id = d.detail_id
+  AND dd.is_number = TRUE
+  AND d.value ~ '^\s*[-+]?([0-9]+(\.[0-9]*)?|\.[0-9]+)([eE][-+]?[0-9]+)?\s*$';
+
+-- Serves "detail_id = ? AND numeric_value BETWEEN ? AND ?" as an index-only range scan
+CREATE INDEX idx_property_details_detail_numeric ON property_details(detail_id, numeric_value, property_id);
@@ -16,15 +16,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -44,6 +50,7 @@ class PropertyControllerIT extends PostgresTestContainer {
 	@Autowired private PropertyRepository propertyRepo;
 	@Autowired private PropertyDefineDetailsRepository defineDetailsRepo;
 	@Autowired private PropertyDetailsRepository detailsRepo;
+	@Autowired private PropertyCardRepository cardRepo;
 
 	private Integer typeId;
 	private Integer areaId;
@@ -127,6 +134,68 @@ class PropertyControllerIT extends PostgresTestContainer {
 			.andExpect(jsonPath("$.message").value("Delete property successfully"));
 	}
 
+	@Test
+	@DisplayName("GET /{id} serves the cached body gzipped on request and re-renders after an update")
+	void get_serves_cached_body() throws Exception {
+		PropertyCreateReq req = new PropertyCreateReq();
+		req.setTitle("Cached A");
+		req.setPrice(new BigDecimal("1000.00"));
+		req.setDescription("long description ".repeat(200));
+		req.setTypeId(typeId);
+		req.setSaleUserId(saleUserId);
+		req.setAreaId(areaId);
+		req.setIsPublic(true);
+		req.setIsForRent(false);
+		String createRes = mockMvc.perform(post("/api/properties")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(Objects.requireNonNull(mapper.writeValueAsString(req))))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		long id = mapper.readTree(createRes).path("data").path("propertyId").asLong();
+
+		byte[] gzipped = mockMvc.perform(get("/api/properties/{id}", id).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+			.andExpect(header().exists(HttpHeaders.ETAG))
+			.andReturn().getResponse().getContentAsByteArray();
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+			assertThat(mapper.readTree(in).path("data").path("title").asText()).isEqualTo("Cached A");
+		}
+
+		mockMvc.perform(get("/api/properties/{id}", id))
+			.andExpect(status().isOk())
+			.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+			.andExpect(jsonPath("$.data.title").value("Cached A"));
+
+		mockMvc.perform(get("/api/properties/{id}", id).param("fields", "title, type"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.propertyId").value(id))
+			.andExpect(jsonPath("$.data.title").value("Cached A"))
+			.andExpect(jsonPath("$.data.type.typeName").value("TypeA"))
+			.andExpect(jsonPath("$.data.description").doesNotExist())
+			.andExpect(jsonPath("$.data.galleries").doesNotExist());
+		mockMvc.perform(get("/api/properties/{id}", id).param("fields", "title,unknown"))
+			.andExpect(status().isUnprocessableEntity());
+
+		PropertyUpdateReq up = new PropertyUpdateReq();
+		up.setTitle("Cached B");
+		up.setPrice(new BigDecimal("1000.00"));
+		up.setDescription(req.getDescription());
+		up.setTypeId(typeId);
+		up.setSaleUserId(saleUserId);
+		up.setAreaId(areaId);
+		up.setIsPublic(true);
+		up.setIsForRent(false);
+		mockMvc.perform(put("/api/properties/{id}", id)
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(Objects.requireNonNull(mapper.writeValueAsString(up))))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/properties/{id}", id))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.title").value("Cached B"));
+	}
+
 	@Test
 	@DisplayName("GET list returns meta and data; 404/400 cases")
 	void list_and_error_cases() throws Exception {
@@ -473,4 +542,163 @@ class PropertyControllerIT extends PostgresTestContainer {
 			.andExpect(jsonPath("$.data.content[0].saleInfo.phone").value("0900000000"))
 			.andExpect(jsonPath("$.meta.total").value(1));
 	}
+
+	@Test
+	@DisplayName("search with cursor walks every row once in both modes")
+	void search_with_cursor_walks_all_rows() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			PropertyCreateReq req = new PropertyCreateReq();
+			req.setTitle("Cursor_" + i);
+			// two rows share each price so the tie-breaker is exercised
+			req.setPrice(new BigDecimal((i / 2 + 1) * 1000000000.00));
+			req.setDescription("d");
+			req.setTypeId(Objects.requireNonNull(typeId));
+			req.setSaleUserId(Objects.requireNonNull(saleUserId));
+			req.setAreaId(Objects.requireNonNull(areaId));
+			req.setIsPublic(true);
+			req.setIsForRent(false);
+			mockMvc.perform(post("/api/properties")
+					.contentType(MediaType.APPLICATION_JSON_VALUE)
+					.content(Objects.requireNonNull(mapper.writeValueAsString(req))))
+				.andExpect(status().isOk());
+		}
+
+		PropertySearchReq searchReq = new PropertySearchReq();
+		searchReq.setTitle("Cursor_");
+		String body = Objects.requireNonNull(mapper.writeValueAsString(searchReq));
+
+		for (String mode : List.of("list", "select")) {
+			Set<Long> seen = new LinkedHashSet<>();
+			String cursor = "";
+			int slices = 0;
+			while (cursor != null) {
+				String res = mockMvc.perform(post("/api/properties/search")
+						.param("size", "2")
+						.param("sort", "price,asc")
+						.param("mode", mode)
+						.param("cursor", cursor)
+						.contentType(MediaType.APPLICATION_JSON_VALUE)
+						.content(body))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.meta.total").doesNotExist())
+					.andReturn().getResponse().getContentAsString();
+				var tree = mapper.readTree(res);
+				tree.path("data").path("content").forEach(row -> seen.add(row.path("propertyId").asLong()));
+				var next = tree.path("meta").path("nextCursor");
+				cursor = next.isMissingNode() || next.isNull() ? null : next.asText();
+				slices++;
+			}
+			assertThat(seen).hasSize(5);
+			assertThat(slices).isEqualTo(3);
+		}
+
+		mockMvc.perform(post("/api/properties/search")
+				.param("cursor", "not-a-cursor")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(body))
+			.andExpect(status().isUnprocessableEntity());
+	}
+
+	@Test
+	@DisplayName("POST /api/properties/search/facets counts each dimension without its own filter")
+	void search_facets_are_disjunctive() throws Exception {
+		PropertyType otherType = new PropertyType(); otherType.setTypeName("TypeFacet");
+		Integer otherTypeId = typeRepo.saveAndFlush(otherType).getTypeId();
+		PropertyDefineDetails bedrooms = new PropertyDefineDetails();
+		bedrooms.setDetailName("Bedrooms facet");
+		bedrooms.setIsNumber(true);
+		bedrooms.setShowInHomePage(true);
+		bedrooms = defineDetailsRepo.saveAndFlush(bedrooms);
+
+		saveFacetProperty(typeId, true, "1500000000", bedrooms, "2");
+		saveFacetProperty(typeId, false, "2500000000", bedrooms, "3");
+		saveFacetProperty(otherTypeId, true, "4000000000", bedrooms, "2");
+
+		PropertySearchReq searchReq = new PropertySearchReq();
+		searchReq.setTitle("FacetIT");
+		searchReq.setTypeIds(List.of(Objects.requireNonNull(typeId)));
+		searchReq.setIsForRent(true);
+
+		mockMvc.perform(post("/api/properties/search/facets")
+				.param("priceBounds", "2000000000", "3000000000")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(Objects.requireNonNull(mapper.writeValueAsString(searchReq))))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.total").value(1))
+			.andExpect(jsonPath("$.data.types.length()").value(2))
+			.andExpect(jsonPath("$.data.types[?(@.value == " + otherTypeId + ")].count").value(1))
+			.andExpect(jsonPath("$.data.forRent.length()").value(2))
+			.andExpect(jsonPath("$.data.forRent[?(@.value == false)].count").value(1))
+			.andExpect(jsonPath("$.data.prices.length()").value(3))
+			.andExpect(jsonPath("$.data.prices[0].count").value(1))
+			.andExpect(jsonPath("$.data.prices[1].count").value(0))
+			.andExpect(jsonPath("$.data.details[?(@.detailId == " + bedrooms.getDetailId() + ")].values[0].value").value("2"))
+			.andExpect(jsonPath("$.data.details[?(@.detailId == " + bedrooms.getDetailId() + ")].values[0].count").value(1));
+	}
+
+	@Test
+	@DisplayName("search count=none skips the total and count=estimate reports an approximate one")
+	void search_count_modes() throws Exception {
+		PropertyDefineDetails floors = new PropertyDefineDetails();
+		floors.setDetailName("Floors count");
+		floors.setIsNumber(true);
+		floors = defineDetailsRepo.saveAndFlush(floors);
+		saveFacetProperty(typeId, false, "1100000000", floors, "1");
+		saveFacetProperty(typeId, false, "1200000000", floors, "2");
+		saveFacetProperty(typeId, false, "1300000000", floors, "3");
+
+		PropertySearchReq searchReq = new PropertySearchReq();
+		searchReq.setTitle("FacetIT");
+		String body = Objects.requireNonNull(mapper.writeValueAsString(searchReq));
+
+		mockMvc.perform(post("/api/properties/search?page=0&size=2&count=none")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(body))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.content.length()").value(2))
+			.andExpect(jsonPath("$.meta.total").doesNotExist())
+			.andExpect(jsonPath("$.meta.totalKind").value("none"))
+			.andExpect(jsonPath("$.meta.hasNext").value(true));
+
+		mockMvc.perform(post("/api/properties/search?page=1&size=2&count=estimate")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(body))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.content.length()").value(1))
+			.andExpect(jsonPath("$.meta.total").value(3))
+			.andExpect(jsonPath("$.meta.totalKind").value("estimate"))
+			.andExpect(jsonPath("$.meta.hasNext").value(false));
+
+		mockMvc.perform(post("/api/properties/search?page=0&size=2")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(body))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.meta.total").value(3))
+			.andExpect(jsonPath("$.meta.totalKind").value("exact"));
+
+		mockMvc.perform(post("/api/properties/search?count=approximately")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(body))
+			.andExpect(status().isUnprocessableEntity());
+	}
+
+	private void saveFacetProperty(Integer propertyTypeId, boolean forRent, String price, PropertyDefineDetails define, String value) {
+		Property p = new Property();
+		p.setTitle("FacetIT " + price);
+		p.setPrice(new BigDecimal(price));
+		p.setType(typeRepo.findById(Objects.requireNonNull(propertyTypeId)).orElseThrow());
+		p.setArea(areaRepo.findById(Objects.requireNonNull(areaId)).orElseThrow());
+		p.setSaleInfo(saleInfoRepo.findByUserId(Objects.requireNonNull(saleUserId)).orElseThrow());
+		p.setIsPublic(true);
+		p.setIsForRent(forRent);
+		p = propertyRepo.saveAndFlush(p);
+		// written behind the service, so the list row is projected here
+		cardRepo.refreshByPropertyIds(List.of(p.getPropertyId()));
+		PropertyDetails detail = new PropertyDetails();
+		detail.setId(new PropertyDetailsId(define.getDetailId(), p.getPropertyId()));
+		detail.setProperty(p);
+		detail.setDetail(define);
+		detail.setValue(value);
+		detailsRepo.saveAndFlush(detail);
+	}
 }
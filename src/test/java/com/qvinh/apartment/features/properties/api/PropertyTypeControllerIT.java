@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -62,6 +63,47 @@ class PropertyTypeControllerIT extends PostgresTestContainer {
 			.andExpect(jsonPath("$.message").value("Delete property type successfully"));
 	}
 
+	@Test
+	@DisplayName("GET answers 304 while the ETag matches and 200 again after an update")
+	void conditional_get() throws Exception {
+		PropertyTypeCreateReq req = new PropertyTypeCreateReq();
+		req.setTypeName("Etag type");
+		String createRes = mockMvc.perform(post("/api/property-types")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(Objects.requireNonNull(mapper.writeValueAsString(req))))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		int id = mapper.readTree(createRes).path("data").path("typeId").asInt();
+
+		String etag = mockMvc.perform(get("/api/property-types/{id}", id))
+			.andExpect(status().isOk())
+			.andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/property-types/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+
+		String listEtag = mockMvc.perform(get("/api/property-types?page=0&size=5"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/api/property-types?page=0&size=5").header(HttpHeaders.IF_NONE_MATCH, listEtag))
+			.andExpect(status().isNotModified());
+
+		PropertyTypeUpdateReq up = new PropertyTypeUpdateReq();
+		up.setTypeName("Etag type renamed");
+		mockMvc.perform(put("/api/property-types/{id}", id)
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(Objects.requireNonNull(mapper.writeValueAsString(up))))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/property-types/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.typeName").value("Etag type renamed"));
+		mockMvc.perform(get("/api/property-types?page=0&size=5").header(HttpHeaders.IF_NONE_MATCH, listEtag))
+			.andExpect(status().isOk());
+	}
+
 	@Test
 	@DisplayName("GET list returns meta and data; 404/409/400 cases")
 	void list_and_error_cases() throws Exception {
@@ -0,0 +1,70 @@
+package com.qvinh.apartment.features.properties.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qvinh.apartment.features.properties.dto.property_area.PropertyAreaCreateReq;
+import com.qvinh.apartment.features.properties.dto.property_type.PropertyTypeCreateReq;
+import com.qvinh.apartment.testsupport.PostgresTestContainer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+class ReferenceDataControllerIT extends PostgresTestContainer {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Test
+	@DisplayName("GET /api/reference-data returns all lists and revalidates until one of them changes")
+	void conditional_get() throws Exception {
+		String suffix = String.valueOf(System.nanoTime());
+		PropertyTypeCreateReq type = new PropertyTypeCreateReq();
+		type.setTypeName("Reference type " + suffix);
+		mockMvc.perform(post("/api/property-types")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(Objects.requireNonNull(mapper.writeValueAsString(type))))
+			.andExpect(status().isOk());
+
+		String etag = mockMvc.perform(get("/api/reference-data"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.message").value("Reference data"))
+			.andExpect(jsonPath("$.data.types[*].typeName", hasItem("Reference type " + suffix)))
+			.andExpect(jsonPath("$.data.areas").isArray())
+			.andExpect(jsonPath("$.data.defineDetails").isArray())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).isNotNull();
+
+		mockMvc.perform(get("/api/reference-data").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+
+		PropertyAreaCreateReq area = new PropertyAreaCreateReq();
+		area.setAreaName("Reference area " + suffix);
+		area.setAreaLink("reference-area-" + suffix);
+		mockMvc.perform(post("/api/areas")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(Objects.requireNonNull(mapper.writeValueAsString(area))))
+			.andExpect(status().isOk());
+
+		String renewed = mockMvc.perform(get("/api/reference-data").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.areas[*].areaLink", hasItem("reference-area-" + suffix)))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(renewed).isNotEqualTo(etag);
+	}
+}
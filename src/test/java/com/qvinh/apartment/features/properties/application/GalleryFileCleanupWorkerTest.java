@@ -0,0 +1,138 @@
+package com.qvinh.apartment.features.properties.application;
+
+import com.qvinh.apartment.features.accounts.domain.*;
+import com.qvinh.apartment.features.accounts.persistence.*;
+import com.qvinh.apartment.features.properties.application.impl.GalleryFileCleanupWorker;
+import com.qvinh.apartment.features.properties.domain.*;
+import com.qvinh.apartment.features.properties.dto.property.PropertyCreateReq;
+import com.qvinh.apartment.features.properties.persistence.*;
+import com.qvinh.apartment.testsupport.PostgresTestContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: the attach and the cleanup each commit on their own connection. The scheduled run
+ * is pushed out so only the test drives the worker.
+ */
+@SpringBootTest(properties = "app.gallery.file-cleanup.interval=PT24H")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class GalleryFileCleanupWorkerTest extends PostgresTestContainer {
+
+	@Autowired private GalleryFileCleanupWorker worker;
+	@Autowired private IPropertyService propertyService;
+	@Autowired private PropertyTypeRepository typeRepository;
+	@Autowired private PropertyAreaRepository areaRepository;
+	@Autowired private RoleRepository roleRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private PropertySaleInfoRepository saleInfoRepository;
+	@Autowired private DataSource dataSource;
+
+	private JdbcTemplate jdbc;
+	private PropertyType type;
+	private PropertyArea area;
+	private User user;
+	private PropertySaleInfo saleInfo;
+	private Long propertyId;
+	private Long fileId;
+
+	@BeforeEach
+	void setup() {
+		jdbc = new JdbcTemplate(dataSource);
+		String suffix = "Cleanup" + System.nanoTime();
+		type = new PropertyType(); type.setTypeName("T" + suffix);
+		type = typeRepository.saveAndFlush(type);
+		area = new PropertyArea(); area.setAreaName("A" + suffix); area.setAreaLink("a-" + suffix);
+		area = areaRepository.saveAndFlush(area);
+		Role role = roleRepository.findByRoleName("SALE").orElseGet(() -> {
+			Role r = new Role(); r.setRoleName("SALE"); return roleRepository.saveAndFlush(r);
+		});
+		user = new User();
+		user.setUsername("u" + suffix);
+		user.setEmail("u" + suffix + "@example.com");
+		user.setPassword("x");
+		user.setRole(role);
+		user = userRepository.saveAndFlush(user);
+		saleInfo = new PropertySaleInfo();
+		saleInfo.setUser(user);
+		saleInfo.setFullName("Sale Cleanup");
+		saleInfo.setPhone("0900");
+		saleInfo = saleInfoRepository.saveAndFlush(saleInfo);
+
+		PropertyCreateReq req = new PropertyCreateReq();
+		req.setTitle("Cleanup target");
+		req.setPrice(new BigDecimal("100.00"));
+		req.setTypeId(type.getTypeId());
+		req.setSaleUserId(user.getId());
+		req.setAreaId(area.getAreaId());
+		req.setIsPublic(true);
+		req.setIsForRent(false);
+		propertyId = propertyService.create(req).getPropertyId();
+		fileId = jdbc.queryForObject("INSERT INTO stored_file (original_name, stored_name, mime_type, size_bytes,"
+			+ " sha256, relative_path) VALUES (?, ?, 'image/jpeg', 1, md5(?) || md5(?), ?) RETURNING file_id",
+			Long.class, "cleanup.jpg", suffix, suffix, "stored", "public/" + suffix + ".jpg");
+	}
+
+	@AfterEach
+	void cleanup() {
+		propertyService.delete(propertyId);
+		jdbc.update("DELETE FROM stored_file WHERE file_id = ?", fileId);
+		saleInfoRepository.delete(saleInfo);
+		userRepository.delete(user);
+		areaRepository.delete(area);
+		typeRepository.delete(type);
+	}
+
+	@Test
+	@DisplayName("a file attached again while its cleanup runs is dequeued, not deleted")
+	void reattached_file_survives_cleanup() throws Exception {
+		jdbc.update("INSERT INTO stored_file_cleanup (file_id, queued_at) VALUES (?, LOCALTIMESTAMP)", fileId);
+
+		try (Connection attach = dataSource.getConnection()) {
+			attach.setAutoCommit(false);
+			try (PreparedStatement insert = attach.prepareStatement("INSERT INTO property_gallery"
+				+ " (property_id, file_id, created_at, updated_at) VALUES (?, ?, LOCALTIMESTAMP, LOCALTIMESTAMP)")) {
+				insert.setLong(1, propertyId);
+				insert.setLong(2, fileId);
+				insert.executeUpdate();
+			}
+
+			CompletableFuture<Void> cleanup = CompletableFuture.runAsync(worker::run);
+			// the worker waits for the attach's lock on the file row instead of deciding without it
+			Thread.sleep(500);
+			assertThat(cleanup).isNotDone();
+			attach.commit();
+			cleanup.get(10, TimeUnit.SECONDS);
+		}
+
+		assertThat(jdbc.queryForObject("SELECT count(*) FROM stored_file WHERE file_id = ?", Integer.class, fileId)).isEqualTo(1);
+		assertThat(jdbc.queryForObject("SELECT count(*) FROM property_gallery WHERE file_id = ?", Integer.class, fileId)).isEqualTo(1);
+		assertThat(jdbc.queryForObject("SELECT count(*) FROM stored_file_cleanup WHERE file_id = ?", Integer.class, fileId)).isZero();
+	}
+
+	@Test
+	@DisplayName("an unreferenced queued file is removed with its queue entry")
+	void unreferenced_file_is_removed() {
+		jdbc.update("INSERT INTO stored_file_cleanup (file_id, queued_at) VALUES (?, LOCALTIMESTAMP)", fileId);
+
+		worker.run();
+
+		assertThat(jdbc.queryForObject("SELECT count(*) FROM stored_file WHERE file_id = ?", Integer.class, fileId)).isZero();
+		assertThat(jdbc.queryForObject("SELECT count(*) FROM stored_file_cleanup WHERE file_id = ?", Integer.class, fileId)).isZero();
+	}
+}
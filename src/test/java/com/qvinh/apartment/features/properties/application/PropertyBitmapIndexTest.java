@@ -0,0 +1,157 @@
+package com.qvinh.apartment.features.properties.application;
+
+import com.qvinh.apartment.features.accounts.domain.*;
+import com.qvinh.apartment.features.accounts.persistence.*;
+import com.qvinh.apartment.features.properties.application.impl.PropertyBitmapIndexer;
+import com.qvinh.apartment.features.properties.domain.*;
+import com.qvinh.apartment.features.properties.dto.property.PropertyCreateReq;
+import com.qvinh.apartment.features.properties.dto.property.PropertyRes;
+import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+import com.qvinh.apartment.features.properties.persistence.*;
+import com.qvinh.apartment.shared.api.TotalKind;
+import com.qvinh.apartment.testsupport.PostgresTestContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: the index only learns about committed writes. Every search is compared with the
+ * specification path over the same rows.
+ */
+@SpringBootTest(properties = {
+	"app.properties.search.bitmap-index.enabled=true",
+	"app.properties.search.cache.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class PropertyBitmapIndexTest extends PostgresTestContainer {
+
+	private static final int PROPERTY_COUNT = 12;
+
+	@Autowired private IPropertyService service;
+	@Autowired private PropertyBitmapIndexer indexer;
+	@Autowired private PropertyTypeRepository typeRepository;
+	@Autowired private PropertyAreaRepository areaRepository;
+	@Autowired private RoleRepository roleRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private PropertySaleInfoRepository saleInfoRepository;
+	@Autowired private PropertyRepository propertyRepository;
+
+	private final List<PropertyType> types = new ArrayList<>();
+	private final List<PropertyArea> areas = new ArrayList<>();
+	private final List<Long> propertyIds = new ArrayList<>();
+	private User user;
+	private PropertySaleInfo saleInfo;
+
+	@BeforeEach
+	void setup() {
+		String suffix = Long.toString(System.nanoTime());
+		for (int i = 0; i < 2; i++) {
+			PropertyType type = new PropertyType(); type.setTypeName("BT" + i + suffix);
+			types.add(typeRepository.saveAndFlush(type));
+			PropertyArea area = new PropertyArea(); area.setAreaName("BA" + i + suffix); area.setAreaLink("ba-" + i + suffix);
+			areas.add(areaRepository.saveAndFlush(area));
+		}
+		Role role = roleRepository.findByRoleName("SALE").orElseGet(() -> {
+			Role r = new Role(); r.setRoleName("SALE"); return roleRepository.saveAndFlush(r);
+		});
+		user = new User();
+		user.setUsername("bitmap" + suffix);
+		user.setEmail("bitmap" + suffix + "@example.com");
+		user.setPassword("x");
+		user.setRole(role);
+		user = userRepository.saveAndFlush(user);
+		saleInfo = new PropertySaleInfo();
+		saleInfo.setUser(user);
+		saleInfo.setFullName("Sale Bitmap");
+		saleInfo.setPhone("0900");
+		saleInfo = saleInfoRepository.saveAndFlush(saleInfo);
+
+		for (int i = 0; i < PROPERTY_COUNT; i++) {
+			PropertyCreateReq req = new PropertyCreateReq();
+			req.setTitle("Bitmap " + i);
+			// repeated prices exercise the propertyId tie-breaker
+			req.setPrice(new BigDecimal(1_000_000_000L * (1 + i % 4)));
+			req.setDescription("d");
+			req.setTypeId(types.get(i % 2).getTypeId());
+			req.setAreaId(areas.get(i % 3 == 0 ? 1 : 0).getAreaId());
+			req.setSaleUserId(user.getId());
+			req.setIsPublic(i % 5 != 0);
+			req.setIsForRent(i % 2 == 0);
+			propertyIds.add(service.create(req).getPropertyId());
+		}
+	}
+
+	@AfterEach
+	void cleanup() {
+		propertyRepository.findAllById(propertyIds).forEach(p -> service.delete(p.getPropertyId()));
+		saleInfoRepository.delete(saleInfo);
+		userRepository.delete(user);
+		areaRepository.deleteAll(areas);
+		typeRepository.deleteAll(types);
+	}
+
+	@Test
+	@DisplayName("bitmap index answers flag, reference and price filters like the specification")
+	void index_matches_specification() {
+		assertThat(indexer.isReady()).isTrue();
+
+		PropertySearchReq all = scoped();
+		assertSameAsSpecification(all, PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt")));
+		assertSameAsSpecification(all, PageRequest.of(2, 5, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+		PropertySearchReq rentOfType = scoped();
+		rentOfType.setTypeIds(List.of(types.get(0).getTypeId()));
+		rentOfType.setIsForRent(true);
+		assertSameAsSpecification(rentOfType, PageRequest.of(0, 4, Sort.by(Sort.Direction.ASC, "price")));
+
+		PropertySearchReq priced = scoped();
+		priced.setAreaIds(List.of(areas.get(0).getAreaId()));
+		priced.setMinPrice(new BigDecimal("1999999999.999"));
+		priced.setMaxPrice(new BigDecimal("3000000000"));
+		assertSameAsSpecification(priced, PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "price")));
+		assertSameAsSpecification(priced, PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "price")));
+
+		PropertySearchReq hidden = scoped();
+		hidden.setIsPublic(false);
+		assertSameAsSpecification(hidden, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "propertyId")));
+
+		service.delete(propertyIds.get(0));
+		assertSameAsSpecification(all, PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "price")));
+
+		// a full load appends rows in table order and sorts the keys once; it must answer the same
+		indexer.build();
+		assertThat(indexer.isReady()).isTrue();
+		assertSameAsSpecification(all, PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "price")));
+		assertSameAsSpecification(all, PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "createdAt")));
+		assertSameAsSpecification(priced, PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "price")));
+	}
+
+	private PropertySearchReq scoped() {
+		PropertySearchReq req = new PropertySearchReq();
+		req.setSaleUserIds(List.of(user.getId()));
+		return req;
+	}
+
+	private void assertSameAsSpecification(PropertySearchReq req, Pageable pageable) {
+		var expected = propertyRepository.findAllRes(PropertySpecifications.bySearchReq(req), pageable);
+		var actual = (Page<PropertyRes>) service.search(req, pageable, TotalKind.EXACT);
+		assertThat(actual.getContent()).extracting(PropertyRes::getPropertyId)
+			.containsExactlyElementsOf(expected.getContent().stream().map(PropertyRes::getPropertyId).toList());
+		assertThat(actual.getTotalElements()).isEqualTo(expected.getTotalElements());
+	}
+}
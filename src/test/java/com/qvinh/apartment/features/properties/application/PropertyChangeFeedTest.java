@@ -0,0 +1,159 @@
+package com.qvinh.apartment.features.properties.application;
+
+import com.qvinh.apartment.features.accounts.domain.*;
+import com.qvinh.apartment.features.accounts.persistence.*;
+import com.qvinh.apartment.features.properties.domain.*;
+import com.qvinh.apartment.features.properties.dto.property.PropertyCreateReq;
+import com.qvinh.apartment.features.properties.dto.property.PropertyUpdateReq;
+import com.qvinh.apartment.features.properties.dto.property_change.PropertyChangeRes;
+import com.qvinh.apartment.features.properties.dto.property_change.PropertyChangeType;
+import com.qvinh.apartment.features.properties.dto.property_change.PropertyChangesRes;
+import com.qvinh.apartment.features.properties.persistence.*;
+import com.qvinh.apartment.testsupport.PostgresTestContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Not transactional: the feed only serves changes whose transaction has committed.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class PropertyChangeFeedTest extends PostgresTestContainer {
+
+	@Autowired private IPropertyChangeFeedService feedService;
+	@Autowired private IPropertyService service;
+	@Autowired private PropertyTypeRepository typeRepository;
+	@Autowired private PropertyAreaRepository areaRepository;
+	@Autowired private RoleRepository roleRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private PropertySaleInfoRepository saleInfoRepository;
+	@Autowired private PropertyRepository propertyRepository;
+	@Autowired private PropertyCardRepository cardRepository;
+
+	private PropertyType type;
+	private PropertyArea area;
+	private User user;
+	private PropertySaleInfo saleInfo;
+	private final List<Long> createdIds = new ArrayList<>();
+
+	@BeforeEach
+	void setup() {
+		String suffix = "Feed" + System.nanoTime();
+		type = new PropertyType(); type.setTypeName("T" + suffix);
+		type = typeRepository.saveAndFlush(type);
+		area = new PropertyArea(); area.setAreaName("A" + suffix); area.setAreaLink("a-" + suffix);
+		area = areaRepository.saveAndFlush(area);
+		Role role = roleRepository.findByRoleName("SALE").orElseGet(() -> {
+			Role r = new Role(); r.setRoleName("SALE"); return roleRepository.saveAndFlush(r);
+		});
+		user = new User();
+		user.setUsername("u" + suffix);
+		user.setEmail("u" + suffix + "@example.com");
+		user.setPassword("x");
+		user.setRole(role);
+		user = userRepository.saveAndFlush(user);
+		saleInfo = new PropertySaleInfo();
+		saleInfo.setUser(user);
+		saleInfo.setFullName("Sale Feed");
+		saleInfo.setPhone("0900");
+		saleInfo = saleInfoRepository.saveAndFlush(saleInfo);
+	}
+
+	@AfterEach
+	void cleanup() {
+		createdIds.stream().filter(propertyRepository::existsById).forEach(propertyRepository::deleteById);
+		saleInfoRepository.delete(saleInfo);
+		userRepository.delete(user);
+		areaRepository.delete(area);
+		typeRepository.delete(type);
+	}
+
+	@Test
+	@DisplayName("feed returns creates, updates and deletes in order and resumes from its token")
+	void feed_resumes_from_token() {
+		String token = drain();
+
+		Long first = create("Feed one");
+		Long second = create("Feed two");
+
+		PropertyChangesRes page = feedService.changes(token, 1);
+		assertThat(page.isHasMore()).isTrue();
+		assertThat(page.getChanges()).extracting(PropertyChangeRes::getType, PropertyChangeRes::getPropertyId)
+			.containsExactly(tuple(PropertyChangeType.CREATED, first));
+		assertThat(page.getChanges().get(0).getProperty().getTitle()).isEqualTo("Feed one");
+
+		page = feedService.changes(page.getNextToken(), 10);
+		assertThat(page.isHasMore()).isFalse();
+		assertThat(page.getChanges()).extracting(PropertyChangeRes::getPropertyId).containsExactly(second);
+		token = page.getNextToken();
+
+		PropertyUpdateReq update = new PropertyUpdateReq();
+		update.setTitle("Feed one renamed");
+		update.setPrice(new BigDecimal("1000"));
+		update.setTypeId(type.getTypeId());
+		update.setSaleUserId(user.getId());
+		update.setAreaId(area.getAreaId());
+		update.setIsPublic(true);
+		update.setIsForRent(false);
+		service.update(first, update);
+		service.delete(second);
+		PropertyCard card = cardRepository.findById(first).orElseThrow();
+		assertThat(card.getFirstChangedAt()).isBefore(card.getChangedAt());
+
+		page = feedService.changes(token, 10);
+		assertThat(page.getChanges()).extracting(PropertyChangeRes::getType, PropertyChangeRes::getPropertyId)
+			.containsExactly(tuple(PropertyChangeType.UPDATED, first), tuple(PropertyChangeType.DELETED, second));
+		assertThat(page.getChanges().get(0).getProperty().getTitle()).isEqualTo("Feed one renamed");
+		assertThat(page.getChanges().get(1).getProperty()).isNull();
+
+		PropertyChangesRes idle = feedService.changes(page.getNextToken(), 10);
+		assertThat(idle.getChanges()).isEmpty();
+		assertThat(idle.getNextToken()).isEqualTo(page.getNextToken());
+	}
+
+	@Test
+	@DisplayName("invalid token or limit is rejected")
+	void rejects_invalid_arguments() {
+		assertThatThrownBy(() -> feedService.changes("not-a-token", 10))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> feedService.changes(null, IPropertyChangeFeedService.MAX_LIMIT + 1))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	// skips whatever earlier tests left behind
+	private String drain() {
+		PropertyChangesRes page = feedService.changes(null, IPropertyChangeFeedService.MAX_LIMIT);
+		while (page.isHasMore()) {
+			page = feedService.changes(page.getNextToken(), IPropertyChangeFeedService.MAX_LIMIT);
+		}
+		return page.getNextToken();
+	}
+
+	private Long create(String title) {
+		PropertyCreateReq req = new PropertyCreateReq();
+		req.setTitle(title);
+		req.setPrice(new BigDecimal("1000"));
+		req.setTypeId(type.getTypeId());
+		req.setSaleUserId(user.getId());
+		req.setAreaId(area.getAreaId());
+		req.setIsPublic(true);
+		req.setIsForRent(false);
+		Long id = service.create(req).getPropertyId();
+		createdIds.add(id);
+		return id;
+	}
+}
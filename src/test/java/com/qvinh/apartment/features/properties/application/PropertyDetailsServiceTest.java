@@ -6,7 +6,9 @@ import com.qvinh.apartment.features.accounts.persistence.*;
 import com.qvinh.apartment.features.properties.domain.*;
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsCreateReq;
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsItemReq;
+import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsReplaceReq;
 import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsUpdateReq;
+import com.qvinh.apartment.features.properties.dto.property_details.PropertyDetailsUpsertReq;
 import com.qvinh.apartment.features.properties.persistence.*;
 import com.qvinh.apartment.shared.exception.BusinessException;
 import com.qvinh.apartment.shared.exception.ConflictException;
@@ -237,4 +239,43 @@ class PropertyDetailsServiceTest extends PostgresTestContainer {
 		assertThatThrownBy(() -> service.update(propertyId, badDetail))
 			.isInstanceOf(ResourceNotFoundException.class);
 	}
+
+	@Test
+	@Transactional
+	@DisplayName("upsert inserts or overwrites listed details; replace also removes the others")
+	void upsert_and_replace() {
+		PropertyDetailsUpsertReq upsertReq = new PropertyDetailsUpsertReq();
+		upsertReq.setItems(List.of(item(numericDetailId, "100")));
+		service.upsert(propertyId, upsertReq);
+
+		upsertReq.setItems(List.of(item(numericDetailId, " 120 "), item(textDetailId, "Full furniture")));
+		var upserted = service.upsert(propertyId, upsertReq);
+		assertThat(upserted).extracting(r -> r.getDetailName()).containsExactly("Size-S", "Interior-S");
+		assertThat(detailsRepository.findById_DetailIdAndId_PropertyId(numericDetailId, propertyId))
+			.get()
+			.satisfies(d -> assertThat(d.getNumericValue()).isEqualByComparingTo("120"));
+		assertThat(detailsRepository.findByProperty_PropertyId(propertyId)).hasSize(2);
+
+		upsertReq.setItems(List.of(item(numericDetailId, "1"), item(numericDetailId, "2")));
+		assertThatThrownBy(() -> service.upsert(propertyId, upsertReq))
+			.isInstanceOf(BusinessException.class);
+
+		PropertyDetailsReplaceReq replaceReq = new PropertyDetailsReplaceReq();
+		replaceReq.setItems(List.of(item(textDetailId, "Basic furniture")));
+		service.replace(propertyId, replaceReq);
+		assertThat(detailsRepository.findByProperty_PropertyId(propertyId))
+			.singleElement()
+			.satisfies(d -> assertThat(d.getValue()).isEqualTo("Basic furniture"));
+
+		replaceReq.setItems(List.of());
+		service.replace(propertyId, replaceReq);
+		assertThat(detailsRepository.findByProperty_PropertyId(propertyId)).isEmpty();
+	}
+
+	private static PropertyDetailsItemReq item(Integer detailId, String value) {
+		PropertyDetailsItemReq item = new PropertyDetailsItemReq();
+		item.setDetailId(detailId);
+		item.setValue(value);
+		return item;
+	}
 }
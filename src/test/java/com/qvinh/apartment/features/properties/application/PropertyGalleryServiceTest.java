@@ -3,9 +3,12 @@ package com.qvinh.apartment.features.properties.application;
 import com.qvinh.apartment.features.properties.application.impl.PropertyGalleryService;
 import com.qvinh.apartment.features.accounts.domain.*;
 import com.qvinh.apartment.features.accounts.persistence.*;
+import com.qvinh.apartment.features.files.application.IFileService;
 import com.qvinh.apartment.features.files.domain.StoredFileMeta;
 import com.qvinh.apartment.features.files.persistence.StoredFileMetaRepository;
 import com.qvinh.apartment.features.properties.domain.*;
+import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryBatchItemRes;
+import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryBatchStatus;
 import com.qvinh.apartment.features.properties.dto.property_gallery.PropertyGalleryRes;
 import com.qvinh.apartment.features.properties.persistence.*;
 import com.qvinh.apartment.shared.exception.ConflictException;
@@ -18,6 +21,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -41,6 +45,8 @@ class PropertyGalleryServiceTest extends PostgresTestContainer {
 	@Autowired private RoleRepository roleRepository;
 	@Autowired private UserRepository userRepository;
 	@Autowired private PropertySaleInfoRepository saleInfoRepository;
+	@Autowired private IFileService fileService;
+	@Autowired private JdbcTemplate jdbcTemplate;
 
 	private Property property;
 	private StoredFileMeta file1;
@@ -289,4 +295,78 @@ class PropertyGalleryServiceTest extends PostgresTestContainer {
 				.extracting(PropertyGalleryRes::getFilePath)
 				.containsExactlyInAnyOrder(file1.getRelativePath(), file2.getRelativePath());
 		}
+
+	@Test
+	@Transactional
+	@DisplayName("reorderGallery orders the gallery and makes the first file the main image")
+	void reorder_gallery_sets_main_image() {
+		Long propertyId = Objects.requireNonNull(property.getPropertyId());
+		Long fileId1 = Objects.requireNonNull(file1.getFileId());
+		Long fileId2 = Objects.requireNonNull(file2.getFileId());
+		service.addFileIntoGallery(propertyId, fileId1);
+		service.addFileIntoGallery(propertyId, fileId2);
+
+		List<PropertyGalleryRes> res = service.reorderGallery(propertyId, List.of(fileId2, fileId1));
+
+		assertThat(res).extracting(PropertyGalleryRes::getFileId).containsExactly(fileId2, fileId1);
+		assertThat(res).extracting(PropertyGalleryRes::getPosition).containsExactly(0, 1);
+		// the reorder cleared the persistence context, so this reads the trigger-maintained column
+		assertThat(propertyRepository.findById(propertyId).orElseThrow().getMainFile().getFileId()).isEqualTo(fileId2);
+
+		assertThatThrownBy(() -> service.reorderGallery(propertyId, List.of(fileId2)))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("batch add and delete report each file and keep request order")
+	void batch_add_and_delete() {
+		Long propertyId = Objects.requireNonNull(property.getPropertyId());
+		Long fileId1 = Objects.requireNonNull(file1.getFileId());
+		Long fileId2 = Objects.requireNonNull(file2.getFileId());
+		Long fileId3 = Objects.requireNonNull(createFile("file3.jpg", "path3").getFileId());
+		Long missingId = Long.MAX_VALUE;
+		service.addFileIntoGallery(propertyId, fileId1);
+
+		List<PropertyGalleryBatchItemRes> added = service.addFilesIntoGallery(propertyId,
+			List.of(fileId3, fileId1, missingId, fileId2, fileId3));
+
+		assertThat(added).extracting(PropertyGalleryBatchItemRes::getFileId)
+			.containsExactly(fileId3, fileId1, missingId, fileId2);
+		assertThat(added).extracting(PropertyGalleryBatchItemRes::getStatus).containsExactly(
+			PropertyGalleryBatchStatus.ADDED, PropertyGalleryBatchStatus.ALREADY_IN_GALLERY,
+			PropertyGalleryBatchStatus.FILE_NOT_FOUND, PropertyGalleryBatchStatus.ADDED);
+		assertThat(added).extracting(PropertyGalleryBatchItemRes::getPosition).containsExactly(1, null, null, 2);
+		assertThat(service.getFileByPropertiesId(propertyId)).extracting(PropertyGalleryRes::getFileId)
+			.containsExactly(fileId1, fileId3, fileId2);
+
+		List<PropertyGalleryBatchItemRes> removed = service.deleteFilesFromGallery(propertyId, List.of(fileId1, missingId));
+
+		assertThat(removed).extracting(PropertyGalleryBatchItemRes::getStatus)
+			.containsExactly(PropertyGalleryBatchStatus.REMOVED, PropertyGalleryBatchStatus.NOT_IN_GALLERY);
+		assertThat(service.getFileByPropertiesId(propertyId)).extracting(PropertyGalleryRes::getFileId)
+			.containsExactly(fileId3, fileId2);
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("deleting the main image's file moves the card to the next image and stamps the change")
+	void deleting_main_file_refreshes_card() {
+		Long propertyId = Objects.requireNonNull(property.getPropertyId());
+		Long fileId1 = Objects.requireNonNull(file1.getFileId());
+		Long fileId2 = Objects.requireNonNull(file2.getFileId());
+		service.addFileIntoGallery(propertyId, fileId1);
+		service.addFileIntoGallery(propertyId, fileId2);
+		String cardSql = "SELECT main_image_relative_path FROM property_card WHERE property_id = ?";
+		String changedSql = "SELECT changed_at FROM property_card WHERE property_id = ?";
+		assertThat(jdbcTemplate.queryForObject(cardSql, String.class, propertyId)).isEqualTo("path1");
+		LocalDateTime changedBefore = jdbcTemplate.queryForObject(changedSql, LocalDateTime.class, propertyId);
+
+		fileService.delete(fileId1);
+
+		assertThat(jdbcTemplate.queryForObject(cardSql, String.class, propertyId)).isEqualTo("path2");
+		assertThat(jdbcTemplate.queryForObject(changedSql, LocalDateTime.class, propertyId)).isAfter(changedBefore);
+		assertThat(service.getFileByPropertiesId(propertyId)).extracting(PropertyGalleryRes::getFileId)
+			.containsExactly(fileId2);
 	}
+}
@@ -0,0 +1,144 @@
+package com.qvinh.apartment.features.properties.application;
+
+import com.qvinh.apartment.features.accounts.domain.*;
+import com.qvinh.apartment.features.accounts.persistence.*;
+import com.qvinh.apartment.features.properties.domain.*;
+import com.qvinh.apartment.features.properties.dto.property.PropertyDataFormat;
+import com.qvinh.apartment.features.properties.dto.property.PropertyRes;
+import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+import com.qvinh.apartment.features.properties.dto.property_import.PropertyImportErrorRes;
+import com.qvinh.apartment.features.properties.dto.property_import.PropertyImportRes;
+import com.qvinh.apartment.features.properties.persistence.*;
+import com.qvinh.apartment.shared.api.TotalKind;
+import com.qvinh.apartment.testsupport.PostgresTestContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class PropertyImportServiceTest extends PostgresTestContainer {
+
+	@Autowired private IPropertyImportService importService;
+	@Autowired private IPropertyService propertyService;
+	@Autowired private PropertyTypeRepository typeRepository;
+	@Autowired private PropertyAreaRepository areaRepository;
+	@Autowired private RoleRepository roleRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private PropertySaleInfoRepository saleInfoRepository;
+	@Autowired private PropertyDefineDetailsRepository defineDetailsRepository;
+	@Autowired private PropertyDetailsRepository detailsRepository;
+
+	private Integer typeId;
+	private Integer areaId;
+	private Long saleUserId;
+	private Integer floorDetailId;
+
+	@BeforeEach
+	void setup() {
+		PropertyType type = new PropertyType(); type.setTypeName("TypeImport");
+		typeId = typeRepository.saveAndFlush(type).getTypeId();
+		PropertyArea area = new PropertyArea(); area.setAreaName("AreaImport"); area.setAreaLink("area-import");
+		areaId = areaRepository.saveAndFlush(area).getAreaId();
+		Role saleRole = roleRepository.findByRoleName("SALE").orElseGet(() -> {
+			Role r = new Role(); r.setRoleName("SALE"); return roleRepository.saveAndFlush(r);
+		});
+		User u = new User();
+		u.setUsername("saleImport");
+		u.setEmail("saleImport@example.com");
+		u.setPassword("x");
+		u.setRole(saleRole);
+		saleUserId = userRepository.saveAndFlush(u).getId();
+		PropertySaleInfo info = new PropertySaleInfo();
+		info.setUser(u);
+		info.setFullName("Sale Import");
+		info.setPhone("0900");
+		saleInfoRepository.saveAndFlush(info);
+		PropertyDefineDetails floor = new PropertyDefineDetails();
+		floor.setDetailName("Floor");
+		floor.setIsNumber(true);
+		floorDetailId = defineDetailsRepository.saveAndFlush(floor).getDetailId();
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("NDJSON import inserts valid rows with details and reports the others by line")
+	void import_ndjson_reports_invalid_rows() throws Exception {
+		String body = String.join("\n",
+			row("Imported A", typeId, "\"details\":[{\"detailId\":" + floorDetailId + ",\"value\":\"12\"}]"),
+			row("Imported B", -1, "\"details\":[]"),
+			"{not json",
+			"",
+			row("Imported C", typeId, "\"details\":[{\"detailId\":" + floorDetailId + ",\"value\":\"high\"}]"),
+			row("Imported D", typeId, "\"details\":[]"));
+
+		PropertyImportRes res = importService.importProperties(PropertyDataFormat.NDJSON, stream(body));
+
+		assertThat(res.getImported()).isEqualTo(2);
+		assertThat(res.getFailed()).isEqualTo(3);
+		assertThat(res.getErrors()).extracting(PropertyImportErrorRes::getRow).containsExactly(2L, 3L, 5L);
+		assertThat(res.getErrors().get(0).getMessage()).contains("type");
+		assertThat(res.getErrors().get(2).getMessage()).contains("numeric");
+
+		List<PropertyRes> found = searchByTitle("Imported");
+		assertThat(found).extracting(PropertyRes::getTitle).containsExactlyInAnyOrder("Imported A", "Imported D");
+		assertThat(found).allSatisfy(p -> assertThat(p.getAreaName()).isEqualTo("AreaImport"));
+		Long idA = found.stream().filter(p -> p.getTitle().equals("Imported A")).findFirst().orElseThrow().getPropertyId();
+		var details = detailsRepository.findByProperty_PropertyId(idA);
+		assertThat(details).hasSize(1);
+		assertThat(details.get(0).getNumericValue()).isEqualByComparingTo("12");
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("CSV import maps detail.<id> columns to details")
+	void import_csv_maps_detail_columns() throws Exception {
+		String body = "title,price,description,typeId,saleUserId,areaId,isPublic,isForRent,detail." + floorDetailId + "\n"
+			+ "Csv A,1500.50,,"
+			+ typeId + "," + saleUserId + "," + areaId + ",true,false,7\n"
+			+ "Csv B,,,"
+			+ typeId + "," + saleUserId + "," + areaId + ",true,false,\n";
+
+		PropertyImportRes res = importService.importProperties(PropertyDataFormat.CSV, stream(body));
+
+		assertThat(res.getImported()).isEqualTo(1);
+		assertThat(res.getErrors()).singleElement().satisfies(e -> {
+			assertThat(e.getRow()).isEqualTo(2L);
+			assertThat(e.getMessage()).contains("price");
+		});
+		PropertyRes imported = searchByTitle("Csv").get(0);
+		assertThat(imported.getPrice()).isEqualByComparingTo(new BigDecimal("1500.50"));
+		assertThat(detailsRepository.findByProperty_PropertyId(imported.getPropertyId()))
+			.singleElement()
+			.satisfies(d -> assertThat(d.getValue()).isEqualTo("7"));
+	}
+
+	private String row(String title, Integer rowTypeId, String details) {
+		return "{\"title\":\"" + title + "\",\"price\":1000,\"typeId\":" + rowTypeId + ",\"saleUserId\":" + saleUserId
+			+ ",\"areaId\":" + areaId + ",\"isPublic\":true,\"isForRent\":false," + details + "}";
+	}
+
+	private List<PropertyRes> searchByTitle(String title) {
+		PropertySearchReq req = new PropertySearchReq();
+		req.setTitle(title);
+		req.setTypeIds(List.of(typeId));
+		return propertyService.search(req, PageRequest.of(0, 10), TotalKind.EXACT).getContent();
+	}
+
+	private static ByteArrayInputStream stream(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+}
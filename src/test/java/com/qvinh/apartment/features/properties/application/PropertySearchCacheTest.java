@@ -0,0 +1,138 @@
+package com.qvinh.apartment.features.properties.application;
+
+import com.qvinh.apartment.features.accounts.domain.*;
+import com.qvinh.apartment.features.accounts.persistence.*;
+import com.qvinh.apartment.features.properties.domain.*;
+import com.qvinh.apartment.features.properties.dto.property.PropertyCreateReq;
+import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+import com.qvinh.apartment.features.properties.dto.property.PropertyUpdateReq;
+import com.qvinh.apartment.features.properties.persistence.*;
+import com.qvinh.apartment.shared.api.TotalKind;
+import com.qvinh.apartment.testsupport.PostgresTestContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: the cache only serves read-only transactions and is invalidated after commit.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class PropertySearchCacheTest extends PostgresTestContainer {
+
+	@Autowired private IPropertyService service;
+	@Autowired private IPropertyCardService cardService;
+	@Autowired private PropertyTypeRepository typeRepository;
+	@Autowired private PropertyAreaRepository areaRepository;
+	@Autowired private RoleRepository roleRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private PropertySaleInfoRepository saleInfoRepository;
+	@Autowired private PropertyRepository propertyRepository;
+
+	private String title;
+	private PropertyType type;
+	private PropertyArea area;
+	private User user;
+	private PropertySaleInfo saleInfo;
+
+	@BeforeEach
+	void setup() {
+		title = "Cached" + System.nanoTime();
+		type = new PropertyType(); type.setTypeName("T" + title);
+		type = typeRepository.saveAndFlush(type);
+		area = new PropertyArea(); area.setAreaName("A" + title); area.setAreaLink("a-" + title);
+		area = areaRepository.saveAndFlush(area);
+		Role role = roleRepository.findByRoleName("SALE").orElseGet(() -> {
+			Role r = new Role(); r.setRoleName("SALE"); return roleRepository.saveAndFlush(r);
+		});
+		user = new User();
+		user.setUsername("u" + title);
+		user.setEmail("u" + title + "@example.com");
+		user.setPassword("x");
+		user.setRole(role);
+		user = userRepository.saveAndFlush(user);
+		saleInfo = new PropertySaleInfo();
+		saleInfo.setUser(user);
+		saleInfo.setFullName("Sale Cached");
+		saleInfo.setPhone("0900");
+		saleInfo = saleInfoRepository.saveAndFlush(saleInfo);
+	}
+
+	@AfterEach
+	void cleanup() {
+		PropertySearchReq req = new PropertySearchReq();
+		req.setTitle(title);
+		propertyRepository.deleteAll(propertyRepository.findAll(PropertySpecifications.bySearchReq(req)));
+		saleInfoRepository.delete(saleInfo);
+		userRepository.delete(user);
+		areaRepository.delete(area);
+		typeRepository.delete(type);
+	}
+
+	@Test
+	@DisplayName("repeated search is served from cache until a property write commits")
+	void search_is_cached_until_write_commits() {
+		var created = service.create(createReq(title + " one"));
+		PropertySearchReq req = new PropertySearchReq();
+		req.setTitle("  " + title.toUpperCase() + " ");
+
+		assertThat(service.search(req, PageRequest.of(0, 10), TotalKind.EXACT).getContent()).hasSize(1);
+
+		// written behind the service's back and projected by a rebuild: no event, so the cached page still answers
+		Property direct = new Property();
+		direct.setTitle(title + " two");
+		direct.setPrice(new BigDecimal("1000"));
+		direct.setType(type);
+		direct.setArea(area);
+		direct.setSaleInfo(saleInfo);
+		direct.setIsPublic(true);
+		direct.setIsForRent(false);
+		propertyRepository.saveAndFlush(direct);
+		cardService.rebuild();
+
+		PropertySearchReq same = new PropertySearchReq();
+		same.setTitle(title.toLowerCase());
+		var cached = (Page<?>) service.search(same, PageRequest.of(0, 10), TotalKind.EXACT);
+		assertThat(cached.getContent()).hasSize(1);
+		assertThat(cached.getTotalElements()).isEqualTo(1);
+
+		PropertyUpdateReq update = new PropertyUpdateReq();
+		update.setTitle(created.getTitle());
+		update.setPrice(created.getPrice());
+		update.setDescription("changed");
+		update.setTypeId(type.getTypeId());
+		update.setSaleUserId(user.getId());
+		update.setAreaId(area.getAreaId());
+		update.setIsPublic(true);
+		update.setIsForRent(false);
+		service.update(created.getPropertyId(), update);
+
+		var fresh = (Page<?>) service.search(same, PageRequest.of(0, 10), TotalKind.EXACT);
+		assertThat(fresh.getContent()).hasSize(2);
+		assertThat(fresh.getTotalElements()).isEqualTo(2);
+	}
+
+	private PropertyCreateReq createReq(String propertyTitle) {
+		PropertyCreateReq req = new PropertyCreateReq();
+		req.setTitle(propertyTitle);
+		req.setPrice(new BigDecimal("1000"));
+		req.setDescription("d");
+		req.setTypeId(type.getTypeId());
+		req.setSaleUserId(user.getId());
+		req.setAreaId(area.getAreaId());
+		req.setIsPublic(true);
+		req.setIsForRent(false);
+		return req;
+	}
+}
@@ -6,9 +6,15 @@ import com.qvinh.apartment.features.accounts.persistence.*;
 import com.qvinh.apartment.features.properties.domain.*;
 import com.qvinh.apartment.features.properties.dto.property.PropertyCreateReq;
 import com.qvinh.apartment.features.properties.dto.property.PropertyDetailFilterReq;
+import com.qvinh.apartment.features.properties.dto.property.PropertyDataFormat;
+import com.qvinh.apartment.features.properties.dto.property.PropertyField;
+import com.qvinh.apartment.features.properties.dto.property.PropertyRes;
 import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+import com.qvinh.apartment.features.properties.dto.property.PropertySelectRes;
 import com.qvinh.apartment.features.properties.dto.property.PropertyUpdateReq;
+import com.qvinh.apartment.features.properties.dto.property_area.PropertyAreaUpdateReq;
 import com.qvinh.apartment.features.properties.persistence.*;
+import com.qvinh.apartment.shared.api.TotalKind;
 import com.qvinh.apartment.shared.exception.ResourceNotFoundException;
 import com.qvinh.apartment.testsupport.PostgresTestContainer;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,15 +24,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -36,6 +48,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class PropertyServiceTest extends PostgresTestContainer {
 
 	@Autowired private PropertyService service;
+	@Autowired private IPropertyAreaService areaService;
+	@Autowired private IPropertyCardService cardService;
+	@Autowired private JdbcTemplate jdbcTemplate;
 	@Autowired private PropertyTypeRepository typeRepository;
 	@Autowired private PropertyAreaRepository areaRepository;
 	@Autowired private RoleRepository roleRepository;
@@ -204,7 +219,7 @@ class PropertyServiceTest extends PostgresTestContainer {
 		PropertySearchReq searchReq = new PropertySearchReq();
 		searchReq.setQ("vinhome");
 		Pageable pageable = PageRequest.of(0, 10);
-		var result = service.search(searchReq, pageable);
+		var result = service.search(searchReq, pageable, TotalKind.EXACT);
 
 		assertThat(result.getContent()).hasSize(1);
 		assertThat(result.getContent().get(0).getPropertyId()).isEqualTo(prop1.getPropertyId());
@@ -242,7 +257,7 @@ class PropertyServiceTest extends PostgresTestContainer {
 		searchReq.setMinPrice(new BigDecimal("1000000000.00"));
 		searchReq.setMaxPrice(new BigDecimal("3000000000.00"));
 		Pageable pageable = PageRequest.of(0, 10);
-		var result = service.search(searchReq, pageable);
+		var result = service.search(searchReq, pageable, TotalKind.EXACT);
 
 		assertThat(result.getContent()).hasSize(1);
 		assertThat(result.getContent().get(0).getPropertyId()).isEqualTo(prop1.getPropertyId());
@@ -291,7 +306,7 @@ class PropertyServiceTest extends PostgresTestContainer {
 		// thêm điều kiện title để tránh ảnh hưởng bởi dữ liệu từ test khác
 		searchReq.setTitle("Prop A");
 		Pageable pageable = PageRequest.of(0, 10);
-		var result = service.search(searchReq, pageable);
+		var result = service.search(searchReq, pageable, TotalKind.EXACT);
 
 		assertThat(result.getContent())
 			.extracting(r -> r.getPropertyId())
@@ -379,12 +394,68 @@ class PropertyServiceTest extends PostgresTestContainer {
 		searchReq.setDetails(List.of(detailFilter1, detailFilter2, detailFilter3));
 
 		Pageable pageable = PageRequest.of(0, 10);
-		var result = service.search(searchReq, pageable);
+		var result = service.search(searchReq, pageable, TotalKind.EXACT);
 
 		assertThat(result.getContent()).hasSize(1);
 		assertThat(result.getContent().get(0).getPropertyId()).isEqualTo(prop1.getPropertyId());
 	}
 
+	@Test
+	@Transactional
+	@DisplayName("search by numeric detail range compares numbers, not text")
+	void search_by_numeric_detail_range_compares_numbers() {
+		PropertyDefineDetails floorDetail = new PropertyDefineDetails();
+		floorDetail.setDetailName("Tầng");
+		floorDetail.setIsNumber(true);
+		floorDetail = defineDetailsRepository.saveAndFlush(floorDetail);
+		Integer floorDetailId = floorDetail.getDetailId();
+
+		Long lowId = null;
+		Long highId = null;
+		for (String value : List.of("9", "100")) {
+			PropertyCreateReq req = new PropertyCreateReq();
+			req.setTitle("Floor " + value);
+			req.setPrice(new BigDecimal("1000000000.00"));
+			req.setDescription("d");
+			req.setTypeId(typeId);
+			req.setSaleUserId(saleUserId);
+			req.setAreaId(areaId);
+			req.setIsPublic(true);
+			req.setIsForRent(false);
+			var prop = service.create(req);
+			var entity = propertyRepository.findById(Objects.requireNonNull(prop.getPropertyId())).orElseThrow();
+			PropertyDetails detail = new PropertyDetails();
+			detail.setId(new PropertyDetailsId(floorDetailId, prop.getPropertyId()));
+			detail.setProperty(entity);
+			detail.setDetail(floorDetail);
+			detail.setValue(value);
+			detailsRepository.saveAndFlush(detail);
+			if ("9".equals(value)) {
+				lowId = prop.getPropertyId();
+			} else {
+				highId = prop.getPropertyId();
+			}
+		}
+
+		PropertyDetailFilterReq minFilter = new PropertyDetailFilterReq();
+		minFilter.setDetailId(floorDetailId);
+		minFilter.setMinNumber(new BigDecimal("10"));
+		PropertySearchReq minReq = new PropertySearchReq();
+		minReq.setDetails(List.of(minFilter));
+		assertThat(service.search(minReq, PageRequest.of(0, 10), TotalKind.EXACT).getContent())
+			.extracting(r -> r.getPropertyId())
+			.containsExactly(highId);
+
+		PropertyDetailFilterReq maxFilter = new PropertyDetailFilterReq();
+		maxFilter.setDetailId(floorDetailId);
+		maxFilter.setMaxNumber(new BigDecimal("50"));
+		PropertySearchReq maxReq = new PropertySearchReq();
+		maxReq.setDetails(List.of(maxFilter));
+		assertThat(service.search(maxReq, PageRequest.of(0, 10), TotalKind.EXACT).getContent())
+			.extracting(r -> r.getPropertyId())
+			.containsExactly(lowId);
+	}
+
 	@Test
 	@Transactional
 	@DisplayName("search empty body returns all with paging")
@@ -404,7 +475,7 @@ class PropertyServiceTest extends PostgresTestContainer {
 
 		PropertySearchReq searchReq = new PropertySearchReq();
 		Pageable pageable = PageRequest.of(0, 3);
-		var result = service.search(searchReq, pageable);
+		var result = (Page<PropertyRes>) service.search(searchReq, pageable, TotalKind.EXACT);
 
 		assertThat(result.getContent()).hasSizeLessThanOrEqualTo(3);
 		assertThat(result.getTotalElements()).isGreaterThanOrEqualTo(5);
@@ -415,7 +486,7 @@ class PropertyServiceTest extends PostgresTestContainer {
 	@DisplayName("search null pageable throws npe")
 	void search_null_pageable_throws_npe() {
 		PropertySearchReq searchReq = new PropertySearchReq();
-		assertThatThrownBy(() -> service.search(searchReq, null))
+		assertThatThrownBy(() -> service.search(searchReq, null, TotalKind.EXACT))
 			.isInstanceOf(NullPointerException.class);
 	}
 
@@ -437,7 +508,7 @@ class PropertyServiceTest extends PostgresTestContainer {
 		PropertySearchReq searchReq = new PropertySearchReq();
 		searchReq.setQ("Full Test");
 		Pageable pageable = PageRequest.of(0, 10);
-		var result = service.searchFull(searchReq, pageable);
+		var result = service.searchFull(searchReq, pageable, TotalKind.EXACT, PropertyField.ALL);
 
 		assertThat(result.getContent()).hasSize(1);
 		var selectRes = result.getContent().get(0);
@@ -457,6 +528,39 @@ class PropertyServiceTest extends PostgresTestContainer {
 		assertThat(selectRes.getGalleries()).isNotNull();
 	}
 
+	@Test
+	@Transactional
+	@DisplayName("getFullBatch keeps request order, drops duplicates and reports missing ids")
+	void getFullBatch_keeps_order_and_reports_missing() {
+		List<Long> ids = new ArrayList<>();
+		for (String title : List.of("Batch A", "Batch B", "Batch C")) {
+			PropertyCreateReq req = new PropertyCreateReq();
+			req.setTitle(title);
+			req.setPrice(new BigDecimal("100.00"));
+			req.setTypeId(typeId);
+			req.setSaleUserId(saleUserId);
+			req.setAreaId(areaId);
+			req.setIsPublic(true);
+			req.setIsForRent(false);
+			ids.add(service.create(req).getPropertyId());
+		}
+		long missingId = ids.get(2) + 1000;
+
+		var res = service.getFullBatch(List.of(ids.get(2), missingId, ids.get(0), ids.get(2), ids.get(1)), PropertyField.ALL);
+
+		assertThat(res.getProperties()).extracting(PropertySelectRes::getTitle)
+			.containsExactly("Batch C", "Batch A", "Batch B");
+		assertThat(res.getProperties().get(0).getType().getTypeName()).isEqualTo("TypeS");
+		assertThat(res.getProperties().get(0).getSaleInfo().getUserId()).isEqualTo(saleUserId);
+		assertThat(res.getMissingIds()).containsExactly(missingId);
+
+		assertThatThrownBy(() -> service.getFullBatch(List.of(), PropertyField.ALL))
+			.isInstanceOf(IllegalArgumentException.class);
+		List<Long> tooMany = LongStream.rangeClosed(1, IPropertyService.MAX_BATCH_IDS + 1).boxed().toList();
+		assertThatThrownBy(() -> service.getFullBatch(tooMany, PropertyField.ALL))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
 	@Test
 	@Transactional
 	@DisplayName("searchFull with filters returns correct results")
@@ -489,7 +593,7 @@ class PropertyServiceTest extends PostgresTestContainer {
 		searchReq.setMinPrice(new BigDecimal("1000000000.00"));
 		searchReq.setMaxPrice(new BigDecimal("3000000000.00"));
 		Pageable pageable = PageRequest.of(0, 10);
-		var result = service.searchFull(searchReq, pageable);
+		var result = service.searchFull(searchReq, pageable, TotalKind.EXACT, PropertyField.ALL);
 
 		assertThat(result.getContent()).hasSize(1);
 		var selectRes = result.getContent().get(0);
@@ -504,7 +608,195 @@ class PropertyServiceTest extends PostgresTestContainer {
 	@DisplayName("searchFull null pageable throws npe")
 	void searchFull_null_pageable_throws_npe() {
 		PropertySearchReq searchReq = new PropertySearchReq();
-		assertThatThrownBy(() -> service.searchFull(searchReq, null))
+		assertThatThrownBy(() -> service.searchFull(searchReq, null, TotalKind.EXACT, PropertyField.ALL))
 			.isInstanceOf(NullPointerException.class);
 	}
+
+	@Test
+	@Transactional
+	@DisplayName("search by q ignores diacritics and ranks title matches first")
+	void search_by_q_ignores_diacritics_and_ranks_by_relevance() {
+		PropertyCreateReq inDescription = new PropertyCreateReq();
+		inDescription.setTitle("Nhà phố Quận 7");
+		inDescription.setPrice(new BigDecimal("2000000000.00"));
+		inDescription.setDescription("Gần căn hộ mẫu");
+		inDescription.setTypeId(typeId);
+		inDescription.setSaleUserId(saleUserId);
+		inDescription.setAreaId(areaId);
+		inDescription.setIsPublic(true);
+		inDescription.setIsForRent(false);
+		var low = service.create(inDescription);
+
+		PropertyCreateReq inTitle = new PropertyCreateReq();
+		inTitle.setTitle("Căn hộ cao cấp");
+		inTitle.setPrice(new BigDecimal("3000000000.00"));
+		inTitle.setDescription("View sông");
+		inTitle.setTypeId(typeId);
+		inTitle.setSaleUserId(saleUserId);
+		inTitle.setAreaId(areaId);
+		inTitle.setIsPublic(true);
+		inTitle.setIsForRent(false);
+		var high = service.create(inTitle);
+
+		PropertySearchReq searchReq = new PropertySearchReq();
+		searchReq.setQ("can ho");
+		var result = (Page<PropertyRes>) service.search(searchReq, PageRequest.of(0, 10, Sort.by(IPropertyService.SORT_RELEVANCE)),
+			TotalKind.EXACT);
+
+		assertThat(result.getTotalElements()).isEqualTo(2);
+		assertThat(result.getContent()).extracting(r -> r.getPropertyId())
+			.containsExactly(high.getPropertyId(), low.getPropertyId());
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("search by q follows area renames")
+	void search_by_q_follows_area_renames() {
+		PropertyCreateReq req = new PropertyCreateReq();
+		req.setTitle("Area Rename");
+		req.setPrice(new BigDecimal("2000000000.00"));
+		req.setDescription("d");
+		req.setTypeId(typeId);
+		req.setSaleUserId(saleUserId);
+		req.setAreaId(areaId);
+		req.setIsPublic(true);
+		req.setIsForRent(false);
+		var created = service.create(req);
+
+		PropertyAreaUpdateReq rename = new PropertyAreaUpdateReq();
+		rename.setAreaName("Thủ Đức");
+		rename.setAreaLink("thu-duc");
+		areaService.update(areaId, rename);
+
+		PropertySearchReq searchReq = new PropertySearchReq();
+		searchReq.setQ("thu duc");
+		var result = service.search(searchReq, PageRequest.of(0, 10), TotalKind.EXACT);
+
+		assertThat(result.getContent()).extracting(r -> r.getPropertyId()).containsExactly(created.getPropertyId());
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("list rows follow area renames and a rebuild repairs stale cards")
+	void list_rows_follow_area_renames_and_rebuild() {
+		PropertyCreateReq req = new PropertyCreateReq();
+		req.setTitle("Card Row");
+		req.setPrice(new BigDecimal("2000000000.00"));
+		req.setDescription("d");
+		req.setTypeId(typeId);
+		req.setSaleUserId(saleUserId);
+		req.setAreaId(areaId);
+		req.setIsPublic(true);
+		req.setIsForRent(false);
+		var created = service.create(req);
+
+		PropertyAreaUpdateReq rename = new PropertyAreaUpdateReq();
+		rename.setAreaName("Card Area");
+		rename.setAreaLink("card-area");
+		areaService.update(areaId, rename);
+
+		PropertySearchReq searchReq = new PropertySearchReq();
+		searchReq.setTitle("Card Row");
+		var renamed = service.search(searchReq, PageRequest.of(0, 10), TotalKind.EXACT).getContent();
+		assertThat(renamed).extracting(r -> r.getAreaName()).containsExactly("Card Area");
+
+		jdbcTemplate.update("UPDATE property_card SET title = 'stale' WHERE property_id = ?", created.getPropertyId());
+		var rebuilt = cardService.rebuild();
+		assertThat(rebuilt.getWritten()).isPositive();
+		assertThat(rebuilt.getScanned()).isGreaterThanOrEqualTo(rebuilt.getWritten());
+
+		var repaired = service.search(searchReq, PageRequest.of(0, 10), TotalKind.EXACT).getContent();
+		assertThat(repaired).extracting(r -> r.getTitle()).containsExactly("Card Row");
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("deleteAll removes details and gallery rows and queues only files no other property uses")
+	void deleteAll_cascades_and_queues_unreferenced_files() {
+		List<Long> ids = new ArrayList<>();
+		for (String title : List.of("Delete A", "Delete B", "Keep C")) {
+			PropertyCreateReq req = new PropertyCreateReq();
+			req.setTitle(title);
+			req.setPrice(new BigDecimal("100.00"));
+			req.setTypeId(typeId);
+			req.setSaleUserId(saleUserId);
+			req.setAreaId(areaId);
+			req.setIsPublic(true);
+			req.setIsForRent(false);
+			ids.add(service.create(req).getPropertyId());
+		}
+		PropertyDefineDetails define = new PropertyDefineDetails();
+		define.setDetailName("Delete detail");
+		define.setIsNumber(false);
+		Integer detailId = defineDetailsRepository.saveAndFlush(define).getDetailId();
+		jdbcTemplate.update("INSERT INTO property_details (detail_id, property_id, value, created_at, updated_at)"
+			+ " VALUES (?, ?, 'x', LOCALTIMESTAMP, LOCALTIMESTAMP)", detailId, ids.get(0));
+		Long onlyA = insertFile("delete-only-a");
+		Long shared = insertFile("delete-shared");
+		insertGallery(ids.get(0), onlyA);
+		insertGallery(ids.get(0), shared);
+		insertGallery(ids.get(2), shared);
+		long missingId = ids.get(2) + 1000;
+
+		var res = service.deleteAll(List.of(ids.get(1), missingId, ids.get(0), ids.get(1)), true);
+
+		assertThat(res.getDeletedIds()).containsExactly(ids.get(1), ids.get(0));
+		assertThat(res.getMissingIds()).containsExactly(missingId);
+		assertThat(res.getQueuedFiles()).isEqualTo(1);
+		assertThat(propertyRepository.findAllById(ids)).extracting(Property::getTitle).containsExactly("Keep C");
+		assertThat(jdbcTemplate.queryForList("SELECT file_id FROM stored_file_cleanup WHERE file_id IN (?, ?)",
+			Long.class, onlyA, shared)).containsExactly(onlyA);
+		assertThat(jdbcTemplate.queryForList("SELECT property_id FROM property_tombstone WHERE property_id IN (?, ?)",
+			Long.class, ids.get(0), ids.get(1))).containsExactlyInAnyOrder(ids.get(0), ids.get(1));
+		assertThat(propertyRepository.findById(ids.get(2)).orElseThrow().getMainFile().getFileId()).isEqualTo(shared);
+
+		assertThatThrownBy(() -> service.delete(ids.get(0))).isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	private Long insertFile(String name) {
+		return jdbcTemplate.queryForObject("INSERT INTO stored_file (original_name, stored_name, mime_type, size_bytes,"
+			+ " sha256, relative_path) VALUES (?, ?, 'image/jpeg', 1, md5(?) || md5(?), ?) RETURNING file_id",
+			Long.class, name, name + System.nanoTime(), name, String.valueOf(System.nanoTime()), "public/" + name);
+	}
+
+	private void insertGallery(Long propertyId, Long fileId) {
+		jdbcTemplate.update("INSERT INTO property_gallery (property_id, file_id, created_at, updated_at)"
+			+ " VALUES (?, ?, LOCALTIMESTAMP, LOCALTIMESTAMP)", propertyId, fileId);
+	}
+
+	@Test
+	@Transactional
+	@DisplayName("export streams every matching row as ndjson or csv")
+	void export_streams_ndjson_and_csv() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			PropertyCreateReq req = new PropertyCreateReq();
+			req.setTitle("Export Row " + i);
+			req.setPrice(new BigDecimal("1000000000.00"));
+			req.setDescription("line one\nline, two");
+			req.setTypeId(typeId);
+			req.setSaleUserId(saleUserId);
+			req.setAreaId(areaId);
+			req.setIsPublic(true);
+			req.setIsForRent(i == 1);
+			ids.add(service.create(req).getPropertyId());
+		}
+		PropertySearchReq searchReq = new PropertySearchReq();
+		searchReq.setTitle("Export Row");
+		searchReq.setIsForRent(false);
+
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		service.export(searchReq, PropertyDataFormat.NDJSON, ndjson);
+		List<String> lines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+		assertThat(lines).hasSize(2);
+		assertThat(lines.get(0)).contains("\"propertyId\":" + ids.get(0)).contains("\"areaName\":\"AreaS\"");
+		assertThat(lines.get(1)).contains("\"propertyId\":" + ids.get(2));
+
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		service.export(searchReq, PropertyDataFormat.CSV, csv);
+		String text = csv.toString(StandardCharsets.UTF_8);
+		assertThat(text).startsWith("propertyId,");
+		assertThat(text).contains("\"line one\nline, two\"").contains("Export Row 0").contains("Export Row 2")
+			.doesNotContain("Export Row 1");
+	}
 }
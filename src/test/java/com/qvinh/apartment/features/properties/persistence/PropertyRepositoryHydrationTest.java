@@ -0,0 +1,193 @@
+package com.qvinh.apartment.features.properties.persistence;
+
+import com.qvinh.apartment.features.accounts.domain.*;
+import com.qvinh.apartment.features.accounts.persistence.PropertySaleInfoRepository;
+import com.qvinh.apartment.features.accounts.persistence.RoleRepository;
+import com.qvinh.apartment.features.accounts.persistence.UserRepository;
+import com.qvinh.apartment.features.properties.domain.*;
+import com.qvinh.apartment.features.properties.dto.property.PropertyField;
+import com.qvinh.apartment.features.properties.dto.property.PropertyRes;
+import com.qvinh.apartment.testsupport.PostgresTestContainer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PropertyRepositoryHydrationTest extends PostgresTestContainer {
+
+	private static final int PROPERTY_COUNT = 30;
+	private static final int DETAILS_PER_PROPERTY = 2;
+	private static final int PAGE_SIZE = 5;
+
+	@Autowired private PropertyRepository propertyRepository;
+	@Autowired private PropertyTypeRepository typeRepository;
+	@Autowired private PropertyAreaRepository areaRepository;
+	@Autowired private PropertyDefineDetailsRepository defineDetailsRepository;
+	@Autowired private PropertyDetailsRepository detailsRepository;
+	@Autowired private RoleRepository roleRepository;
+	@Autowired private UserRepository userRepository;
+	@Autowired private PropertySaleInfoRepository saleInfoRepository;
+	@Autowired private PropertyCardRepository cardRepository;
+	@Autowired private EntityManager entityManager;
+	@Autowired private EntityManagerFactory entityManagerFactory;
+
+	private String titlePrefix;
+	private final List<Long> ids = new ArrayList<>();
+
+	@BeforeEach
+	void seed() {
+		titlePrefix = "Hydrate" + System.nanoTime() + "_";
+		PropertyType type = new PropertyType(); type.setTypeName("T" + System.nanoTime());
+		typeRepository.saveAndFlush(type);
+		PropertyArea area = new PropertyArea(); area.setAreaName("N" + System.nanoTime()); area.setAreaLink("L" + System.nanoTime());
+		areaRepository.saveAndFlush(area);
+		Role role = roleRepository.findByRoleName("SALE").orElseGet(() -> {
+			Role r = new Role(); r.setRoleName("SALE"); return roleRepository.saveAndFlush(r);
+		});
+		User u = new User();
+		u.setUsername("s" + System.nanoTime());
+		u.setEmail("s" + System.nanoTime() + "@ex.com");
+		u.setPassword("x");
+		u.setRole(role);
+		u = userRepository.saveAndFlush(u);
+		PropertySaleInfo si = new PropertySaleInfo();
+		si.setUser(u);
+		si.setFullName("FN");
+		si.setPhone("0900");
+		saleInfoRepository.saveAndFlush(si);
+
+		List<PropertyDefineDetails> defines = new ArrayList<>();
+		for (int d = 0; d < DETAILS_PER_PROPERTY; d++) {
+			PropertyDefineDetails define = new PropertyDefineDetails();
+			define.setDetailName("D" + d + "_" + System.nanoTime());
+			define.setIsNumber(true);
+			defines.add(defineDetailsRepository.saveAndFlush(define));
+		}
+
+		for (int i = 0; i < PROPERTY_COUNT; i++) {
+			Property p = new Property();
+			p.setTitle(titlePrefix + i);
+			p.setPrice(new BigDecimal(1000 + i));
+			p.setType(type);
+			p.setSaleInfo(si);
+			p.setArea(area);
+			p.setIsPublic(Boolean.TRUE);
+			p = propertyRepository.saveAndFlush(p);
+			ids.add(p.getPropertyId());
+			for (PropertyDefineDetails define : defines) {
+				PropertyDetails detail = new PropertyDetails();
+				detail.setId(new PropertyDetailsId(define.getDetailId(), p.getPropertyId()));
+				detail.setProperty(p);
+				detail.setDetail(define);
+				detail.setValue(Integer.toString(i));
+				detailsRepository.saveAndFlush(detail);
+			}
+		}
+		cardRepository.refreshByPropertyIds(ids);
+		entityManager.clear();
+	}
+
+	@Test
+	@DisplayName("findAllWithRelations loads only the requested page and keeps the sort order")
+	void findAllWithRelations_loads_only_page_rows() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		Specification<Property> spec = (root, query, cb) -> cb.like(root.get("title"), titlePrefix + "%");
+		var page = propertyRepository.findAllWithRelations(spec, PageRequest.of(1, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "price")));
+
+		assertThat(page.getTotalElements()).isEqualTo(PROPERTY_COUNT);
+		assertThat(page.getContent()).extracting(Property::getPropertyId)
+			.containsExactlyElementsOf(ids.reversed().subList(PAGE_SIZE, PAGE_SIZE * 2));
+		assertThat(page.getContent()).allSatisfy(p -> assertThat(p.getDetails()).hasSize(DETAILS_PER_PROPERTY));
+
+		assertThat(statistics.getEntityStatistics(Property.class.getName()).getLoadCount()).isLessThanOrEqualTo(PAGE_SIZE);
+		assertThat(statistics.getEntityStatistics(PropertyDetails.class.getName()).getLoadCount())
+			.isLessThanOrEqualTo((long) PAGE_SIZE * DETAILS_PER_PROPERTY);
+		// count + ids + to-one hydration + one query per collection
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+	}
+
+	@Test
+	@DisplayName("findAllByIdsWithRelations fetches only the relations among the requested fields")
+	void findAllByIdsWithRelations_follows_fields() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		List<Long> requested = ids.subList(0, PAGE_SIZE);
+		List<Property> properties = propertyRepository.findAllByIdsWithRelations(requested,
+			EnumSet.of(PropertyField.PROPERTY_ID, PropertyField.TITLE, PropertyField.TYPE));
+
+		assertThat(properties).extracting(Property::getPropertyId).containsExactlyElementsOf(requested);
+		PersistenceUnitUtil util = entityManagerFactory.getPersistenceUnitUtil();
+		assertThat(properties).allSatisfy(p -> {
+			assertThat(util.isLoaded(p, "type")).isTrue();
+			assertThat(util.isLoaded(p.getArea())).isFalse();
+			assertThat(util.isLoaded(p.getSaleInfo())).isFalse();
+			assertThat(util.isLoaded(p, "details")).isFalse();
+			assertThat(util.isLoaded(p, "galleries")).isFalse();
+		});
+		// to-one hydration only, no collection queries
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityStatistics(PropertyDetails.class.getName()).getLoadCount()).isZero();
+	}
+
+	@Test
+	@DisplayName("findAllRes reads list rows in one statement without loading entities")
+	void findAllRes_projects_without_entities() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		Specification<Property> spec = (root, query, cb) -> cb.like(root.get("title"), titlePrefix + "%");
+		var page = propertyRepository.findAllRes(spec, PageRequest.of(1, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "price")));
+
+		assertThat(page.getTotalElements()).isEqualTo(PROPERTY_COUNT);
+		assertThat(page.getContent()).extracting(PropertyRes::getPropertyId)
+			.containsExactlyElementsOf(ids.reversed().subList(PAGE_SIZE, PAGE_SIZE * 2));
+		assertThat(page.getContent()).allSatisfy(res -> {
+			assertThat(res.getTypeName()).isNotNull();
+			assertThat(res.getAreaName()).isNotNull();
+			assertThat(res.getSalePhone()).isEqualTo("0900");
+		});
+
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		// count + one tuple query
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("findSliceRes reads one extra row instead of counting")
+	void findSliceRes_skips_count() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		Specification<Property> spec = (root, query, cb) -> cb.like(root.get("title"), titlePrefix + "%");
+		var middle = propertyRepository.findSliceRes(spec, PageRequest.of(1, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "price")));
+		var last = propertyRepository.findSliceRes(spec, PageRequest.of(PROPERTY_COUNT / PAGE_SIZE - 1, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "price")));
+
+		assertThat(middle.getContent()).extracting(PropertyRes::getPropertyId)
+			.containsExactlyElementsOf(ids.reversed().subList(PAGE_SIZE, PAGE_SIZE * 2));
+		assertThat(middle.hasNext()).isTrue();
+		assertThat(last.getContent()).hasSize(PAGE_SIZE);
+		assertThat(last.hasNext()).isFalse();
+		// one tuple query per slice, no count
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,91 @@
+package com.qvinh.apartment.features.properties.persistence;
+
+import com.qvinh.apartment.features.properties.domain.Property;
+import com.qvinh.apartment.features.properties.dto.property.PropertySearchReq;
+import com.qvinh.apartment.testsupport.PostgresTestContainer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Substring title search over 1M seeded rows, with and without the trigram index (bitmap scans switched off
+ * stands in for "no index": GIN is only reachable through them). Run with {@code RUN_BENCHMARKS=true}.
+ */
+@DataJpaTest
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class PropertyTrigramSearchBenchmarkTest extends PostgresTestContainer {
+
+	private static final int ROWS = 1_000_000;
+	private static final int WARMUP = 5;
+	private static final int RUNS = 50;
+
+	@Autowired private PropertyRepository propertyRepository;
+	@Autowired private JdbcTemplate jdbcTemplate;
+
+	@Test
+	@DisplayName("trigram index lowers p95 of substring title search")
+	void trigram_index_lowers_p95() {
+		seed();
+		PropertySearchReq req = new PropertySearchReq();
+		// a fragment of one row's md5, so the filter is selective like a real search
+		req.setTitle(jdbcTemplate.queryForObject("select upper(substr(md5('424242'), 5, 8))", String.class));
+		Specification<Property> spec = PropertySpecifications.bySearchReq(req);
+		Pageable pageable = PageRequest.of(0, 20);
+
+		jdbcTemplate.execute("set local enable_bitmapscan = off");
+		long before = p95Micros(spec, pageable);
+		jdbcTemplate.execute("set local enable_bitmapscan = on");
+		long after = p95Micros(spec, pageable);
+
+		System.out.printf("title substring search over %d rows: p95 %d us without index, %d us with trigram index%n",
+			ROWS, before, after);
+		assertThat(after).isLessThan(before);
+	}
+
+	private void seed() {
+		jdbcTemplate.update("insert into property_type (type_name) values ('Bench type')");
+		jdbcTemplate.update("insert into property_area (area_name, area_link) values ('Bench area', 'bench-area')");
+		jdbcTemplate.update("""
+			insert into users (role_id, username, email, password)
+			select role_id, 'bench_sale', 'bench_sale@example.com', 'x' from role where role_name = 'SALE'
+			""");
+		jdbcTemplate.update("""
+			insert into property_sale_info (user_id, full_name, phone)
+			select id, 'Bench Sale', '0900' from users where username = 'bench_sale'
+			""");
+		jdbcTemplate.update("""
+			insert into property (title, price, description, type_id, sale_id, area_id, is_public, created_at, updated_at)
+			select 'Căn hộ ' || md5(i::text), 1000 + i, 'Mô tả ' || md5((i * 7)::text),
+			       (select type_id from property_type where type_name = 'Bench type'),
+			       (select user_id from property_sale_info s join users u on u.id = s.user_id where u.username = 'bench_sale'),
+			       (select area_id from property_area where area_name = 'Bench area'),
+			       true, now(), now()
+			from generate_series(1, ?) as i
+			""", ROWS);
+		jdbcTemplate.execute("analyze property");
+	}
+
+	private long p95Micros(Specification<Property> spec, Pageable pageable) {
+		for (int i = 0; i < WARMUP; i++) {
+			propertyRepository.findAll(spec, pageable);
+		}
+		long[] samples = new long[RUNS];
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			propertyRepository.findAll(spec, pageable);
+			samples[i] = (System.nanoTime() - start) / 1_000;
+		}
+		Arrays.sort(samples);
+		return samples[(int) Math.ceil(RUNS * 0.95) - 1];
+	}
+}
@@ -0,0 +1,73 @@
+package com.qvinh.apartment.infrastructure.cache;
+
+import com.qvinh.apartment.features.properties.domain.PropertyType;
+import com.qvinh.apartment.features.properties.persistence.PropertyTypeRepository;
+import com.qvinh.apartment.testsupport.PostgresTestContainer;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes go through plain JDBC, the way another instance's writes look to this one: Hibernate never sees
+ * them, only the notification does.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class ReferenceDataCacheInvalidatorTest extends PostgresTestContainer {
+
+	@Autowired private PropertyTypeRepository typeRepository;
+	@Autowired private EntityManagerFactory entityManagerFactory;
+	@Autowired private DataSource dataSource;
+
+	private Integer typeId;
+
+	@AfterEach
+	void cleanup() {
+		if (typeId != null) {
+			new JdbcTemplate(dataSource).update("DELETE FROM property_type WHERE type_id = ?", typeId);
+		}
+	}
+
+	@Test
+	@DisplayName("a row changed outside this instance is evicted and reloaded")
+	void external_write_evicts_cached_row() throws InterruptedException {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		String name = "Cached" + System.nanoTime();
+		typeId = jdbc.queryForObject("INSERT INTO property_type (type_name, created_at, updated_at)"
+			+ " VALUES (?, LOCALTIMESTAMP, LOCALTIMESTAMP) RETURNING type_id", Integer.class, name);
+
+		// the insert's own notification may evict the first load; once cached, the row stays cached
+		assertThat(eventually(() -> {
+			typeRepository.findById(typeId);
+			return entityManagerFactory.getCache().contains(PropertyType.class, typeId);
+		})).isTrue();
+
+		jdbc.update("UPDATE property_type SET type_name = ? WHERE type_id = ?", name + "-renamed", typeId);
+
+		assertThat(eventually(() -> !entityManagerFactory.getCache().contains(PropertyType.class, typeId))).isTrue();
+		assertThat(typeRepository.findById(typeId)).get()
+			.extracting(PropertyType::getTypeName).isEqualTo(name + "-renamed");
+	}
+
+	private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + 10_000_000_000L;
+		while (System.nanoTime() < deadline) {
+			if (condition.getAsBoolean()) {
+				return true;
+			}
+			Thread.sleep(50);
+		}
+		return false;
+	}
+}
@@ -0,0 +1,135 @@
+package com.qvinh.apartment.infrastructure.datasource;
+
+import com.qvinh.apartment.shared.datasource.PrimaryReads;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two independent Postgres containers stand in for primary and replica; their database names tell which
+ * one served a statement.
+ */
+class ReplicaRoutingDataSourceTest {
+
+	private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:17-alpine")
+		.withDatabaseName("primarydb");
+	private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:17-alpine")
+		.withDatabaseName("replicadb");
+
+	private ReplicaRoutingDataSource routing;
+	private HikariDataSource primary;
+
+	@BeforeAll
+	static void startContainers() {
+		PRIMARY.start();
+		REPLICA.start();
+	}
+
+	@AfterAll
+	static void stopContainers() {
+		REPLICA.stop();
+		PRIMARY.stop();
+	}
+
+	@AfterEach
+	void cleanup() throws Exception {
+		SecurityContextHolder.clearContext();
+		routing.destroy();
+		primary.close();
+	}
+
+	@Test
+	@DisplayName("read-only transactions use the replica, everything else the primary")
+	void routes_read_only_transactions_to_the_replica() {
+		Setup setup = setup(pool(REPLICA.getJdbcUrl()), Duration.ZERO);
+
+		assertThat(setup.read()).isEqualTo("replicadb");
+		assertThat(setup.write()).isEqualTo("primarydb");
+		assertThat(setup.jdbc().queryForObject("SELECT current_database()", String.class)).isEqualTo("primarydb");
+		assertThat(PrimaryReads.call(setup::read)).isEqualTo("primarydb");
+	}
+
+	@Test
+	@DisplayName("a user's reads stay on the primary for the read-your-writes window after their write")
+	void read_your_writes_pins_the_writer() {
+		Setup setup = setup(pool(REPLICA.getJdbcUrl()), Duration.ofMinutes(1));
+
+		authenticate("alice");
+		assertThat(setup.read()).isEqualTo("replicadb");
+		setup.write();
+		assertThat(setup.read()).isEqualTo("primarydb");
+
+		authenticate("bob");
+		assertThat(setup.read()).isEqualTo("replicadb");
+	}
+
+	@Test
+	@DisplayName("an unreachable replica is taken out of rotation and reads fall back to the primary")
+	void unreachable_replica_falls_back_to_primary() {
+		HikariDataSource unreachable = pool("jdbc:postgresql://localhost:1/replicadb");
+		unreachable.setConnectionTimeout(250);
+		Setup setup = setup(unreachable, Duration.ZERO);
+
+		assertThat(setup.read()).isEqualTo("primarydb");
+		assertThat(routing.isHealthy("replica-0")).isFalse();
+
+		routing.checkHealth();
+		assertThat(routing.isHealthy("replica-0")).isFalse();
+		assertThat(setup.read()).isEqualTo("primarydb");
+	}
+
+	private record Setup(JdbcTemplate jdbc, TransactionTemplate reads, TransactionTemplate writes) {
+
+		String read() {
+			return reads.execute(status -> jdbc.queryForObject("SELECT current_database()", String.class));
+		}
+
+		String write() {
+			return writes.execute(status -> jdbc.queryForObject("SELECT current_database()", String.class));
+		}
+	}
+
+	private Setup setup(HikariDataSource replica, Duration readYourWrites) {
+		primary = pool(PRIMARY.getJdbcUrl());
+		routing = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), Duration.ZERO,
+			Duration.ofSeconds(10), readYourWrites);
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing.primaryTarget());
+		dataSource.setReadOnlyDataSource(routing);
+
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		TransactionTemplate reads = new TransactionTemplate(transactionManager);
+		reads.setReadOnly(true);
+		return new Setup(new JdbcTemplate(dataSource), reads, new TransactionTemplate(transactionManager));
+	}
+
+	private static HikariDataSource pool(String url) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(url);
+		dataSource.setUsername(PRIMARY.getUsername());
+		dataSource.setPassword(PRIMARY.getPassword());
+		dataSource.setMaximumPoolSize(2);
+		dataSource.setInitializationFailTimeout(-1);
+		return dataSource;
+	}
+
+	private static void authenticate(String username) {
+		SecurityContextHolder.getContext().setAuthentication(
+			new UsernamePasswordAuthenticationToken(username, null, List.of()));
+	}
+}